@@ -12,18 +12,29 @@ import java.awt.image.BufferedImage;
 /**
  * Panel principal para mostrar el juego en tiempo real.
  * Muestra el mapa, posición del jugador, vidas y puntaje.
+ *
+ * Los tableros finitos de hasta {@value #VISTA_MAXIMA} celdas por lado se
+ * dibujan completos; en los mayores se dibuja una ventana de ese tamaño que
+ * sigue al jugador sin salirse del mapa, y en los infinitos una ventana de
+ * {@value #VISTA_INFINITA} x {@value #VISTA_INFINITA} celdas centrada en él.
+ * Solo se consultan las celdas visibles, de modo que un mapa proyectado
+ * desde disco no se lee entero para dibujarlo.
  */
 public class GamePanel extends JPanel {
     private static final int TILE_SIZE = 40;
+    private static final int VISTA_INFINITA = 15;
+    private static final int VISTA_MAXIMA = 32;
     private static final Color COLOR_PARED = new Color(50, 50, 50);
     private static final Color COLOR_LIBRE = new Color(200, 200, 200);
     private static final Color COLOR_INICIO = new Color(100, 255, 100);
     private static final Color COLOR_META = new Color(255, 100, 100);
     private static final Color COLOR_PREGUNTA = new Color(255, 255, 100);
     private static final Color COLOR_JUGADOR = new Color(50, 100, 255);
+    private static final Color COLOR_PISTA = new Color(0, 170, 255);
 
     private Juego juego;
     private GameWindow gameWindow;
+    private Posicion pista; // Celda sugerida por la última pista, hasta moverse
 
     public GamePanel(Juego juego, GameWindow gameWindow) {
         this.juego = juego;
@@ -43,28 +54,64 @@ public class GamePanel extends JPanel {
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        if (juego == null || juego.obtenerMapa() == null) {
+        if (juego == null || juego.obtenerTablero() == null) {
             return;
         }
 
-        // Dibujar mapa
-        Celda[][] mapa = juego.obtenerMapa();
-        for (int r = 0; r < mapa.length; r++) {
-            for (int c = 0; c < mapa[r].length; c++) {
+        // Dibujar la parte visible del tablero
+        Tablero tablero = juego.obtenerTablero();
+        Posicion posJugador = juego.getJugador().getPosicion();
+        int filaOrigen = filaOrigenVista(tablero, posJugador);
+        int columnaOrigen = columnaOrigenVista(tablero, posJugador);
+        int filasVista = filasVista(tablero);
+        int columnasVista = columnasVista(tablero);
+        for (int r = 0; r < filasVista; r++) {
+            for (int c = 0; c < columnasVista; c++) {
                 int x = c * TILE_SIZE;
                 int y = r * TILE_SIZE;
-                drawTile(g2d, mapa[r][c], x, y);
+                drawTile(g2d, tablero.obtener(filaOrigen + r, columnaOrigen + c), x, y);
             }
         }
 
+        // Resaltar la celda sugerida por la pista
+        if (pista != null) {
+            drawHint(g2d, (pista.getColumna() - columnaOrigen) * TILE_SIZE,
+                     (pista.getFila() - filaOrigen) * TILE_SIZE);
+        }
+
         // Dibujar jugador
-        Posicion posJugador = juego.getJugador().getPosicion();
-        int playerX = posJugador.getColumna() * TILE_SIZE;
-        int playerY = posJugador.getFila() * TILE_SIZE;
+        int playerX = (posJugador.getColumna() - columnaOrigen) * TILE_SIZE;
+        int playerY = (posJugador.getFila() - filaOrigen) * TILE_SIZE;
         drawPlayer(g2d, playerX, playerY);
 
         // Dibujar información
-        drawInfo(g2d, mapa.length);
+        drawInfo(g2d, filasVista);
+    }
+
+    private static int filasVista(Tablero tablero) {
+        return tablero.esInfinito() ? VISTA_INFINITA : Math.min(tablero.getFilas(), VISTA_MAXIMA);
+    }
+
+    private static int columnasVista(Tablero tablero) {
+        return tablero.esInfinito() ? VISTA_INFINITA : Math.min(tablero.getColumnas(), VISTA_MAXIMA);
+    }
+
+    private static int filaOrigenVista(Tablero tablero, Posicion jugador) {
+        return origenVista(jugador.getFila(), filasVista(tablero), tablero.esInfinito() ? -1 : tablero.getFilas());
+    }
+
+    private static int columnaOrigenVista(Tablero tablero, Posicion jugador) {
+        return origenVista(jugador.getColumna(), columnasVista(tablero), tablero.esInfinito() ? -1 : tablero.getColumnas());
+    }
+
+    /**
+     * Primera coordenada visible: centrada en el jugador y, si el tablero
+     * tiene límite ({@code total >= 0}), ajustada para no salirse de él.
+     */
+    private static int origenVista(int jugador, int vista, int total) {
+        int origen = jugador - vista / 2;
+        if (total < 0) return origen;
+        return Math.max(0, Math.min(origen, total - vista));
     }
 
     private void drawTile(Graphics2D g, Celda celda, int x, int y) {
@@ -97,6 +144,12 @@ public class GamePanel extends JPanel {
         }
     }
 
+    private void drawHint(Graphics2D g, int x, int y) {
+        g.setColor(COLOR_PISTA);
+        g.setStroke(new BasicStroke(4));
+        g.drawRect(x + 2, y + 2, TILE_SIZE - 4, TILE_SIZE - 4);
+    }
+
     private void drawPlayer(Graphics2D g, int x, int y) {
         g.setColor(COLOR_JUGADOR);
         g.fillOval(x + 5, y + 5, TILE_SIZE - 10, TILE_SIZE - 10);
@@ -120,6 +173,11 @@ public class GamePanel extends JPanel {
                 j.getPuntaje()
         );
         g.drawString(info, 10, infoY);
+
+        int pasos = juego.pasosRestantes();
+        if (pasos >= 0) {
+            g.drawString("Pasos restantes: " + pasos + " | H: pista", 10, infoY + 20);
+        }
     }
 
     private void handleKeyPress(KeyEvent e) {
@@ -127,6 +185,15 @@ public class GamePanel extends JPanel {
             return;
         }
 
+        if (e.getKeyCode() == KeyEvent.VK_H) {
+            // Pista: resaltar la siguiente celda hacia la meta
+            Posicion pos = juego.getJugador().getPosicion();
+            Direccion paso = juego.siguientePasoHacia(pos);
+            pista = paso != null ? pos.mover(paso) : null;
+            repaint();
+            return;
+        }
+
         Direccion dir = switch (e.getKeyCode()) {
             // Teclas WASD
             case KeyEvent.VK_W -> Direccion.ARRIBA;
@@ -143,11 +210,12 @@ public class GamePanel extends JPanel {
 
         if (dir != null) {
             juego.moverJugador(dir);
+            pista = null;
 
             // Verificar si está en una pregunta
-            Celda[][] mapa = juego.obtenerMapa();
+            Tablero tablero = juego.obtenerTablero();
             Posicion pos = juego.getJugador().getPosicion();
-            if (mapa[pos.getFila()][pos.getColumna()] == Celda.PREGUNTA) {
+            if (tablero.obtener(pos.getFila(), pos.getColumna()) == Celda.PREGUNTA) {
                 Pregunta pregunta = juego.obtenerPreguntaActual();
                 if (pregunta != null) {
                     gameWindow.mostrarPregunta(pregunta);
@@ -170,13 +238,13 @@ public class GamePanel extends JPanel {
 
     @Override
     public Dimension getPreferredSize() {
-        if (juego == null || juego.obtenerMapa() == null) {
+        if (juego == null || juego.obtenerTablero() == null) {
             return new Dimension(400, 300);
         }
-        Celda[][] mapa = juego.obtenerMapa();
+        Tablero tablero = juego.obtenerTablero();
         return new Dimension(
-                mapa[0].length * TILE_SIZE,
-                mapa.length * TILE_SIZE + 50
+                columnasVista(tablero) * TILE_SIZE,
+                filasVista(tablero) * TILE_SIZE + 70
         );
     }
 }
@@ -14,8 +14,15 @@ public class GameWindow extends JFrame {
     private GamePanel gamePanel;
     private Juego juego;
     private JLabel statusLabel;
+    private final PoolMapas poolMapas = new PoolMapas(1, 3, 1, new SelectorMapas());
 
     public GameWindow() {
+        // Pre-generar en segundo plano, elegidos por dificultad, mapas de los
+        // niveles mientras el jugador escoge uno
+        poolMapas.registrar(new Basico());
+        poolMapas.registrar(new Intermedio());
+        poolMapas.registrar(new Avanzado());
+
         setTitle("worldVenture - Interfaz Gráfica");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
@@ -42,7 +49,7 @@ public class GameWindow extends JFrame {
         centerPanel.add(nameField);
 
         centerPanel.add(new JLabel("Nivel:"));
-        JComboBox<String> levelCombo = new JComboBox<>(new String[]{"Basico", "Intermedio", "Avanzado"});
+        JComboBox<String> levelCombo = new JComboBox<>(new String[]{"Basico", "Intermedio", "Avanzado", "Exploracion"});
         centerPanel.add(levelCombo);
 
         JButton startButton = new JButton("Iniciar Juego");
@@ -67,6 +74,7 @@ public class GameWindow extends JFrame {
             Nivel nivel = switch (nivelStr) {
                 case "Intermedio" -> new Intermedio();
                 case "Avanzado" -> new Avanzado();
+                case "Exploracion" -> new Exploracion();
                 default -> new Basico();
             };
 
@@ -74,7 +82,10 @@ public class GameWindow extends JFrame {
             Posicion inicio = new Posicion(0, 0);
             jugador.setPosicion(inicio);
 
-            juego = new Juego(jugador, nivel);
+            // El mundo de exploración se genera por trozos: no pasa por la reserva
+            juego = nivel instanceof Exploracion
+                    ? new Juego(jugador, nivel)
+                    : new Juego(jugador, nivel, poolMapas);
             if (juego.puedeIniciar()) {
                 juego.iniciar();
                 mostrarPanelJuego();
@@ -103,7 +114,7 @@ public class GameWindow extends JFrame {
         mainPanel.add(gamePanel, BorderLayout.CENTER);
 
         // Panel de estado
-        statusLabel = new JLabel("Presiona W/A/S/D o Flechas para mover");
+        statusLabel = new JLabel("Presiona W/A/S/D o Flechas para mover, H para una pista");
         statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
         mainPanel.add(statusLabel, BorderLayout.SOUTH);
 
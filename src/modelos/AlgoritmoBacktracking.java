@@ -0,0 +1,71 @@
+package modelos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Algoritmo DFS para generar laberinto (recursive backtracking).
+ *
+ * Produce pasillos largos y sinuosos con pocos callejones sin salida.
+ * Implementado con una pila explícita de índices de celda empaquetados
+ * ({@code fila * columnas + columna}) en lugar de recursión, de modo que
+ * mapas de miles de celdas por lado no desbordan la pila del hilo. Las
+ * direcciones se eligen al azar entre los vecinos no visitados sin crear
+ * objetos por celda.
+ */
+public class AlgoritmoBacktracking implements AlgoritmoLaberinto {
+
+    // Desplazamientos a dos celdas (arriba, abajo, izquierda, derecha)
+    private static final int[] DESPLAZAMIENTOS_FILA = {-2, 2, 0, 0};
+    private static final int[] DESPLAZAMIENTOS_COLUMNA = {0, 0, -2, 2};
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        int filas = mapa.getFilas();
+        int columnas = mapa.getColumnas();
+
+        // Cada nodo se apila como mucho una vez
+        int[] pila = new int[RejillaNodos.nodosFila(mapa) * RejillaNodos.nodosColumna(mapa)];
+        int[] candidatos = new int[DESPLAZAMIENTOS_FILA.length];
+        int tope = 0;
+
+        mapa.establecer(0, Celda.LIBRE);
+        pila[tope++] = 0;
+
+        while (tope > 0) {
+            int actual = pila[tope - 1];
+            int r = actual / columnas;
+            int c = actual % columnas;
+
+            // Recolectar vecinos a dos pasos que siguen siendo pared
+            int disponibles = 0;
+            for (int d = 0; d < DESPLAZAMIENTOS_FILA.length; d++) {
+                int nr = r + DESPLAZAMIENTOS_FILA[d];
+                int nc = c + DESPLAZAMIENTOS_COLUMNA[d];
+                if (nr >= 0 && nr < filas && nc >= 0 && nc < columnas &&
+                    !mapa.esTransitable(nr * columnas + nc)) {
+                    candidatos[disponibles++] = d;
+                }
+            }
+
+            if (disponibles == 0) {
+                // Callejón sin salida: retroceder
+                tope--;
+                continue;
+            }
+
+            int d = candidatos[random.nextInt(disponibles)];
+            int nr = r + DESPLAZAMIENTOS_FILA[d];
+            int nc = c + DESPLAZAMIENTOS_COLUMNA[d];
+
+            // Marcar la celda entre medio como libre
+            mapa.establecer(r + DESPLAZAMIENTOS_FILA[d] / 2, c + DESPLAZAMIENTOS_COLUMNA[d] / 2, Celda.LIBRE);
+            mapa.establecer(nr, nc, Celda.LIBRE);
+            pila[tope++] = nr * columnas + nc;
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "Backtracking";
+    }
+}
@@ -0,0 +1,28 @@
+package modelos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Algoritmo de Eller (fila por fila).
+ *
+ * Construye el laberinto procesando una fila de nodos cada vez y solo
+ * necesita estado proporcional al ancho: un union-find sobre las posiciones
+ * de la fila actual. Es el más rápido y el que menos memoria auxiliar usa,
+ * adecuado para mapas anchos o muy altos. El trabajo lo realiza
+ * {@link FlujoEller}; aquí solo se copian sus filas al mapa.
+ */
+public class AlgoritmoEller implements AlgoritmoLaberinto {
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        FlujoEller flujo = new FlujoEller(mapa.getColumnas(), mapa.getFilas(), random);
+        for (int r = 0; flujo.hasNext(); r++) {
+            mapa.establecerFila(r, flujo.next());
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "Eller";
+    }
+}
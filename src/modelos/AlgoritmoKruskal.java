@@ -0,0 +1,69 @@
+package modelos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Algoritmo de Kruskal aleatorio con union-find.
+ *
+ * Recorre todos los pasos posibles en orden aleatorio y abre los que unen dos
+ * regiones distintas. Genera muchos callejones cortos y una textura uniforme;
+ * su coste es prácticamente lineal en el número de nodos.
+ */
+public class AlgoritmoKruskal implements AlgoritmoLaberinto {
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        int nodosFila = RejillaNodos.nodosFila(mapa);
+        int nodosColumna = RejillaNodos.nodosColumna(mapa);
+        int nodos = nodosFila * nodosColumna;
+
+        // Aristas codificadas como nodo * 2 + (0 = derecha, 1 = abajo)
+        int[] aristas = new int[2 * nodos];
+        int total = 0;
+        for (int i = 0; i < nodosFila; i++) {
+            for (int j = 0; j < nodosColumna; j++) {
+                int nodo = i * nodosColumna + j;
+                if (j + 1 < nodosColumna) aristas[total++] = nodo * 2;
+                if (i + 1 < nodosFila) aristas[total++] = nodo * 2 + 1;
+            }
+        }
+
+        int[] padre = new int[nodos];
+        int[] tamaño = new int[nodos];
+        for (int n = 0; n < nodos; n++) {
+            padre[n] = n;
+            tamaño[n] = 1;
+        }
+
+        RejillaNodos.abrirNodo(mapa, 0, 0);
+        int unidas = 0;
+        for (int k = 0; k < total && unidas < nodos - 1; k++) {
+            // Fisher-Yates incremental: solo se mezcla lo que se consume
+            int elegida = k + random.nextInt(total - k);
+            int arista = aristas[elegida];
+            aristas[elegida] = aristas[k];
+            aristas[k] = arista;
+
+            int a = arista >> 1;
+            int b = (arista & 1) == 0 ? a + 1 : a + nodosColumna;
+            int ra = RejillaNodos.raiz(padre, a);
+            int rb = RejillaNodos.raiz(padre, b);
+            if (ra == rb) continue;
+
+            if (tamaño[ra] < tamaño[rb]) {
+                int t = ra; ra = rb; rb = t;
+            }
+            padre[rb] = ra;
+            tamaño[ra] += tamaño[rb];
+            unidas++;
+
+            RejillaNodos.abrirPaso(mapa, a / nodosColumna, a % nodosColumna,
+                                   b / nodosColumna, b % nodosColumna);
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "Kruskal";
+    }
+}
@@ -0,0 +1,32 @@
+package modelos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Estrategia para tallar los pasillos de un laberinto.
+ *
+ * Todas las implementaciones trabajan sobre la misma rejilla de nodos: las
+ * celdas con fila y columna pares son nodos y la celda intermedia entre dos
+ * nodos vecinos es el paso que los une. Partiendo de un mapa lleno de
+ * {@link Celda#PARED}, cada algoritmo abre nodos y pasos con {@link Celda#LIBRE}
+ * hasta formar un árbol de expansión (laberinto perfecto) que incluye la celda
+ * (0, 0). La colocación de INICIO, META, PREGUNTA y DATO la realiza después
+ * {@link GeneradorLaberinto}, por lo que es común a todos los algoritmos.
+ */
+public interface AlgoritmoLaberinto {
+
+    /**
+     * Talla los pasillos del laberinto sobre el mapa indicado.
+     *
+     * @param mapa   mapa completamente relleno de {@link Celda#PARED}
+     * @param random generador aleatorio de la generación en curso
+     */
+    void tallar(MapaCompacto mapa, SplittableRandom random);
+
+    /**
+     * Nombre corto del algoritmo.
+     *
+     * @return nombre legible (ej: "Backtracking", "Kruskal")
+     */
+    String nombre();
+}
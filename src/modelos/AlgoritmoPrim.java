@@ -0,0 +1,104 @@
+package modelos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Algoritmo de Prim aleatorio con un montículo binario de primitivos.
+ *
+ * Hace crecer el laberinto desde (0, 0) tomando siempre el paso frontera de
+ * menor peso aleatorio. Produce laberintos muy ramificados con callejones
+ * cortos. Cada entrada del montículo es un {@code long} con el peso en los 32
+ * bits altos y la arista en los bajos, por lo que no se crean objetos.
+ */
+public class AlgoritmoPrim implements AlgoritmoLaberinto {
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        int nodosFila = RejillaNodos.nodosFila(mapa);
+        int nodosColumna = RejillaNodos.nodosColumna(mapa);
+        int nodos = nodosFila * nodosColumna;
+
+        boolean[] enArbol = new boolean[nodos];
+        // Cada arista entra al montículo como mucho una vez (cuando se une su
+        // primer extremo), así que basta con el número de aristas
+        long[] monticulo = new long[2 * nodos];
+        int tamaño = 0;
+
+        enArbol[0] = true;
+        RejillaNodos.abrirNodo(mapa, 0, 0);
+        tamaño = agregarFrontera(0, nodosFila, nodosColumna, enArbol, monticulo, tamaño, random);
+
+        while (tamaño > 0) {
+            long minimo = monticulo[0];
+            monticulo[0] = monticulo[--tamaño];
+            hundir(monticulo, tamaño, 0);
+
+            // Arista codificada como origen * 4 + dirección
+            int arista = (int) minimo;
+            int origen = arista >> 2;
+            int destino = vecino(origen, arista & 3, nodosColumna);
+            if (enArbol[destino]) continue;
+
+            enArbol[destino] = true;
+            RejillaNodos.abrirPaso(mapa, origen / nodosColumna, origen % nodosColumna,
+                                   destino / nodosColumna, destino % nodosColumna);
+            tamaño = agregarFrontera(destino, nodosFila, nodosColumna, enArbol, monticulo, tamaño, random);
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "Prim";
+    }
+
+    private static int agregarFrontera(int nodo, int nodosFila, int nodosColumna, boolean[] enArbol,
+                                       long[] monticulo, int tamaño, SplittableRandom random) {
+        int i = nodo / nodosColumna;
+        int j = nodo % nodosColumna;
+        for (int d = 0; d < 4; d++) {
+            boolean valido = (d == 0 && i > 0) || (d == 1 && i + 1 < nodosFila)
+                          || (d == 2 && j > 0) || (d == 3 && j + 1 < nodosColumna);
+            if (!valido || enArbol[vecino(nodo, d, nodosColumna)]) continue;
+
+            long peso = random.nextInt() & 0x7fffffffL;
+            monticulo[tamaño] = (peso << 32) | (nodo * 4L + d);
+            flotar(monticulo, tamaño);
+            tamaño++;
+        }
+        return tamaño;
+    }
+
+    private static int vecino(int nodo, int direccion, int nodosColumna) {
+        switch (direccion) {
+            case 0: return nodo - nodosColumna;
+            case 1: return nodo + nodosColumna;
+            case 2: return nodo - 1;
+            default: return nodo + 1;
+        }
+    }
+
+    private static void flotar(long[] monticulo, int k) {
+        long valor = monticulo[k];
+        while (k > 0) {
+            int padre = (k - 1) >> 1;
+            if (monticulo[padre] <= valor) break;
+            monticulo[k] = monticulo[padre];
+            k = padre;
+        }
+        monticulo[k] = valor;
+    }
+
+    private static void hundir(long[] monticulo, int tamaño, int k) {
+        if (tamaño == 0) return;
+        long valor = monticulo[k];
+        while (true) {
+            int hijo = 2 * k + 1;
+            if (hijo >= tamaño) break;
+            if (hijo + 1 < tamaño && monticulo[hijo + 1] < monticulo[hijo]) hijo++;
+            if (monticulo[hijo] >= valor) break;
+            monticulo[k] = monticulo[hijo];
+            k = hijo;
+        }
+        monticulo[k] = valor;
+    }
+}
@@ -0,0 +1,202 @@
+package modelos;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generación paralela por teselas para laberintos muy grandes.
+ *
+ * Divide la rejilla de nodos en teselas de {@value #NODOS_TESELA} x
+ * {@value #NODOS_TESELA} nodos, talla cada una con backtracking iterativo en
+ * un {@link ForkJoinPool} y después las une con un árbol de expansión
+ * aleatorio sobre el grafo de teselas, abriendo un único paso en la frontera
+ * de cada par unido. Como cada tesela es un árbol de sus nodos y las teselas
+ * forman a su vez un árbol, el resultado sigue siendo un laberinto perfecto.
+ *
+ * Las semillas de cada tesela se sacan del generador de la llamada antes de
+ * repartir el trabajo, de modo que el mapa es el mismo con cualquier número
+ * de hilos. Una tesela ocupa 64 columnas de celdas, exactamente una palabra
+ * de la {@link CapaTransitable}: los hilos escriben en bytes y palabras
+ * disjuntos del mapa y los pasos entre teselas se abren al final en el hilo
+ * que llama.
+ */
+public class AlgoritmoTeselasParalelo implements AlgoritmoLaberinto {
+
+    /** Lado de una tesela en nodos; 32 nodos son 64 columnas de celdas. */
+    static final int NODOS_TESELA = 32;
+
+    // Desplazamientos entre nodos vecinos (arriba, abajo, izquierda, derecha)
+    private static final int[] DESPLAZAMIENTOS_FILA = {-1, 1, 0, 0};
+    private static final int[] DESPLAZAMIENTOS_COLUMNA = {0, 0, -1, 1};
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea el algoritmo sobre el pool común de fork-join.
+     */
+    public AlgoritmoTeselasParalelo() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea el algoritmo sobre un pool concreto.
+     *
+     * @param pool pool en el que se tallan las teselas
+     */
+    public AlgoritmoTeselasParalelo(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser nulo");
+        }
+        this.pool = pool;
+    }
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        int nodosFila = RejillaNodos.nodosFila(mapa);
+        int nodosColumna = RejillaNodos.nodosColumna(mapa);
+        if (nodosFila == 0 || nodosColumna == 0) return;
+
+        int teselasFila = (nodosFila + NODOS_TESELA - 1) / NODOS_TESELA;
+        int teselasColumna = (nodosColumna + NODOS_TESELA - 1) / NODOS_TESELA;
+        long[] semillas = new long[teselasFila * teselasColumna];
+        for (int t = 0; t < semillas.length; t++) semillas[t] = random.nextLong();
+
+        pool.invoke(new TallarTeselas(mapa, semillas, teselasColumna, 0, semillas.length));
+        unirTeselas(mapa, random, teselasFila, teselasColumna);
+    }
+
+    /**
+     * Une las teselas con un árbol de expansión aleatorio (Kruskal sobre el
+     * grafo de teselas), abriendo un paso en un punto al azar de cada frontera.
+     */
+    private static void unirTeselas(MapaCompacto mapa, SplittableRandom random,
+                                    int teselasFila, int teselasColumna) {
+        int nodosFila = RejillaNodos.nodosFila(mapa);
+        int nodosColumna = RejillaNodos.nodosColumna(mapa);
+        int total = teselasFila * teselasColumna;
+
+        // Aristas codificadas como tesela * 2 + (0 = derecha, 1 = abajo)
+        int[] aristas = new int[2 * total];
+        int cantidad = 0;
+        for (int t = 0; t < total; t++) {
+            if (t % teselasColumna + 1 < teselasColumna) aristas[cantidad++] = 2 * t;
+            if (t / teselasColumna + 1 < teselasFila) aristas[cantidad++] = 2 * t + 1;
+        }
+
+        int[] padre = new int[total];
+        for (int t = 0; t < total; t++) padre[t] = t;
+
+        for (int k = 0; k < cantidad; k++) {
+            // Fisher-Yates incremental: solo se mezcla lo que se consume
+            int j = k + random.nextInt(cantidad - k);
+            int arista = aristas[j];
+            aristas[j] = aristas[k];
+
+            int t = arista >>> 1;
+            boolean abajo = (arista & 1) != 0;
+            int vecina = abajo ? t + teselasColumna : t + 1;
+            int ra = RejillaNodos.raiz(padre, t);
+            int rb = RejillaNodos.raiz(padre, vecina);
+            if (ra == rb) continue;
+            padre[ra] = rb;
+
+            int ti = t / teselasColumna;
+            int tj = t % teselasColumna;
+            if (abajo) {
+                int i = ti * NODOS_TESELA + NODOS_TESELA - 1;
+                int desde = tj * NODOS_TESELA;
+                int j1 = desde + random.nextInt(Math.min(nodosColumna, desde + NODOS_TESELA) - desde);
+                RejillaNodos.abrirPaso(mapa, i, j1, i + 1, j1);
+            } else {
+                int j1 = tj * NODOS_TESELA + NODOS_TESELA - 1;
+                int desde = ti * NODOS_TESELA;
+                int i = desde + random.nextInt(Math.min(nodosFila, desde + NODOS_TESELA) - desde);
+                RejillaNodos.abrirPaso(mapa, i, j1, i, j1 + 1);
+            }
+        }
+    }
+
+    /**
+     * Talla una tesela con backtracking iterativo sin salir de sus nodos.
+     */
+    static void tallarTesela(MapaCompacto mapa, int ti, int tj, SplittableRandom random) {
+        int i0 = ti * NODOS_TESELA;
+        int j0 = tj * NODOS_TESELA;
+        int alto = Math.min(RejillaNodos.nodosFila(mapa), i0 + NODOS_TESELA) - i0;
+        int ancho = Math.min(RejillaNodos.nodosColumna(mapa), j0 + NODOS_TESELA) - j0;
+
+        // Nodos locales de la tesela: li * ancho + lj
+        int[] pila = new int[alto * ancho];
+        int[] candidatos = new int[DESPLAZAMIENTOS_FILA.length];
+        int tope = 0;
+
+        RejillaNodos.abrirNodo(mapa, i0, j0);
+        pila[tope++] = 0;
+
+        while (tope > 0) {
+            int actual = pila[tope - 1];
+            int li = actual / ancho;
+            int lj = actual % ancho;
+
+            int disponibles = 0;
+            for (int d = 0; d < DESPLAZAMIENTOS_FILA.length; d++) {
+                int ni = li + DESPLAZAMIENTOS_FILA[d];
+                int nj = lj + DESPLAZAMIENTOS_COLUMNA[d];
+                if (ni >= 0 && ni < alto && nj >= 0 && nj < ancho &&
+                    !mapa.esTransitable(2 * (i0 + ni), 2 * (j0 + nj))) {
+                    candidatos[disponibles++] = d;
+                }
+            }
+
+            if (disponibles == 0) {
+                tope--;
+                continue;
+            }
+
+            int d = candidatos[random.nextInt(disponibles)];
+            int ni = li + DESPLAZAMIENTOS_FILA[d];
+            int nj = lj + DESPLAZAMIENTOS_COLUMNA[d];
+            RejillaNodos.abrirPaso(mapa, i0 + li, j0 + lj, i0 + ni, j0 + nj);
+            pila[tope++] = ni * ancho + nj;
+        }
+    }
+
+    /**
+     * Tarea fork-join que reparte un rango de teselas por mitades.
+     */
+    private static final class TallarTeselas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MapaCompacto mapa;
+        private final long[] semillas;
+        private final int teselasColumna;
+        private final int desde;
+        private final int hasta;
+
+        TallarTeselas(MapaCompacto mapa, long[] semillas, int teselasColumna, int desde, int hasta) {
+            this.mapa = mapa;
+            this.semillas = semillas;
+            this.teselasColumna = teselasColumna;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                tallarTesela(mapa, desde / teselasColumna, desde % teselasColumna,
+                             new SplittableRandom(semillas[desde]));
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TallarTeselas(mapa, semillas, teselasColumna, desde, medio),
+                      new TallarTeselas(mapa, semillas, teselasColumna, medio, hasta));
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "Teselas paralelas";
+    }
+}
@@ -0,0 +1,72 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pruebas unitarias para la clase {@link AlgoritmoTeselasParalelo}.
+ *
+ * Verifica que la unión de teselas produce un laberinto perfecto con
+ * teselas completas e incompletas y que el resultado no depende del número
+ * de hilos.
+ */
+public class AlgoritmoTeselasParaleloTest {
+
+    /**
+     * Verifica que mapas de varias teselas, con teselas parciales en los
+     * bordes, son árboles conectados.
+     */
+    @Test
+    public void teselas_generan_laberinto_perfecto() {
+        for (int tamaño : new int[]{63, 64, 65, 130, 301}) {
+            Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(
+                tamaño, 0, 0, 17L, new AlgoritmoTeselasParalelo());
+            int nodos = ((tamaño + 1) / 2) * ((tamaño + 1) / 2);
+            int transitables = GeneradorLaberintoTest.contarTransitables(mapa);
+            assertEquals(tamaño + ": debe ser un árbol", 2 * nodos - 1, transitables);
+            assertEquals(tamaño + ": debe estar conectado",
+                         transitables, GeneradorLaberintoTest.contarAlcanzables(mapa));
+        }
+    }
+
+    /**
+     * Verifica que el mapa es el mismo con uno o varios hilos.
+     */
+    @Test
+    public void mismo_mapa_con_cualquier_numero_de_hilos() {
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        try {
+            Celda[][] mapa1 = GeneradorLaberinto.generarLaberintoAleatorio(
+                257, 30, 10, 99L, new AlgoritmoTeselasParalelo(unHilo));
+            Celda[][] mapa2 = GeneradorLaberinto.generarLaberintoAleatorio(
+                257, 30, 10, 99L, new AlgoritmoTeselasParalelo(cuatroHilos));
+            assertArrayEquals(mapa1, mapa2);
+        } finally {
+            unHilo.shutdown();
+            cuatroHilos.shutdown();
+        }
+    }
+
+    /**
+     * Verifica que un mapa gigante se genera completo.
+     */
+    @Test
+    public void generar_mapa_gigante() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(
+            2049, 100, 100, 5L, new AlgoritmoTeselasParalelo());
+        int nodos = 1025 * 1025;
+        assertEquals(2 * nodos - 1, mapa.getCapaTransitable().contarTransitables());
+        assertTrue(VerificadorAlcance.esCompletable(mapa));
+    }
+
+    /**
+     * Verifica que no se acepta un pool nulo.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void pool_nulo_falla() {
+        new AlgoritmoTeselasParalelo(null);
+    }
+}
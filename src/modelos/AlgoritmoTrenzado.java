@@ -0,0 +1,141 @@
+package modelos;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Post-proceso que "trenza" un laberinto perfecto eliminando callejones.
+ *
+ * Envuelve otro {@link AlgoritmoLaberinto}: tras su tallado abre paredes en
+ * una fracción configurable de los callejones sin salida, creando ciclos. Los
+ * laberintos perfectos grandes tienen muchos callejones largos que obligan a
+ * retroceder; con una fracción de 0 el resultado es el del algoritmo base y
+ * con 1 no queda ningún callejón en los nodos.
+ *
+ * Los callejones se obtienen de una sola pasada sobre la
+ * {@link CapaTransitable} (máscaras de callejones por palabra filtradas a los
+ * nodos) y se procesan en orden aleatorio. Cada uno se vuelve a comprobar en
+ * O(1) antes de abrirlo, porque abrir un callejón hacia otro elimina ambos;
+ * en ese caso se prefiere como vecino otro callejón. Todo el proceso es
+ * lineal en el tamaño del mapa.
+ */
+public class AlgoritmoTrenzado implements AlgoritmoLaberinto {
+
+    // Bits de las columnas pares de una palabra: la columna base de cada
+    // palabra es múltiplo de 64, así que la paridad coincide con la del bit
+    private static final long COLUMNAS_PARES = 0x5555555555555555L;
+    private static final int[] DESPLAZAMIENTOS_FILA = {-1, 1, 0, 0};
+    private static final int[] DESPLAZAMIENTOS_COLUMNA = {0, 0, -1, 1};
+
+    private final AlgoritmoLaberinto base;
+    private final double fraccion;
+
+    /**
+     * Crea un algoritmo trenzado.
+     *
+     * @param base     algoritmo que talla el laberinto perfecto
+     * @param fraccion fracción de callejones a eliminar, entre 0 y 1
+     */
+    public AlgoritmoTrenzado(AlgoritmoLaberinto base, double fraccion) {
+        if (base == null) throw new IllegalArgumentException("El algoritmo base no puede ser nulo");
+        if (!(fraccion >= 0 && fraccion <= 1)) {
+            throw new IllegalArgumentException("La fracción de callejones debe estar entre 0 y 1");
+        }
+        this.base = base;
+        this.fraccion = fraccion;
+    }
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        base.tallar(mapa, random);
+        trenzar(mapa, fraccion, random);
+    }
+
+    @Override
+    public String nombre() {
+        return base.nombre() + " trenzado";
+    }
+
+    /**
+     * Elimina una fracción de los callejones de los nodos de un laberinto.
+     *
+     * @param mapa     laberinto tallado sobre la rejilla de nodos
+     * @param fraccion fracción de callejones a eliminar, entre 0 y 1
+     * @param random   generador de la generación en curso
+     * @return número de callejones eliminados
+     */
+    public static int trenzar(MapaCompacto mapa, double fraccion, SplittableRandom random) {
+        if (!(fraccion >= 0 && fraccion <= 1)) {
+            throw new IllegalArgumentException("La fracción de callejones debe estar entre 0 y 1");
+        }
+        int[] callejones = callejonesEnNodos(mapa);
+        int total = callejones.length;
+        int objetivo = (int) Math.round(fraccion * total);
+        int eliminados = 0;
+        int[] candidatos = new int[DESPLAZAMIENTOS_FILA.length];
+        int[] preferidos = new int[DESPLAZAMIENTOS_FILA.length];
+        int columnas = mapa.getColumnas();
+
+        for (int k = 0; k < total && eliminados < objetivo; k++) {
+            int j = k + random.nextInt(total - k);
+            int indice = callejones[j];
+            callejones[j] = callejones[k];
+
+            int fila = indice / columnas;
+            int columna = indice % columnas;
+            if (vecinosTransitables(mapa, fila, columna) != 1) continue;
+
+            // Paredes que separan de otro nodo abierto; mejor si es un callejón
+            int disponibles = 0;
+            int mejores = 0;
+            for (int d = 0; d < DESPLAZAMIENTOS_FILA.length; d++) {
+                int nf = fila + 2 * DESPLAZAMIENTOS_FILA[d];
+                int nc = columna + 2 * DESPLAZAMIENTOS_COLUMNA[d];
+                if (!mapa.esTransitable(nf, nc)) continue;
+                if (mapa.esTransitable(fila + DESPLAZAMIENTOS_FILA[d], columna + DESPLAZAMIENTOS_COLUMNA[d])) {
+                    continue;
+                }
+                candidatos[disponibles++] = d;
+                if (vecinosTransitables(mapa, nf, nc) == 1) preferidos[mejores++] = d;
+            }
+            if (disponibles == 0) continue;
+
+            int d = mejores > 0 ? preferidos[random.nextInt(mejores)] : candidatos[random.nextInt(disponibles)];
+            mapa.establecer(fila + DESPLAZAMIENTOS_FILA[d], columna + DESPLAZAMIENTOS_COLUMNA[d], Celda.LIBRE);
+            eliminados += mejores > 0 ? 2 : 1;
+        }
+        return eliminados;
+    }
+
+    /**
+     * Índices de los nodos que son callejón, con una pasada por palabras.
+     */
+    private static int[] callejonesEnNodos(MapaCompacto mapa) {
+        CapaTransitable capa = mapa.getCapaTransitable();
+        int porFila = capa.getPalabrasPorFila();
+        int columnas = mapa.getColumnas();
+        int[] callejones = new int[64];
+        int n = 0;
+        for (int f = 0; f < mapa.getFilas(); f += 2) {
+            for (int w = 0; w < porFila; w++) {
+                long bits = capa.callejones(f * porFila + w) & COLUMNAS_PARES;
+                while (bits != 0) {
+                    if (n == callejones.length) callejones = Arrays.copyOf(callejones, n * 2);
+                    callejones[n++] = f * columnas + (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return Arrays.copyOf(callejones, n);
+    }
+
+    private static int vecinosTransitables(MapaCompacto mapa, int fila, int columna) {
+        int vecinos = 0;
+        for (int d = 0; d < DESPLAZAMIENTOS_FILA.length; d++) {
+            if (mapa.esTransitable(fila + DESPLAZAMIENTOS_FILA[d], columna + DESPLAZAMIENTOS_COLUMNA[d])) {
+                vecinos++;
+            }
+        }
+        return vecinos;
+    }
+}
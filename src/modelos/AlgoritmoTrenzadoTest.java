@@ -0,0 +1,71 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link AlgoritmoTrenzado}.
+ *
+ * Verifica:
+ * - Eliminación de la fracción pedida de callejones
+ * - Conservación de la conectividad y de las celdas de nodo
+ * - Equivalencia con el algoritmo base para fracción 0
+ */
+public class AlgoritmoTrenzadoTest {
+
+    /**
+     * Verifica que el trenzado reduce los callejones en la fracción pedida.
+     */
+    @Test
+    public void elimina_fraccion_de_callejones() {
+        for (double fraccion : new double[] {0.25, 0.5, 1.0}) {
+            MapaCompacto mapa = new MapaCompacto(101, 101);
+            new AlgoritmoBacktracking().tallar(mapa, new SplittableRandom(3L));
+            int antes = mapa.getCapaTransitable().contarCallejones();
+            int eliminados = AlgoritmoTrenzado.trenzar(mapa, fraccion, new SplittableRandom(4L));
+            int despues = mapa.getCapaTransitable().contarCallejones();
+
+            assertEquals(antes - despues, eliminados);
+            assertTrue("Fracción " + fraccion, eliminados >= Math.round(fraccion * antes));
+            if (fraccion == 1.0) assertEquals(0, despues);
+        }
+    }
+
+    /**
+     * Verifica que el laberinto trenzado sigue siendo completable y solo abre pasos.
+     */
+    @Test
+    public void conserva_conectividad() {
+        AlgoritmoLaberinto algoritmo = new AlgoritmoTrenzado(new AlgoritmoPrim(), 0.6);
+        MapaCompacto perfecto = GeneradorLaberinto.generarMapaCompacto(41, 10, 5, 12L, new AlgoritmoPrim());
+        MapaCompacto trenzado = GeneradorLaberinto.generarMapaCompacto(41, 10, 5, 12L, algoritmo);
+        assertTrue(VerificadorAlcance.esCompletable(trenzado));
+        assertTrue(trenzado.getCapaTransitable().contarTransitables()
+                   > perfecto.getCapaTransitable().contarTransitables());
+        assertTrue(trenzado.getCapaTransitable().contarCallejones()
+                   < perfecto.getCapaTransitable().contarCallejones());
+        assertEquals("Prim trenzado", algoritmo.nombre());
+    }
+
+    /**
+     * Verifica que con fracción 0 el resultado es el del algoritmo base.
+     */
+    @Test
+    public void fraccion_cero_no_cambia() {
+        MapaCompacto base = new MapaCompacto(33, 33);
+        new AlgoritmoKruskal().tallar(base, new SplittableRandom(8L));
+        MapaCompacto trenzado = new MapaCompacto(33, 33);
+        new AlgoritmoTrenzado(new AlgoritmoKruskal(), 0).tallar(trenzado, new SplittableRandom(8L));
+        assertEquals(base, trenzado);
+    }
+
+    /**
+     * Verifica que una fracción fuera de rango se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void fraccion_invalida_falla() {
+        new AlgoritmoTrenzado(new AlgoritmoPrim(), 1.5);
+    }
+}
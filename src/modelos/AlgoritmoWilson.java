@@ -0,0 +1,64 @@
+package modelos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Algoritmo de Wilson (caminatas aleatorias con borrado de ciclos).
+ *
+ * Genera un árbol de expansión uniforme: todos los laberintos perfectos del
+ * tamaño dado son igual de probables, sin el sesgo de textura de los demás
+ * algoritmos. Las primeras caminatas son lentas, por lo que conviene en mapas
+ * pequeños y medianos.
+ */
+public class AlgoritmoWilson implements AlgoritmoLaberinto {
+
+    @Override
+    public void tallar(MapaCompacto mapa, SplittableRandom random) {
+        int nodosFila = RejillaNodos.nodosFila(mapa);
+        int nodosColumna = RejillaNodos.nodosColumna(mapa);
+        int nodos = nodosFila * nodosColumna;
+
+        boolean[] enArbol = new boolean[nodos];
+        // Último nodo al que se salió desde cada nodo durante la caminata; al
+        // sobrescribirlo se borran implícitamente los ciclos
+        int[] siguiente = new int[nodos];
+        int[] vecinos = new int[4];
+
+        enArbol[0] = true;
+        RejillaNodos.abrirNodo(mapa, 0, 0);
+
+        for (int inicio = 0; inicio < nodos; inicio++) {
+            if (enArbol[inicio]) continue;
+
+            // Caminata aleatoria hasta tocar el árbol
+            int actual = inicio;
+            while (!enArbol[actual]) {
+                int i = actual / nodosColumna;
+                int j = actual % nodosColumna;
+                int cantidad = 0;
+                if (i > 0) vecinos[cantidad++] = actual - nodosColumna;
+                if (i + 1 < nodosFila) vecinos[cantidad++] = actual + nodosColumna;
+                if (j > 0) vecinos[cantidad++] = actual - 1;
+                if (j + 1 < nodosColumna) vecinos[cantidad++] = actual + 1;
+                int proximo = vecinos[random.nextInt(cantidad)];
+                siguiente[actual] = proximo;
+                actual = proximo;
+            }
+
+            // Añadir al árbol el camino sin ciclos
+            actual = inicio;
+            while (!enArbol[actual]) {
+                int proximo = siguiente[actual];
+                enArbol[actual] = true;
+                RejillaNodos.abrirPaso(mapa, actual / nodosColumna, actual % nodosColumna,
+                                       proximo / nodosColumna, proximo % nodosColumna);
+                actual = proximo;
+            }
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "Wilson";
+    }
+}
@@ -0,0 +1,185 @@
+package modelos;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Analizador de la dificultad estructural de un mapa.
+ *
+ * Calcula unas {@link MetricasDificultad} con recorridos lineales del mapa y
+ * una única búsqueda en anchura:
+ * <ul>
+ *   <li>Sobre la {@link CapaTransitable}, 64 celdas por palabra, se suman en
+ *       paralelo las cuatro máscaras de vecinos para obtener el grado de cada
+ *       celda (callejones, pasillos y cruces) y se cuentan los extremos de
+ *       pasillo comparando cada palabra de pasillos con las de sus vecinas.
+ *       Un recorrido de los bytes localiza la meta y cuenta las preguntas.</li>
+ *   <li>La búsqueda en anchura es el {@link CampoDistancias} desde el inicio
+ *       que el propio mapa guarda en caché; de él salen la longitud de la
+ *       solución y, retrocediendo desde la meta, las preguntas sobre ella.</li>
+ * </ul>
+ *
+ * Los lotes se analizan en paralelo, un mapa por tarea de un
+ * {@link ForkJoinPool}.
+ */
+public final class AnalizadorDificultad {
+
+    private static final byte CODIGO_META = (byte) Celda.META.ordinal();
+    private static final byte CODIGO_PREGUNTA = (byte) Celda.PREGUNTA.ordinal();
+
+    private AnalizadorDificultad() {
+    }
+
+    /**
+     * Analiza un mapa.
+     *
+     * @param mapa mapa a analizar
+     * @return métricas de dificultad del mapa
+     */
+    public static MetricasDificultad analizar(MapaCompacto mapa) {
+        CapaTransitable capa = mapa.getCapaTransitable();
+        int palabras = capa.getPalabras();
+        int porFila = capa.getPalabrasPorFila();
+
+        // Grado de cada celda por sumas de máscaras de vecinos
+        long[] pasillos = new long[palabras];
+        int transitables = 0;
+        int callejones = 0;
+        int grado2 = 0;
+        int grado3 = 0;
+        int grado4 = 0;
+        for (int w = 0; w < palabras; w++) {
+            long propias = capa.palabra(w);
+            long a = capa.vecinoIzquierdo(w);
+            long b = capa.vecinoDerecho(w);
+            long c = capa.vecinoArriba(w);
+            long d = capa.vecinoAbajo(w);
+            // (a + b) + (c + d) como sumador de tres bits: un acarreo de un
+            // par excluye la suma del mismo par, así que el bit 2 solo es
+            // el acarreo de ambos pares
+            long s1 = a ^ b;
+            long s2 = c ^ d;
+            long c1 = a & b;
+            long c2 = c & d;
+            long bit0 = s1 ^ s2;
+            long bit1 = c1 ^ c2 ^ (s1 & s2);
+            long bit2 = c1 & c2;
+
+            long pasillo = propias & bit1 & ~bit0;
+            pasillos[w] = pasillo;
+            transitables += Long.bitCount(propias);
+            callejones += Long.bitCount(propias & bit0 & ~bit1);
+            grado2 += Long.bitCount(pasillo);
+            grado3 += Long.bitCount(propias & bit1 & bit0);
+            grado4 += Long.bitCount(propias & bit2);
+        }
+
+        // Cada pasillo tiene dos extremos: lados de una celda de pasillo que
+        // dan a una celda transitable que no es pasillo
+        int extremos = 0;
+        for (int w = 0; w < palabras; w++) {
+            long pasillo = pasillos[w];
+            if (pasillo == 0) continue;
+            int columnaPalabra = w % porFila;
+            long izquierda = pasillo << 1
+                | (columnaPalabra > 0 ? pasillos[w - 1] >>> 63 : 0);
+            long derecha = pasillo >>> 1
+                | (columnaPalabra + 1 < porFila ? pasillos[w + 1] << 63 : 0);
+            long arriba = w >= porFila ? pasillos[w - porFila] : 0;
+            long abajo = w + porFila < palabras ? pasillos[w + porFila] : 0;
+            extremos += Long.bitCount(pasillo & capa.vecinoIzquierdo(w) & ~izquierda);
+            extremos += Long.bitCount(pasillo & capa.vecinoDerecho(w) & ~derecha);
+            extremos += Long.bitCount(pasillo & capa.vecinoArriba(w) & ~arriba);
+            extremos += Long.bitCount(pasillo & capa.vecinoAbajo(w) & ~abajo);
+        }
+        int tramos = extremos / 2;
+        double longitudMediaPasillo = tramos > 0 ? (double) grado2 / tramos : grado2;
+
+        int conSalida = grado2 + grado3 + grado4;
+        double factorRamificacion = conSalida > 0
+            ? (double) (grado2 + 2 * grado3 + 3 * grado4) / conSalida
+            : 0;
+
+        int meta = -1;
+        int preguntas = 0;
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            byte codigo = mapa.codigo(i);
+            if (codigo == CODIGO_PREGUNTA) {
+                preguntas++;
+            } else if (codigo == CODIGO_META && meta < 0) {
+                meta = i;
+            }
+        }
+
+        int longitudSolucion = -1;
+        int preguntasEnSolucion = 0;
+        if (meta >= 0 && mapa.tamaño() > 0) {
+            CampoDistancias campo = mapa.getCampoDesdeInicio();
+            longitudSolucion = campo.distancia(meta);
+            if (longitudSolucion > 0) {
+                preguntasEnSolucion = preguntasEnCamino(mapa, campo, meta);
+            }
+        }
+
+        return new MetricasDificultad(transitables, longitudSolucion, callejones,
+            grado3 + grado4, factorRamificacion, longitudMediaPasillo,
+            preguntas, preguntasEnSolucion);
+    }
+
+    /**
+     * Analiza un lote de mapas en paralelo en el pool común.
+     *
+     * @param mapas mapas a analizar
+     * @return métricas en el mismo orden que los mapas
+     */
+    public static MetricasDificultad[] analizarTodos(List<MapaCompacto> mapas) {
+        return analizarTodos(mapas, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analiza un lote de mapas en paralelo en un pool concreto.
+     *
+     * @param mapas mapas a analizar
+     * @param pool  pool donde se ejecutan las tareas
+     * @return métricas en el mismo orden que los mapas
+     */
+    public static MetricasDificultad[] analizarTodos(List<MapaCompacto> mapas, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser nulo");
+        }
+        MetricasDificultad[] metricas = new MetricasDificultad[mapas.size()];
+        pool.submit(() -> IntStream.range(0, metricas.length).parallel()
+            .forEach(i -> metricas[i] = analizar(mapas.get(i)))).join();
+        return metricas;
+    }
+
+    /**
+     * Cuenta las preguntas de un camino más corto, retrocediendo desde la
+     * meta por vecinos a distancia una unidad menor.
+     */
+    private static int preguntasEnCamino(MapaCompacto mapa, CampoDistancias campo, int meta) {
+        int columnas = mapa.getColumnas();
+        int tamaño = mapa.tamaño();
+        int actual = meta;
+        int d = campo.distancia(meta);
+        int preguntas = 0;
+        while (d > 0) {
+            int siguiente;
+            int columna = actual % columnas;
+            if (actual >= columnas && campo.distancia(actual - columnas) == d - 1) {
+                siguiente = actual - columnas;
+            } else if (columna > 0 && campo.distancia(actual - 1) == d - 1) {
+                siguiente = actual - 1;
+            } else if (actual + columnas < tamaño && campo.distancia(actual + columnas) == d - 1) {
+                siguiente = actual + columnas;
+            } else {
+                siguiente = actual + 1;
+            }
+            actual = siguiente;
+            d--;
+            if (mapa.codigo(actual) == CODIGO_PREGUNTA) preguntas++;
+        }
+        return preguntas;
+    }
+}
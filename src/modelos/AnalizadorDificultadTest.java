@@ -0,0 +1,110 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pruebas unitarias para la clase {@link AnalizadorDificultad}.
+ *
+ * Verifica:
+ * - Métricas exactas en mapas pequeños dibujados a mano
+ * - Coherencia con la capa y el campo de distancias en laberintos generados
+ * - Análisis en paralelo de un lote
+ */
+public class AnalizadorDificultadTest {
+
+    /**
+     * Verifica las métricas de un mapa en forma de T.
+     */
+    @Test
+    public void mapa_en_t() {
+        // S . . . .
+        // # # ? # #
+        // # # M # #
+        MapaCompacto mapa = new MapaCompacto(3, 5);
+        for (int c = 0; c < 5; c++) mapa.establecer(0, c, Celda.LIBRE);
+        mapa.establecer(0, 0, Celda.INICIO);
+        mapa.establecer(1, 2, Celda.PREGUNTA);
+        mapa.establecer(2, 2, Celda.META);
+
+        MetricasDificultad m = AnalizadorDificultad.analizar(mapa);
+        assertEquals(7, m.getTransitables());
+        assertEquals(4, m.getLongitudSolucion());
+        assertEquals(3, m.getCallejones());
+        assertEquals(1, m.getCruces());
+        // Pasillos: (0,1), (0,3) y (1,2), tres tramos de una celda
+        assertEquals(1.0, m.getLongitudMediaPasillo(), 1e-9);
+        // Tres pasillos con 1 salida y un cruce con 2: 5 / 4
+        assertEquals(1.25, m.getFactorRamificacion(), 1e-9);
+        assertEquals(1, m.getPreguntas());
+        assertEquals(1, m.getPreguntasEnSolucion());
+        assertEquals(0.25, m.getDensidadPreguntasSolucion(), 1e-9);
+    }
+
+    /**
+     * Verifica un pasillo recto sin meta.
+     */
+    @Test
+    public void pasillo_sin_meta() {
+        MapaCompacto mapa = new MapaCompacto(1, 6);
+        mapa.rellenar(Celda.LIBRE);
+        MetricasDificultad m = AnalizadorDificultad.analizar(mapa);
+        assertEquals(-1, m.getLongitudSolucion());
+        assertEquals(2, m.getCallejones());
+        assertEquals(0, m.getCruces());
+        assertEquals(4.0, m.getLongitudMediaPasillo(), 1e-9);
+        assertEquals(0.0, m.getDensidadPreguntasSolucion(), 1e-9);
+    }
+
+    /**
+     * Verifica las métricas de laberintos generados frente a la capa y el campo.
+     */
+    @Test
+    public void coherente_con_capa_y_campo() {
+        AlgoritmoLaberinto[] algoritmos = {
+            new AlgoritmoBacktracking(), new AlgoritmoPrim(), new AlgoritmoKruskal(), new AlgoritmoWilson()
+        };
+        for (AlgoritmoLaberinto algoritmo : algoritmos) {
+            MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(97, 20, 5, 11L, algoritmo);
+            MetricasDificultad m = AnalizadorDificultad.analizar(mapa);
+            CapaTransitable capa = mapa.getCapaTransitable();
+            assertEquals(capa.contarTransitables(), m.getTransitables());
+            assertEquals(capa.contarCallejones(), m.getCallejones());
+            assertEquals(20, m.getPreguntas());
+            assertTrue(m.getPreguntasEnSolucion() <= m.getPreguntas());
+
+            int meta = -1;
+            for (int i = 0; i < mapa.tamaño(); i++) {
+                if (mapa.obtener(i) == Celda.META) meta = i;
+            }
+            assertEquals(mapa.getCampoDesdeInicio().distancia(meta), m.getLongitudSolucion());
+            assertTrue(m.getFactorRamificacion() >= 1.0);
+            assertTrue(m.getLongitudMediaPasillo() >= 1.0);
+        }
+    }
+
+    /**
+     * Verifica que el análisis en lote coincide con el análisis individual.
+     */
+    @Test
+    public void lote_en_paralelo() {
+        List<MapaCompacto> mapas = new ArrayList<>();
+        for (long semilla = 0; semilla < 16; semilla++) {
+            mapas.add(GeneradorLaberinto.generarMapaCompacto(33, 5, 2, semilla, new AlgoritmoPrim()));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MetricasDificultad[] lote = AnalizadorDificultad.analizarTodos(mapas, pool);
+            assertEquals(mapas.size(), lote.length);
+            for (int i = 0; i < lote.length; i++) {
+                assertEquals(AnalizadorDificultad.analizar(mapas.get(i)).toString(), lote[i].toString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package modelos;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mapa guardado en disco junto con la semilla y el algoritmo que lo generaron.
+ *
+ * Formato binario (little-endian). Un archivo es una secuencia de registros,
+ * uno por mapa, de modo que una colección de laberintos cabe en un solo
+ * archivo:
+ * <pre>
+ *   int    magia        0x57564D50 ("WVMP")
+ *   byte   versión      {@value #VERSION}
+ *   byte   codificación 0 = empaquetado, 1 = RLE
+ *   int    filas
+ *   int    columnas
+ *   long   semilla
+ *   short  longitud del nombre del algoritmo, seguida de sus bytes UTF-8
+ *   int    longitud de los datos en bytes
+ *   byte[] datos
+ * </pre>
+ *
+ * Empaquetado: cada {@link Celda} ocupa 3 bits y se guardan 21 celdas por
+ * {@code long} (el bit alto queda a cero), lo que permite desempaquetar
+ * palabra a palabra. RLE: cada tramo de celdas iguales es un entero sin
+ * signo de longitud variable (7 bits por byte) con el valor
+ * {@code (longitud - 1) << 3 | celda}. Al guardar se elige la codificación
+ * más pequeña: los laberintos suelen ir empaquetados y los mapas abiertos
+ * con RLE.
+ *
+ * La lectura y escritura usan {@link FileChannel} y {@link ByteBuffer}, y al
+ * cargar la capa de bits del mapa se reconstruye en una sola pasada.
+ */
+public final class ArchivoMapa {
+
+    /** Identificador de los archivos de mapa ("WVMP"). */
+    public static final int MAGIA = 0x57564D50;
+    /** Versión del formato que escribe esta clase. */
+    public static final byte VERSION = 1;
+
+    static final byte EMPAQUETADO = 0;
+    static final byte RLE = 1;
+    static final int CELDAS_POR_PALABRA = 21;
+    static final int BITS_POR_CELDA = 3;
+    private static final int TIPOS_CELDA = Celda.values().length;
+    // Bit alto y bit medio de cada uno de los 21 grupos de 3 bits
+    private static final long BIT_ALTO = 0x4924924924924924L;
+    private static final long BIT_MEDIO = BIT_ALTO >>> 1;
+
+    private final MapaCompacto mapa;
+    private final long semilla;
+    private final String algoritmo;
+
+    /**
+     * Crea un registro de mapa.
+     *
+     * @param mapa      mapa a guardar
+     * @param semilla   semilla con la que se generó
+     * @param algoritmo nombre del algoritmo de tallado (ver {@link AlgoritmoLaberinto#nombre()})
+     */
+    public ArchivoMapa(MapaCompacto mapa, long semilla, String algoritmo) {
+        if (mapa == null) {
+            throw new IllegalArgumentException("El mapa no puede ser nulo");
+        }
+        if (algoritmo == null) {
+            throw new IllegalArgumentException("El nombre del algoritmo no puede ser nulo");
+        }
+        this.mapa = mapa;
+        this.semilla = semilla;
+        this.algoritmo = algoritmo;
+    }
+
+    /**
+     * Mapa del registro.
+     *
+     * @return mapa compacto
+     */
+    public MapaCompacto getMapa() {
+        return mapa;
+    }
+
+    /**
+     * Semilla con la que se generó el mapa.
+     *
+     * @return semilla de 64 bits
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Nombre del algoritmo con el que se talló el mapa.
+     *
+     * @return nombre del algoritmo
+     */
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    /**
+     * Guarda un único mapa, reemplazando el archivo si existe.
+     *
+     * @param ruta    archivo de destino
+     * @param archivo mapa a guardar
+     * @throws IOException si no se puede escribir
+     */
+    public static void guardar(Path ruta, ArchivoMapa archivo) throws IOException {
+        guardarTodos(ruta, Collections.singletonList(archivo));
+    }
+
+    /**
+     * Guarda una colección de mapas en un mismo archivo, reemplazándolo si existe.
+     *
+     * @param ruta  archivo de destino
+     * @param mapas mapas a guardar, en orden
+     * @throws IOException si no se puede escribir
+     */
+    public static void guardarTodos(Path ruta, List<ArchivoMapa> mapas) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (ArchivoMapa archivo : mapas) {
+                ByteBuffer registro = codificar(archivo);
+                while (registro.hasRemaining()) canal.write(registro);
+            }
+        }
+    }
+
+    /**
+     * Carga el primer mapa de un archivo.
+     *
+     * @param ruta archivo de origen
+     * @return mapa con su semilla y algoritmo
+     * @throws IOException si no se puede leer o el formato no es válido
+     */
+    public static ArchivoMapa cargar(Path ruta) throws IOException {
+        ByteBuffer buffer = leerArchivo(ruta);
+        return decodificar(buffer);
+    }
+
+    /**
+     * Carga todos los mapas de un archivo.
+     *
+     * @param ruta archivo de origen
+     * @return mapas en el orden en que se guardaron
+     * @throws IOException si no se puede leer o el formato no es válido
+     */
+    public static List<ArchivoMapa> cargarTodos(Path ruta) throws IOException {
+        ByteBuffer buffer = leerArchivo(ruta);
+        List<ArchivoMapa> mapas = new ArrayList<>();
+        while (buffer.hasRemaining()) mapas.add(decodificar(buffer));
+        return mapas;
+    }
+
+    private static ByteBuffer leerArchivo(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            if (tamaño > Integer.MAX_VALUE) {
+                throw new IOException("Archivo de mapa demasiado grande: " + tamaño + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) tamaño).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer) < 0) throw new EOFException("Fin inesperado del archivo de mapa");
+            }
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * Codifica un registro completo (cabecera y datos) en un buffer listo para escribir.
+     */
+    static ByteBuffer codificar(ArchivoMapa archivo) {
+        MapaCompacto mapa = archivo.mapa;
+        byte[] nombre = archivo.algoritmo.getBytes(StandardCharsets.UTF_8);
+        if (nombre.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("El nombre del algoritmo es demasiado largo");
+        }
+        long tamañoEmpaquetado = 8L * ((mapa.tamaño() + CELDAS_POR_PALABRA - 1) / CELDAS_POR_PALABRA);
+        long tamañoRle = tamañoRle(mapa, tamañoEmpaquetado);
+        byte codificacion = tamañoRle < tamañoEmpaquetado ? RLE : EMPAQUETADO;
+        long datos = codificacion == RLE ? tamañoRle : tamañoEmpaquetado;
+
+        int cabecera = 4 + 1 + 1 + 4 + 4 + 8 + 2 + nombre.length + 4;
+        if (cabecera + datos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El mapa es demasiado grande para un registro");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (cabecera + datos)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIA);
+        buffer.put(VERSION);
+        buffer.put(codificacion);
+        buffer.putInt(mapa.getFilas());
+        buffer.putInt(mapa.getColumnas());
+        buffer.putLong(archivo.semilla);
+        buffer.putShort((short) nombre.length);
+        buffer.put(nombre);
+        buffer.putInt((int) datos);
+        if (codificacion == RLE) {
+            escribirRle(mapa, buffer);
+        } else {
+            escribirEmpaquetado(mapa, buffer);
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Lee un registro desde la posición actual del buffer y lo deja tras él.
+     */
+    static ArchivoMapa decodificar(ByteBuffer buffer) throws IOException {
+        Cabecera cabecera = Cabecera.leer(buffer);
+        ByteBuffer datos = buffer.slice().limit(cabecera.longitudDatos).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(buffer.position() + cabecera.longitudDatos);
+        byte[] codigos = new byte[cabecera.filas * cabecera.columnas];
+        if (cabecera.codificacion == EMPAQUETADO) {
+            leerEmpaquetado(datos, codigos);
+        } else {
+            leerRle(datos, codigos);
+        }
+        return new ArchivoMapa(MapaCompacto.desdeCodigos(cabecera.filas, cabecera.columnas, codigos),
+                               cabecera.semilla, cabecera.algoritmo);
+    }
+
+    /**
+     * Cabecera de un registro ya validada.
+     */
+    static final class Cabecera {
+        final byte codificacion;
+        final int filas;
+        final int columnas;
+        final long semilla;
+        final String algoritmo;
+        final int longitudDatos;
+
+        private Cabecera(byte codificacion, int filas, int columnas, long semilla,
+                         String algoritmo, int longitudDatos) {
+            this.codificacion = codificacion;
+            this.filas = filas;
+            this.columnas = columnas;
+            this.semilla = semilla;
+            this.algoritmo = algoritmo;
+            this.longitudDatos = longitudDatos;
+        }
+
+        /**
+         * Lee y valida una cabecera, dejando el buffer al comienzo de los datos.
+         *
+         * @throws IOException si la cabecera no es válida o los datos están incompletos
+         */
+        static Cabecera leer(ByteBuffer buffer) throws IOException {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < 4 + 1 + 1 + 4 + 4 + 8 + 2) {
+                throw new EOFException("Cabecera de mapa incompleta");
+            }
+            if (buffer.getInt() != MAGIA) {
+                throw new IOException("No es un archivo de mapa");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Versión de archivo de mapa no soportada: " + version);
+            }
+            byte codificacion = buffer.get();
+            if (codificacion != EMPAQUETADO && codificacion != RLE) {
+                throw new IOException("Codificación de mapa desconocida: " + codificacion);
+            }
+            int filas = buffer.getInt();
+            int columnas = buffer.getInt();
+            if (filas < 0 || columnas < 0 || (long) filas * columnas > Integer.MAX_VALUE) {
+                throw new IOException("Dimensiones de mapa inválidas: " + filas + "x" + columnas);
+            }
+            long semilla = buffer.getLong();
+            int longitudNombre = buffer.getShort();
+            if (longitudNombre < 0 || buffer.remaining() < longitudNombre + 4) {
+                throw new EOFException("Cabecera de mapa incompleta");
+            }
+            byte[] nombre = new byte[longitudNombre];
+            buffer.get(nombre);
+            int longitudDatos = buffer.getInt();
+            if (longitudDatos < 0 || buffer.remaining() < longitudDatos) {
+                throw new EOFException("Datos de mapa incompletos");
+            }
+            return new Cabecera(codificacion, filas, columnas, semilla,
+                                new String(nombre, StandardCharsets.UTF_8), longitudDatos);
+        }
+    }
+
+    private static void escribirEmpaquetado(MapaCompacto mapa, ByteBuffer buffer) {
+        int total = mapa.tamaño();
+        for (int inicio = 0; inicio < total; inicio += CELDAS_POR_PALABRA) {
+            int fin = Math.min(total, inicio + CELDAS_POR_PALABRA);
+            long palabra = 0;
+            for (int i = fin - 1; i >= inicio; i--) {
+                palabra = (palabra << BITS_POR_CELDA) | mapa.codigo(i);
+            }
+            buffer.putLong(palabra);
+        }
+    }
+
+    static void leerEmpaquetado(ByteBuffer datos, byte[] codigos) throws IOException {
+        int total = codigos.length;
+        if (datos.remaining() != 8L * ((total + CELDAS_POR_PALABRA - 1) / CELDAS_POR_PALABRA)) {
+            throw new IOException("Longitud de datos empaquetados incorrecta");
+        }
+        for (int inicio = 0; inicio < total; inicio += CELDAS_POR_PALABRA) {
+            long palabra = datos.getLong();
+            // Los códigos 6 y 7 (110 y 111) son los únicos con los dos bits
+            // altos activos: se detectan en las 21 celdas a la vez
+            if (((palabra & BIT_ALTO) & ((palabra & BIT_MEDIO) << 1)) != 0) {
+                throw new IOException("Celda inválida en el mapa");
+            }
+            int fin = Math.min(total, inicio + CELDAS_POR_PALABRA);
+            for (int i = inicio; i < fin; i++) {
+                codigos[i] = (byte) (palabra & 7);
+                palabra >>>= BITS_POR_CELDA;
+            }
+        }
+    }
+
+    /**
+     * Tamaño en bytes de la codificación RLE, o {@code limite} en cuanto lo
+     * alcanza (no hace falta conocerlo con exactitud si no va a elegirse).
+     */
+    private static long tamañoRle(MapaCompacto mapa, long limite) {
+        int total = mapa.tamaño();
+        long tamaño = 0;
+        int i = 0;
+        while (i < total && tamaño < limite) {
+            byte codigo = mapa.codigo(i);
+            int j = i + 1;
+            while (j < total && mapa.codigo(j) == codigo) j++;
+            tamaño += bytesVarint(((long) (j - i - 1) << BITS_POR_CELDA) | codigo);
+            i = j;
+        }
+        return Math.min(tamaño, limite);
+    }
+
+    private static void escribirRle(MapaCompacto mapa, ByteBuffer buffer) {
+        int total = mapa.tamaño();
+        int i = 0;
+        while (i < total) {
+            byte codigo = mapa.codigo(i);
+            int j = i + 1;
+            while (j < total && mapa.codigo(j) == codigo) j++;
+            long valor = ((long) (j - i - 1) << BITS_POR_CELDA) | codigo;
+            while ((valor & ~0x7FL) != 0) {
+                buffer.put((byte) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            buffer.put((byte) valor);
+            i = j;
+        }
+    }
+
+    static void leerRle(ByteBuffer datos, byte[] codigos) throws IOException {
+        int i = 0;
+        while (datos.hasRemaining()) {
+            long valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                if (!datos.hasRemaining() || desplazamiento > 35) {
+                    throw new IOException("Tramo RLE mal formado");
+                }
+                b = datos.get();
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            int codigo = (int) (valor & 7);
+            long longitud = (valor >>> BITS_POR_CELDA) + 1;
+            if (codigo >= TIPOS_CELDA) throw new IOException("Celda inválida en el mapa: " + codigo);
+            if (longitud > codigos.length - i) throw new IOException("Tramo RLE fuera del mapa");
+            Arrays.fill(codigos, i, i + (int) longitud, (byte) codigo);
+            i += (int) longitud;
+        }
+        if (i != codigos.length) {
+            throw new IOException("Datos RLE incompletos: " + i + " de " + codigos.length + " celdas");
+        }
+    }
+
+    private static int bytesVarint(long valor) {
+        int bytes = 1;
+        while ((valor >>>= 7) != 0) bytes++;
+        return bytes;
+    }
+}
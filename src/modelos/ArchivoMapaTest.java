@@ -0,0 +1,128 @@
+package modelos;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para la clase {@link ArchivoMapa}.
+ *
+ * Verifica:
+ * - Ida y vuelta de laberintos (empaquetados) y mapas abiertos (RLE)
+ * - Colecciones de mapas en un mismo archivo
+ * - Rechazo de archivos corruptos o truncados
+ */
+public class ArchivoMapaTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /**
+     * Verifica que un laberinto se guarda empaquetado y se recupera igual.
+     */
+    @Test
+    public void laberinto_ida_y_vuelta() throws IOException {
+        AlgoritmoLaberinto algoritmo = new AlgoritmoPrim();
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(257, 100, 50, 12L, algoritmo);
+        Path ruta = carpeta.newFile("laberinto.wvm").toPath();
+        ArchivoMapa.guardar(ruta, new ArchivoMapa(mapa, 12L, algoritmo.nombre()));
+
+        ArchivoMapa leido = ArchivoMapa.cargar(ruta);
+        assertEquals(mapa, leido.getMapa());
+        assertEquals(12L, leido.getSemilla());
+        assertEquals("Prim", leido.getAlgoritmo());
+        assertEquals(mapa.getCapaTransitable().contarTransitables(),
+                     leido.getMapa().getCapaTransitable().contarTransitables());
+        assertEquals(ArchivoMapa.EMPAQUETADO, Files.readAllBytes(ruta)[5]);
+    }
+
+    /**
+     * Verifica que un mapa abierto usa RLE y ocupa mucho menos.
+     */
+    @Test
+    public void mapa_abierto_usa_rle() throws IOException {
+        MapaCompacto mapa = MapaCompacto.desdeMatriz(
+            GeneradorMapas.generarMapaAleatorio(200, 130, 10, 5L));
+        Path ruta = carpeta.newFile("abierto.wvm").toPath();
+        ArchivoMapa.guardar(ruta, new ArchivoMapa(mapa, 5L, "Abierto"));
+
+        byte[] bytes = Files.readAllBytes(ruta);
+        assertEquals(ArchivoMapa.RLE, bytes[5]);
+        assertTrue(bytes.length < 200 * 130 * 3 / 8 / 4);
+        ArchivoMapa leido = ArchivoMapa.cargar(ruta);
+        assertEquals(mapa, leido.getMapa());
+        assertTrue(leido.getMapa().getCapaTransitable().esTransitable(199, 129));
+    }
+
+    /**
+     * Verifica que varios mapas se guardan y cargan en orden.
+     */
+    @Test
+    public void coleccion_de_mapas() throws IOException {
+        List<ArchivoMapa> mapas = new ArrayList<>();
+        AlgoritmoLaberinto[] algoritmos = {
+            new AlgoritmoBacktracking(), new AlgoritmoKruskal(), new AlgoritmoWilson()
+        };
+        for (int k = 0; k < 30; k++) {
+            AlgoritmoLaberinto algoritmo = algoritmos[k % algoritmos.length];
+            int tamaño = 8 + k;
+            mapas.add(new ArchivoMapa(
+                GeneradorLaberinto.generarMapaCompacto(tamaño, 2, 1, k, algoritmo), k, algoritmo.nombre()));
+        }
+        mapas.add(new ArchivoMapa(new MapaCompacto(0, 0), -1L, ""));
+        Path ruta = carpeta.newFile("clase.wvm").toPath();
+        ArchivoMapa.guardarTodos(ruta, mapas);
+
+        List<ArchivoMapa> leidos = ArchivoMapa.cargarTodos(ruta);
+        assertEquals(mapas.size(), leidos.size());
+        for (int k = 0; k < mapas.size(); k++) {
+            assertEquals(mapas.get(k).getMapa(), leidos.get(k).getMapa());
+            assertEquals(mapas.get(k).getSemilla(), leidos.get(k).getSemilla());
+            assertEquals(mapas.get(k).getAlgoritmo(), leidos.get(k).getAlgoritmo());
+        }
+    }
+
+    /**
+     * Verifica que un archivo que no es de mapa se rechaza.
+     */
+    @Test(expected = IOException.class)
+    public void magia_incorrecta_falla() throws IOException {
+        Path ruta = carpeta.newFile("otro.bin").toPath();
+        Files.write(ruta, "esto no es un mapa, es texto".getBytes());
+        ArchivoMapa.cargar(ruta);
+    }
+
+    /**
+     * Verifica que un archivo truncado se rechaza.
+     */
+    @Test(expected = IOException.class)
+    public void archivo_truncado_falla() throws IOException {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(16, 2, 1, 1L, new AlgoritmoPrim());
+        ByteBuffer registro = ArchivoMapa.codificar(new ArchivoMapa(mapa, 1L, "Prim"));
+        byte[] bytes = new byte[registro.remaining()];
+        registro.get(bytes);
+        Path ruta = carpeta.newFile("truncado.wvm").toPath();
+        Files.write(ruta, Arrays.copyOf(bytes, bytes.length - 3));
+        ArchivoMapa.cargar(ruta);
+    }
+
+    /**
+     * Verifica que un código de celda fuera de rango se rechaza.
+     */
+    @Test(expected = IOException.class)
+    public void celda_invalida_falla() throws IOException {
+        ByteBuffer datos = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        datos.putLong(7L).flip();
+        ArchivoMapa.leerEmpaquetado(datos, new byte[1]);
+    }
+}
@@ -0,0 +1,213 @@
+package modelos;
+
+/**
+ * Búsqueda en anchura bidireccional sobre la {@link CapaTransitable}.
+ *
+ * Avanza a la vez desde el origen y desde el destino, un nivel cada vez y
+ * siempre por el lado con la frontera más pequeña, y se detiene en cuanto
+ * las dos búsquedas se tocan. Cada lado guarda sus celdas visitadas y su
+ * frontera como conjuntos de bits con el formato de la capa; un nivel se
+ * expande desplazando palabras completas, 64 celdas por operación, y solo
+ * recorre la lista de palabras con bits en la frontera, no el mapa entero.
+ *
+ * Al comprobar el encuentro tras cada nivel, la primera celda común está a
+ * distancia mínima: si el lado que avanza llega al nivel {@code a + 1} y el
+ * otro va por el nivel {@code b}, la celda común está a {@code b} del otro
+ * extremo (si estuviera más cerca, su predecesora ya habría sido común), y
+ * el camino más corto mide {@code a + 1 + b} pasos.
+ *
+ * Sirve para comprobar que un mapa tiene solución y medir su longitud sin
+ * recorrer todas las celdas alcanzables. Frente a una búsqueda desde el
+ * inicio que para al llegar a la meta, en laberintos ramificados (Prim)
+ * explora menos de la mitad de las celdas y en los trenzados unas tres
+ * cuartas partes; en los de pasillos muy largos (backtracking) el camino
+ * recorre casi todo el mapa y no hay ahorro. Si uno de los extremos está
+ * encerrado, su frontera se agota enseguida y la búsqueda termina sin
+ * recorrer el resto del mapa.
+ */
+public class BusquedaBidireccional {
+
+    /**
+     * Resultado de una búsqueda: distancia y celdas exploradas.
+     */
+    public static final class Resultado {
+        private final int distancia;
+        private final int exploradas;
+
+        private Resultado(int distancia, int exploradas) {
+            this.distancia = distancia;
+            this.exploradas = exploradas;
+        }
+
+        /**
+         * Pasos del camino más corto.
+         *
+         * @return distancia entre origen y destino, o -1 si no están conectados
+         */
+        public int getDistancia() {
+            return distancia;
+        }
+
+        /**
+         * Celdas visitadas entre las dos búsquedas.
+         *
+         * @return celdas marcadas por alguno de los dos lados
+         */
+        public int getExploradas() {
+            return exploradas;
+        }
+    }
+
+    /**
+     * Estado de uno de los dos lados de la búsqueda.
+     */
+    private static final class Lado {
+        final long[] visitado;
+        long[] frontera;
+        int[] activas;
+        int numActivas;
+        int tamañoFrontera;
+        int nivel;
+
+        Lado(int palabras, int inicio, long bit) {
+            visitado = new long[palabras];
+            frontera = new long[palabras];
+            activas = new int[palabras];
+            visitado[inicio] = bit;
+            frontera[inicio] = bit;
+            activas[0] = inicio;
+            numActivas = 1;
+            tamañoFrontera = 1;
+        }
+    }
+
+    /**
+     * Busca la distancia entre dos celdas.
+     *
+     * @param mapa    mapa a recorrer
+     * @param origen  índice empaquetado de la celda de partida
+     * @param destino índice empaquetado de la celda de llegada
+     * @return distancia (o -1) y celdas exploradas
+     * @throws IllegalArgumentException si alguna celda está fuera del mapa
+     */
+    public static Resultado buscar(MapaCompacto mapa, int origen, int destino) {
+        int n = mapa.tamaño();
+        if (origen < 0 || origen >= n || destino < 0 || destino >= n) {
+            throw new IllegalArgumentException("El origen y el destino deben estar dentro del tablero");
+        }
+        if (!mapa.esTransitable(origen) || !mapa.esTransitable(destino)) return new Resultado(-1, 0);
+        if (origen == destino) return new Resultado(0, 1);
+
+        CapaTransitable capa = mapa.getCapaTransitable();
+        int columnas = mapa.getColumnas();
+        int palabrasPorFila = capa.getPalabrasPorFila();
+        Lado desdeOrigen = new Lado(capa.getPalabras(), palabraDe(origen, columnas, palabrasPorFila), 1L << (origen % columnas));
+        Lado desdeDestino = new Lado(capa.getPalabras(), palabraDe(destino, columnas, palabrasPorFila), 1L << (destino % columnas));
+        // Frontera en construcción: una palabra está en la lista de tocadas
+        // exactamente cuando su entrada es distinta de cero
+        long[] siguiente = new long[capa.getPalabras()];
+        int[] tocadas = new int[capa.getPalabras()];
+        int exploradas = 2;
+
+        while (desdeOrigen.tamañoFrontera > 0 && desdeDestino.tamañoFrontera > 0) {
+            boolean avanzaOrigen = desdeOrigen.tamañoFrontera <= desdeDestino.tamañoFrontera;
+            Lado lado = avanzaOrigen ? desdeOrigen : desdeDestino;
+            Lado otro = avanzaOrigen ? desdeDestino : desdeOrigen;
+
+            int numTocadas = 0;
+            for (int i = 0; i < lado.numActivas; i++) {
+                int w = lado.activas[i];
+                long bits = lado.frontera[w];
+                lado.frontera[w] = 0;
+                int columnaPalabra = w % palabrasPorFila;
+                numTocadas = sumar(siguiente, tocadas, numTocadas, w, (bits << 1) | (bits >>> 1));
+                if (columnaPalabra > 0 && (bits & 1L) != 0) {
+                    numTocadas = sumar(siguiente, tocadas, numTocadas, w - 1, 1L << 63);
+                }
+                if (columnaPalabra + 1 < palabrasPorFila && bits < 0) {
+                    numTocadas = sumar(siguiente, tocadas, numTocadas, w + 1, 1L);
+                }
+                if (w >= palabrasPorFila) {
+                    numTocadas = sumar(siguiente, tocadas, numTocadas, w - palabrasPorFila, bits);
+                }
+                if (w + palabrasPorFila < siguiente.length) {
+                    numTocadas = sumar(siguiente, tocadas, numTocadas, w + palabrasPorFila, bits);
+                }
+            }
+
+            // Filtrar paredes y celdas ya vistas; las palabras que quedan
+            // forman la nueva frontera
+            boolean encuentro = false;
+            int activas = 0;
+            int tamaño = 0;
+            for (int i = 0; i < numTocadas; i++) {
+                int w = tocadas[i];
+                long nuevos = siguiente[w] & capa.palabra(w) & ~lado.visitado[w];
+                siguiente[w] = 0;
+                if (nuevos == 0) continue;
+                lado.visitado[w] |= nuevos;
+                lado.frontera[w] = nuevos;
+                lado.activas[activas++] = w;
+                tamaño += Long.bitCount(nuevos);
+                if ((nuevos & otro.visitado[w]) != 0) encuentro = true;
+            }
+            lado.numActivas = activas;
+            lado.tamañoFrontera = tamaño;
+            lado.nivel++;
+            exploradas += tamaño;
+            if (encuentro) return new Resultado(lado.nivel + otro.nivel, exploradas);
+        }
+        return new Resultado(-1, exploradas);
+    }
+
+    /**
+     * Longitud de la solución: pasos del inicio (0, 0) a la primera
+     * {@link Celda#META} en orden de filas.
+     *
+     * @param mapa mapa a medir
+     * @return pasos del camino más corto, o -1 si no hay meta o no se alcanza
+     */
+    public static int longitudSolucion(MapaCompacto mapa) {
+        int meta = buscarMeta(mapa);
+        if (meta < 0) return -1;
+        return buscar(mapa, 0, meta).getDistancia();
+    }
+
+    /**
+     * Indica si la meta es alcanzable desde el inicio (0, 0).
+     *
+     * A diferencia de {@link VerificadorAlcance#esCompletable(MapaCompacto)},
+     * no comprueba las preguntas.
+     *
+     * @param mapa mapa a comprobar
+     * @return true si hay meta y existe un camino hasta ella
+     */
+    public static boolean esResoluble(MapaCompacto mapa) {
+        return longitudSolucion(mapa) >= 0;
+    }
+
+    private static int buscarMeta(MapaCompacto mapa) {
+        byte meta = (byte) Celda.META.ordinal();
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            if (mapa.codigo(i) == meta) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Añade bits a una palabra de la frontera en construcción y la apunta
+     * en la lista si aún no estaba.
+     *
+     * @return nuevo número de palabras tocadas
+     */
+    private static int sumar(long[] siguiente, int[] tocadas, int numTocadas, int w, long bits) {
+        if (bits == 0) return numTocadas;
+        if (siguiente[w] == 0) tocadas[numTocadas++] = w;
+        siguiente[w] |= bits;
+        return numTocadas;
+    }
+
+    private static int palabraDe(int indice, int columnas, int palabrasPorFila) {
+        return indice / columnas * palabrasPorFila + (indice % columnas >>> 6);
+    }
+}
@@ -0,0 +1,106 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link BusquedaBidireccional}.
+ *
+ * Verifica:
+ * - Distancias iguales a las de una búsqueda en anchura desde un extremo
+ * - Longitud de la solución de los mapas generados
+ * - Parada temprana con un extremo encerrado y menos celdas exploradas
+ */
+public class BusquedaBidireccionalTest {
+
+    /**
+     * Verifica distancias entre pares aleatorios, con filas de más de una
+     * palabra que no llenan la última.
+     */
+    @Test
+    public void distancias_minimas() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(131, 0, 0, 6L,
+            new AlgoritmoTrenzado(new AlgoritmoBacktracking(), 0.5));
+        SplittableRandom random = new SplittableRandom(2L);
+        for (int k = 0; k < 30; k++) {
+            int origen = mapa.indice(2 * random.nextInt(66), 2 * random.nextInt(66));
+            int destino = mapa.indice(2 * random.nextInt(66), 2 * random.nextInt(66));
+            CampoDistancias campo = CampoDistancias.calcular(mapa, origen / 131, origen % 131);
+            assertEquals(campo.distancia(destino / 131, destino % 131),
+                         BusquedaBidireccional.buscar(mapa, origen, destino).getDistancia());
+        }
+    }
+
+    /**
+     * Verifica la longitud de la solución frente al campo desde el inicio.
+     */
+    @Test
+    public void longitud_solucion_generados() {
+        AlgoritmoLaberinto[] algoritmos = {new AlgoritmoBacktracking(), new AlgoritmoPrim()};
+        for (AlgoritmoLaberinto algoritmo : algoritmos) {
+            MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(101, 3, 2, 4L, algoritmo);
+            int meta = -1;
+            for (int i = 0; i < mapa.tamaño() && meta < 0; i++) {
+                if (mapa.obtener(i) == Celda.META) meta = i;
+            }
+            int esperada = mapa.getCampoDesdeInicio().distancia(meta / 101, meta % 101);
+            assertEquals(esperada, BusquedaBidireccional.longitudSolucion(mapa));
+            assertTrue(BusquedaBidireccional.esResoluble(mapa));
+        }
+        MapaCompacto sinMeta = new MapaCompacto(3, 3);
+        sinMeta.rellenar(Celda.LIBRE);
+        assertEquals(-1, BusquedaBidireccional.longitudSolucion(sinMeta));
+        assertFalse(BusquedaBidireccional.esResoluble(sinMeta));
+    }
+
+    /**
+     * Verifica que en un laberinto ramificado explora menos celdas que una
+     * búsqueda desde el inicio que para al llegar a la meta.
+     */
+    @Test
+    public void explora_menos_que_un_extremo() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(257, 0, 0, 1L, new AlgoritmoPrim());
+        CampoDistancias campo = mapa.getCampoDesdeInicio();
+        int meta = -1;
+        for (int i = 0; i < mapa.tamaño() && meta < 0; i++) {
+            if (mapa.obtener(i) == Celda.META) meta = i;
+        }
+        int distanciaMeta = campo.distancia(meta / 257, meta % 257);
+        int unExtremo = 0;
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            int d = campo.distancia(i / 257, i % 257);
+            if (d >= 0 && d <= distanciaMeta) unExtremo++;
+        }
+        BusquedaBidireccional.Resultado resultado = BusquedaBidireccional.buscar(mapa, 0, meta);
+        assertEquals(distanciaMeta, resultado.getDistancia());
+        assertTrue(resultado.getExploradas() < unExtremo);
+    }
+
+    /**
+     * Verifica que un destino encerrado termina la búsqueda sin recorrer el
+     * mapa, y los casos triviales.
+     */
+    @Test
+    public void destino_encerrado_y_casos_limite() {
+        MapaCompacto mapa = new MapaCompacto(100, 100);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(49, 50, Celda.PARED);
+        mapa.establecer(51, 50, Celda.PARED);
+        mapa.establecer(50, 49, Celda.PARED);
+        mapa.establecer(50, 51, Celda.PARED);
+        BusquedaBidireccional.Resultado encerrado = BusquedaBidireccional.buscar(mapa, 0, mapa.indice(50, 50));
+        assertEquals(-1, encerrado.getDistancia());
+        assertTrue(encerrado.getExploradas() < 10);
+
+        assertEquals(-1, BusquedaBidireccional.buscar(mapa, 0, mapa.indice(49, 50)).getDistancia());
+        assertEquals(0, BusquedaBidireccional.buscar(mapa, 7, 7).getDistancia());
+        assertEquals(198, BusquedaBidireccional.buscar(mapa, 0, mapa.tamaño() - 1).getDistancia());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fuera_del_mapa_falla() {
+        BusquedaBidireccional.buscar(new MapaCompacto(3, 3), 0, 9);
+    }
+}
@@ -0,0 +1,212 @@
+package modelos;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Campo de distancias en pasos desde una celda de origen.
+ *
+ * Se calcula con una única búsqueda en anchura sobre un {@link MapaCompacto}
+ * y guarda la distancia de cada celda en un {@code int[]} indexado como el
+ * mapa ({@code fila * columnas + columna}); las celdas inalcanzables valen
+ * {@code -1}. La cola de la búsqueda se conserva como el orden de visita, que
+ * agrupa las celdas por distancia creciente: elegir una celda dentro de una
+ * banda de distancias es una búsqueda binaria sobre ese orden.
+ *
+ * El campo es inmutable y puede compartirse entre consumidores (colocación de
+ * la meta, pistas, métricas) sin repetir la búsqueda.
+ */
+public class CampoDistancias {
+    private final int filas;
+    private final int columnas;
+    private final int origen;
+    private final int[] distancias;
+    private final int[] orden;
+    private final int alcanzables;
+
+    private CampoDistancias(int filas, int columnas, int origen, int[] distancias,
+                            int[] orden, int alcanzables) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.origen = origen;
+        this.distancias = distancias;
+        this.orden = orden;
+        this.alcanzables = alcanzables;
+    }
+
+    /**
+     * Calcula el campo de distancias desde una celda.
+     *
+     * @param mapa    mapa a recorrer
+     * @param fila    fila del origen
+     * @param columna columna del origen
+     * @return campo de distancias; sin celdas alcanzables si el origen es pared
+     * @throws IllegalArgumentException si el origen está fuera del mapa
+     */
+    public static CampoDistancias calcular(MapaCompacto mapa, int fila, int columna) {
+        if (!mapa.contiene(fila, columna)) {
+            throw new IllegalArgumentException("El origen está fuera del mapa");
+        }
+        int filas = mapa.getFilas();
+        int columnas = mapa.getColumnas();
+        int[] distancias = new int[mapa.tamaño()];
+        Arrays.fill(distancias, -1);
+        int[] cola = new int[mapa.tamaño()];
+        int origen = mapa.indice(fila, columna);
+        if (!mapa.esTransitable(origen)) {
+            return new CampoDistancias(filas, columnas, origen, distancias, cola, 0);
+        }
+
+        int cabeza = 0;
+        int fin = 0;
+        distancias[origen] = 0;
+        cola[fin++] = origen;
+        while (cabeza < fin) {
+            int actual = cola[cabeza++];
+            int siguiente = distancias[actual] + 1;
+            int c = actual % columnas;
+            if (actual >= columnas) fin = visitar(mapa, distancias, cola, fin, actual - columnas, siguiente);
+            if (actual + columnas < cola.length) fin = visitar(mapa, distancias, cola, fin, actual + columnas, siguiente);
+            if (c > 0) fin = visitar(mapa, distancias, cola, fin, actual - 1, siguiente);
+            if (c + 1 < columnas) fin = visitar(mapa, distancias, cola, fin, actual + 1, siguiente);
+        }
+        return new CampoDistancias(filas, columnas, origen, distancias, cola, fin);
+    }
+
+    private static int visitar(MapaCompacto mapa, int[] distancias, int[] cola, int fin,
+                               int vecino, int distancia) {
+        if (distancias[vecino] < 0 && mapa.esTransitable(vecino)) {
+            distancias[vecino] = distancia;
+            cola[fin++] = vecino;
+        }
+        return fin;
+    }
+
+    /**
+     * Índice lineal del origen del campo.
+     *
+     * @return índice del origen
+     */
+    public int getOrigen() {
+        return origen;
+    }
+
+    /**
+     * Número de filas del mapa de origen.
+     *
+     * @return filas
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Número de columnas del mapa de origen.
+     *
+     * @return columnas
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Distancia desde el origen a la celda de un índice lineal.
+     *
+     * @param indice índice lineal de la celda
+     * @return pasos desde el origen, o -1 si es inalcanzable
+     */
+    public int distancia(int indice) {
+        return distancias[indice];
+    }
+
+    /**
+     * Distancia desde el origen a una celda.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return pasos desde el origen, o -1 si es inalcanzable o está fuera del mapa
+     */
+    public int distancia(int fila, int columna) {
+        if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas) return -1;
+        return distancias[fila * columnas + columna];
+    }
+
+    /**
+     * Número de celdas alcanzables, incluido el origen.
+     *
+     * @return celdas con distancia conocida
+     */
+    public int getAlcanzables() {
+        return alcanzables;
+    }
+
+    /**
+     * Mayor distancia del campo.
+     *
+     * @return pasos hasta la celda más lejana, o -1 si no hay alcanzables
+     */
+    public int getDistanciaMaxima() {
+        return alcanzables == 0 ? -1 : distancias[orden[alcanzables - 1]];
+    }
+
+    /**
+     * Celda alcanzable más lejana del origen.
+     *
+     * @return índice lineal de la última celda visitada, o -1 si no hay alcanzables
+     */
+    public int masLejana() {
+        return alcanzables == 0 ? -1 : orden[alcanzables - 1];
+    }
+
+    /**
+     * Cuenta las celdas cuya distancia está en {@code [minima, maxima]}.
+     *
+     * @param minima distancia mínima incluida
+     * @param maxima distancia máxima incluida
+     * @return número de celdas en la banda
+     */
+    public int contarEnBanda(int minima, int maxima) {
+        if (minima > maxima) return 0;
+        return primeraConDistancia(maxima + 1) - primeraConDistancia(minima);
+    }
+
+    /**
+     * Elige al azar una celda cuya distancia está en {@code [minima, maxima]}.
+     *
+     * @param minima distancia mínima incluida
+     * @param maxima distancia máxima incluida
+     * @param random generador aleatorio
+     * @return índice lineal de la celda elegida, o -1 si la banda está vacía
+     */
+    public int elegirEnBanda(int minima, int maxima, SplittableRandom random) {
+        if (minima > maxima) return -1;
+        int desde = primeraConDistancia(minima);
+        int hasta = primeraConDistancia(maxima + 1);
+        if (desde >= hasta) return -1;
+        return orden[desde + random.nextInt(hasta - desde)];
+    }
+
+    /**
+     * Copia de las distancias de todas las celdas.
+     *
+     * @return arreglo nuevo indexado como el mapa, con -1 en las inalcanzables
+     */
+    public int[] aArreglo() {
+        return distancias.clone();
+    }
+
+    /**
+     * Posición en el orden de visita de la primera celda con distancia mayor o
+     * igual a la indicada.
+     */
+    private int primeraConDistancia(int distancia) {
+        int bajo = 0;
+        int alto = alcanzables;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (distancias[orden[medio]] < distancia) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+}
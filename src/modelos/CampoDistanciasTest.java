@@ -0,0 +1,133 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link CampoDistancias}.
+ *
+ * Verifica:
+ * - Distancias correctas en un pasillo y en laberintos generados
+ * - Selección de celdas dentro de una banda de distancias
+ * - Caché del campo en {@link MapaCompacto}
+ * - Colocación de la meta lejos del inicio
+ */
+public class CampoDistanciasTest {
+
+    /**
+     * Verifica las distancias en un mapa en forma de U.
+     */
+    @Test
+    public void distancias_en_pasillo() {
+        // . # .
+        // . # .
+        // . . .
+        MapaCompacto mapa = new MapaCompacto(3, 3);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(0, 1, Celda.PARED);
+        mapa.establecer(1, 1, Celda.PARED);
+        CampoDistancias campo = CampoDistancias.calcular(mapa, 0, 0);
+        assertEquals(0, campo.distancia(0, 0));
+        assertEquals(2, campo.distancia(2, 0));
+        assertEquals(6, campo.distancia(0, 2));
+        assertEquals(-1, campo.distancia(0, 1));
+        assertEquals(-1, campo.distancia(5, 5));
+        assertEquals(6, campo.getDistanciaMaxima());
+        assertEquals(mapa.indice(0, 2), campo.masLejana());
+        assertEquals(7, campo.getAlcanzables());
+    }
+
+    /**
+     * Verifica que las celdas aisladas quedan con distancia -1.
+     */
+    @Test
+    public void celdas_aisladas_inalcanzables() {
+        MapaCompacto mapa = new MapaCompacto(1, 5);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(0, 2, Celda.PARED);
+        CampoDistancias campo = CampoDistancias.calcular(mapa, 0, 0);
+        assertEquals(-1, campo.distancia(0, 3));
+        assertEquals(-1, campo.distancia(0, 4));
+        assertEquals(2, campo.getAlcanzables());
+    }
+
+    /**
+     * Verifica que las celdas elegidas en una banda respetan sus límites y
+     * que el conteo coincide con un recorrido del arreglo.
+     */
+    @Test
+    public void elegir_en_banda() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(31, 0, 0, 8L, new AlgoritmoWilson());
+        CampoDistancias campo = CampoDistancias.calcular(mapa, 0, 0);
+        int maxima = campo.getDistanciaMaxima();
+        int desde = maxima / 3;
+        int hasta = maxima / 2;
+
+        int esperado = 0;
+        for (int d : campo.aArreglo()) {
+            if (d >= desde && d <= hasta) esperado++;
+        }
+        assertEquals(esperado, campo.contarEnBanda(desde, hasta));
+
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int k = 0; k < 100; k++) {
+            int d = campo.distancia(campo.elegirEnBanda(desde, hasta, random));
+            assertTrue(d >= desde && d <= hasta);
+        }
+        assertEquals(-1, campo.elegirEnBanda(maxima + 1, maxima + 5, random));
+    }
+
+    /**
+     * Verifica que el mapa reutiliza el campo mientras no cambian las paredes.
+     */
+    @Test
+    public void campo_en_cache_del_mapa() {
+        MapaCompacto mapa = new MapaCompacto(2, 4);
+        mapa.rellenar(Celda.LIBRE);
+        CampoDistancias campo = mapa.getCampoDesdeInicio();
+        mapa.establecer(1, 3, Celda.PREGUNTA);
+        assertSame(campo, mapa.getCampoDesdeInicio());
+        mapa.establecer(0, 1, Celda.PARED);
+        CampoDistancias nuevo = mapa.getCampoDesdeInicio();
+        assertNotSame(campo, nuevo);
+        assertEquals(4, nuevo.distancia(0, 2));
+    }
+
+    /**
+     * Verifica que la meta se coloca en la banda por defecto y, con una banda
+     * unitaria, exactamente en la celda más lejana.
+     */
+    @Test
+    public void meta_lejos_del_inicio() {
+        for (long semilla = 0; semilla < 20; semilla++) {
+            MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(
+                32, 10, 5, semilla, new AlgoritmoBacktracking());
+            CampoDistancias campo = mapa.getCampoDesdeInicio();
+            int meta = indiceDe(mapa, Celda.META);
+            assertTrue(campo.distancia(meta) >= Math.ceil(0.75 * campo.getDistanciaMaxima()));
+
+            MapaCompacto lejano = GeneradorLaberinto.generarMapaCompacto(
+                32, 10, 5, semilla, new AlgoritmoPrim(), 1.0, 1.0);
+            CampoDistancias campoLejano = lejano.getCampoDesdeInicio();
+            assertEquals(campoLejano.getDistanciaMaxima(),
+                         campoLejano.distancia(indiceDe(lejano, Celda.META)));
+        }
+    }
+
+    /**
+     * Verifica que una banda inválida se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void banda_invalida_falla() {
+        GeneradorLaberinto.generarMapaCompacto(16, 1, 1, 1L, new AlgoritmoPrim(), 0.9, 0.5);
+    }
+
+    private static int indiceDe(MapaCompacto mapa, Celda tipo) {
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            if (mapa.obtener(i) == tipo) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,279 @@
+package modelos;
+
+import java.util.Arrays;
+
+/**
+ * Campo de distancias hasta la meta para dar pistas en O(1).
+ *
+ * Se calcula una vez por mapa con una búsqueda en anchura inversa desde la
+ * {@link Celda#META} y guarda en un {@code int[]} indexado como el mapa
+ * ({@code fila * columnas + columna}) los pasos que faltan desde cada celda;
+ * las celdas que no llegan a la meta valen {@code -1}. El siguiente paso
+ * desde una posición es cualquier vecino a un paso menos, así que consultar
+ * una pista o los pasos restantes no repite ninguna búsqueda.
+ *
+ * Si el mapa cambia, {@link #celdaCambiada(int, int)} repara el campo
+ * tocando solo las celdas cuya distancia cambia:
+ * <ul>
+ *   <li>Una pared que se abre propaga distancias menores desde ella.</li>
+ *   <li>Una celda que se cierra invalida las celdas cuyo único camino
+ *       corto pasaba por ella y las recalcula desde su borde con una
+ *       búsqueda en anchura de varios orígenes ordenados por distancia.</li>
+ * </ul>
+ * Solo si la meta cambia de sitio se recalcula el campo entero.
+ *
+ * Funciona sobre cualquier {@link Tablero} finito, incluido un
+ * {@link MapaMapeado}.
+ */
+public class CampoPistas {
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    private final Tablero tablero;
+    private final int filas;
+    private final int columnas;
+    private final int[] distancias;
+    private int[] cola;
+    private int meta;
+
+    private CampoPistas(Tablero tablero) {
+        this.tablero = tablero;
+        this.filas = tablero.getFilas();
+        this.columnas = tablero.getColumnas();
+        this.distancias = new int[Math.multiplyExact(filas, columnas)];
+        this.cola = new int[16];
+    }
+
+    /**
+     * Calcula el campo de distancias a la meta de un tablero.
+     *
+     * @param tablero tablero finito
+     * @return campo calculado; sin celdas alcanzables si no hay meta
+     * @throws IllegalArgumentException si el tablero es infinito
+     */
+    public static CampoPistas calcular(Tablero tablero) {
+        if (tablero.esInfinito()) {
+            throw new IllegalArgumentException("El campo de pistas requiere un tablero finito");
+        }
+        CampoPistas campo = new CampoPistas(tablero);
+        campo.recalcular();
+        return campo;
+    }
+
+    /**
+     * Índice lineal de la meta usada como origen.
+     *
+     * @return índice de la meta, o -1 si el tablero no tiene
+     */
+    public int getMeta() {
+        return meta;
+    }
+
+    /**
+     * Pasos que faltan hasta la meta desde una celda.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return pasos hasta la meta, o -1 si no llega o está fuera del tablero
+     */
+    public int distancia(int fila, int columna) {
+        if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas) return -1;
+        return distancias[fila * columnas + columna];
+    }
+
+    /**
+     * Pasos que faltan hasta la meta desde una posición.
+     *
+     * @param posicion posición de partida
+     * @return pasos hasta la meta, o -1 si no llega
+     */
+    public int pasosRestantes(Posicion posicion) {
+        return distancia(posicion.getFila(), posicion.getColumna());
+    }
+
+    /**
+     * Dirección del siguiente paso por un camino más corto hasta la meta.
+     *
+     * @param posicion posición de partida
+     * @return dirección a seguir, o {@code null} si ya está en la meta o no la alcanza
+     */
+    public Direccion siguientePasoHacia(Posicion posicion) {
+        int d = pasosRestantes(posicion);
+        if (d <= 0) return null;
+        for (Direccion direccion : DIRECCIONES) {
+            Posicion vecina = posicion.mover(direccion);
+            if (distancia(vecina.getFila(), vecina.getColumna()) == d - 1) return direccion;
+        }
+        return null;
+    }
+
+    /**
+     * Repara el campo después de cambiar una celda del tablero.
+     *
+     * @param fila    fila de la celda modificada
+     * @param columna columna de la celda modificada
+     */
+    public void celdaCambiada(int fila, int columna) {
+        if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas) return;
+        int indice = fila * columnas + columna;
+        Celda celda = tablero.obtener(fila, columna);
+        if (indice == meta ? celda != Celda.META : celda == Celda.META) {
+            recalcular();
+            return;
+        }
+        boolean transitable = celda != Celda.PARED;
+        if (transitable && distancias[indice] < 0) {
+            abrir(indice);
+        } else if (!transitable && distancias[indice] >= 0) {
+            cerrar(indice);
+        }
+    }
+
+    /**
+     * Búsqueda en anchura completa desde la meta.
+     */
+    private void recalcular() {
+        Arrays.fill(distancias, -1);
+        meta = -1;
+        for (int i = 0; i < distancias.length && meta < 0; i++) {
+            if (tablero.obtener(i / columnas, i % columnas) == Celda.META) meta = i;
+        }
+        if (meta < 0) return;
+        distancias[meta] = 0;
+        int fin = encolar(0, meta);
+        propagar(0, fin);
+    }
+
+    /**
+     * Una celda abierta toma la mejor distancia de sus vecinas y la propaga a
+     * las que mejoran.
+     */
+    private void abrir(int indice) {
+        int mejor = -1;
+        for (int k = 0; k < 4; k++) {
+            int v = vecino(indice, k);
+            if (v >= 0 && distancias[v] >= 0 && (mejor < 0 || distancias[v] < mejor)) mejor = distancias[v];
+        }
+        if (mejor < 0) return;
+        distancias[indice] = mejor + 1;
+        int fin = encolar(0, indice);
+        propagar(0, fin);
+    }
+
+    /**
+     * Invalida las celdas que dependían de la celda cerrada y las recalcula
+     * desde las celdas válidas que las rodean.
+     */
+    private void cerrar(int indice) {
+        // Afectadas: celdas sin otra vecina válida a un paso menos. Se marcan
+        // con -2 - distancia para no reutilizarlas como apoyo; la cola sigue
+        // el orden de distancias, así que al revisar una celda ya están
+        // marcadas todas las afectadas de la distancia anterior
+        distancias[indice] = -2 - distancias[indice];
+        int fin = encolar(0, indice);
+        for (int cabeza = 0; cabeza < fin; cabeza++) {
+            int u = cola[cabeza];
+            int siguiente = -2 - distancias[u] + 1;
+            for (int k = 0; k < 4; k++) {
+                int v = vecino(u, k);
+                if (v >= 0 && distancias[v] == siguiente && !tieneApoyo(v)) {
+                    distancias[v] = -2 - distancias[v];
+                    fin = encolar(fin, v);
+                }
+            }
+        }
+        int afectadas = fin;
+        for (int i = 0; i < afectadas; i++) distancias[cola[i]] = -1;
+
+        // Bordes: mejor distancia válida de las vecinas de cada afectada
+        long[] semillas = new long[afectadas];
+        int numSemillas = 0;
+        for (int i = 0; i < afectadas; i++) {
+            int u = cola[i];
+            if (u == indice) continue;
+            int mejor = -1;
+            for (int k = 0; k < 4; k++) {
+                int v = vecino(u, k);
+                if (v >= 0 && distancias[v] >= 0 && (mejor < 0 || distancias[v] < mejor)) mejor = distancias[v];
+            }
+            if (mejor >= 0) semillas[numSemillas++] = (long) (mejor + 1) << 32 | u;
+        }
+        Arrays.sort(semillas, 0, numSemillas);
+
+        // Búsqueda en anchura mezclando las semillas en orden de distancia
+        int cabeza = 0;
+        fin = 0;
+        int s = 0;
+        while (cabeza < fin || s < numSemillas) {
+            int u;
+            if (s < numSemillas
+                    && (cabeza == fin || (int) (semillas[s] >>> 32) <= distancias[cola[cabeza]])) {
+                u = (int) semillas[s];
+                int d = (int) (semillas[s++] >>> 32);
+                if (distancias[u] >= 0 && distancias[u] <= d) continue;
+                distancias[u] = d;
+            } else {
+                u = cola[cabeza++];
+            }
+            int siguiente = distancias[u] + 1;
+            for (int k = 0; k < 4; k++) {
+                int v = vecino(u, k);
+                if (v >= 0 && (distancias[v] < 0 || distancias[v] > siguiente) && esTransitable(v)) {
+                    distancias[v] = siguiente;
+                    fin = encolar(fin, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indica si una celda tiene alguna vecina válida a un paso menos de la meta.
+     */
+    private boolean tieneApoyo(int celda) {
+        int objetivo = distancias[celda] - 1;
+        for (int k = 0; k < 4; k++) {
+            int v = vecino(celda, k);
+            if (v >= 0 && distancias[v] == objetivo) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Búsqueda en anchura a partir de las celdas de la cola, que solo
+     * actualiza celdas cuya distancia mejora.
+     */
+    private void propagar(int cabeza, int fin) {
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            int siguiente = distancias[u] + 1;
+            for (int k = 0; k < 4; k++) {
+                int v = vecino(u, k);
+                if (v >= 0 && (distancias[v] < 0 || distancias[v] > siguiente) && esTransitable(v)) {
+                    distancias[v] = siguiente;
+                    fin = encolar(fin, v);
+                }
+            }
+        }
+    }
+
+    private int encolar(int fin, int indice) {
+        if (fin == cola.length) cola = Arrays.copyOf(cola, fin * 2);
+        cola[fin] = indice;
+        return fin + 1;
+    }
+
+    /**
+     * Vecina {@code k} (arriba, abajo, izquierda, derecha) o -1 fuera del tablero.
+     */
+    private int vecino(int indice, int k) {
+        switch (k) {
+            case 0: return indice >= columnas ? indice - columnas : -1;
+            case 1: return indice + columnas < distancias.length ? indice + columnas : -1;
+            case 2: return indice % columnas > 0 ? indice - 1 : -1;
+            default: return indice % columnas + 1 < columnas ? indice + 1 : -1;
+        }
+    }
+
+    private boolean esTransitable(int indice) {
+        return tablero.esTransitable(indice / columnas, indice % columnas);
+    }
+}
@@ -0,0 +1,122 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link CampoPistas}.
+ *
+ * Verifica:
+ * - Distancias iguales a una búsqueda desde la meta
+ * - Las pistas llevan a la meta en exactamente los pasos restantes
+ * - La reparación incremental coincide con recalcular el campo
+ * - Integración con {@link Juego}
+ */
+public class CampoPistasTest {
+
+    /**
+     * Verifica que el campo coincide con un campo de distancias desde la meta.
+     */
+    @Test
+    public void distancias_desde_la_meta() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(31, 5, 2, 6L, new AlgoritmoWilson());
+        CampoPistas pistas = CampoPistas.calcular(mapa);
+        int meta = pistas.getMeta();
+        assertEquals(Celda.META, mapa.obtener(meta));
+        CampoDistancias desdeMeta = CampoDistancias.calcular(mapa, meta / 31, meta % 31);
+        for (int f = 0; f < 31; f++) {
+            for (int c = 0; c < 31; c++) {
+                assertEquals(desdeMeta.distancia(f, c), pistas.distancia(f, c));
+            }
+        }
+    }
+
+    /**
+     * Verifica que seguir las pistas llega a la meta en los pasos anunciados.
+     */
+    @Test
+    public void seguir_pistas_llega_a_la_meta() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(41, 5, 2, 2L,
+            new AlgoritmoTrenzado(new AlgoritmoPrim(), 0.5));
+        CampoPistas pistas = CampoPistas.calcular(mapa);
+        Posicion p = new Posicion(0, 0);
+        int restantes = pistas.pasosRestantes(p);
+        assertTrue(restantes > 0);
+        for (int paso = 0; paso < restantes; paso++) {
+            Direccion d = pistas.siguientePasoHacia(p);
+            assertNotNull(d);
+            p = p.mover(d);
+            assertTrue(mapa.esTransitable(p.getFila(), p.getColumna()));
+        }
+        assertEquals(Celda.META, mapa.obtener(p.getFila(), p.getColumna()));
+        assertNull(pistas.siguientePasoHacia(p));
+    }
+
+    /**
+     * Verifica que abrir y cerrar celdas al azar deja el mismo campo que
+     * recalcularlo desde cero.
+     */
+    @Test
+    public void reparacion_incremental() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(25, 3, 2, 9L, new AlgoritmoKruskal());
+        CampoPistas pistas = CampoPistas.calcular(mapa);
+        SplittableRandom random = new SplittableRandom(13L);
+        for (int k = 0; k < 400; k++) {
+            int f = random.nextInt(25);
+            int c = random.nextInt(25);
+            Celda actual = mapa.obtener(f, c);
+            if (actual == Celda.META || actual == Celda.INICIO) continue;
+            mapa.establecer(f, c, actual == Celda.PARED ? Celda.LIBRE : Celda.PARED);
+            pistas.celdaCambiada(f, c);
+
+            CampoPistas esperado = CampoPistas.calcular(mapa);
+            for (int i = 0; i < 25 * 25; i++) {
+                assertEquals("Cambio " + k + " en celda " + i,
+                             esperado.distancia(i / 25, i % 25), pistas.distancia(i / 25, i % 25));
+            }
+        }
+    }
+
+    /**
+     * Verifica que mover la meta recalcula el campo.
+     */
+    @Test
+    public void mover_la_meta() {
+        MapaCompacto mapa = new MapaCompacto(1, 5);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(0, 4, Celda.META);
+        CampoPistas pistas = CampoPistas.calcular(mapa);
+        assertEquals(4, pistas.distancia(0, 0));
+        mapa.establecer(0, 4, Celda.LIBRE);
+        mapa.establecer(0, 2, Celda.META);
+        pistas.celdaCambiada(0, 4);
+        assertEquals(2, pistas.distancia(0, 0));
+        assertEquals(Direccion.DERECHA, pistas.siguientePasoHacia(new Posicion(0, 0)));
+    }
+
+    /**
+     * Verifica las pistas y los pasos restantes a través del juego.
+     */
+    @Test
+    public void pistas_en_el_juego() {
+        MapaCompacto mapa = new MapaCompacto(3, 3);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(0, 0, Celda.INICIO);
+        mapa.establecer(2, 2, Celda.META);
+        Jugador jugador = new Jugador("Ana", "Basico");
+        jugador.setPosicion(new Posicion(0, 0));
+        Juego juego = new Juego(jugador, null, mapa);
+        assertEquals(4, juego.pasosRestantes());
+
+        // Cerrar el centro no alarga el camino; cerrar (0,1) y (1,0) lo corta
+        juego.cambiarCelda(1, 1, Celda.PARED);
+        assertEquals(4, juego.pasosRestantes());
+        juego.cambiarCelda(0, 1, Celda.PARED);
+        assertEquals(Direccion.ABAJO, juego.siguientePasoHacia(new Posicion(0, 0)));
+        juego.cambiarCelda(1, 0, Celda.PARED);
+        assertEquals(-1, juego.pasosRestantes());
+        assertNull(juego.siguientePasoHacia(new Posicion(0, 0)));
+    }
+}
@@ -0,0 +1,272 @@
+package modelos;
+
+import java.util.Arrays;
+
+/**
+ * Capa de bits de transitabilidad de un {@link MapaCompacto}.
+ *
+ * Guarda un bit por celda (1 = transitable, 0 = pared) en palabras de 64
+ * bits: cada fila ocupa {@link #getPalabrasPorFila()} palabras y la columna
+ * {@code c} es el bit {@code c & 63} de la palabra {@code c >>> 6}. Los bits
+ * sobrantes de la última palabra de cada fila son siempre 0.
+ *
+ * Permite responder en bloque, 64 celdas por operación, las consultas que
+ * solo distinguen "pared o no": conteo de celdas libres, máscaras de
+ * vecinos, detección de callejones y expansión de fronteras para rellenos
+ * y búsquedas en anchura. El {@link MapaCompacto} propietario la mantiene
+ * sincronizada en cada escritura.
+ */
+public class CapaTransitable {
+    private final int filas;
+    private final int columnas;
+    private final int palabrasPorFila;
+    private final long[] bits;
+
+    /**
+     * Crea una capa sin celdas transitables.
+     *
+     * @param filas    número de filas
+     * @param columnas número de columnas
+     */
+    public CapaTransitable(int filas, int columnas) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.palabrasPorFila = (columnas + 63) >>> 6;
+        this.bits = new long[Math.multiplyExact(filas, palabrasPorFila)];
+    }
+
+    /**
+     * Número de filas de la capa.
+     *
+     * @return filas
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Número de columnas de la capa.
+     *
+     * @return columnas
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Palabras de 64 bits que ocupa cada fila.
+     *
+     * @return palabras por fila
+     */
+    public int getPalabrasPorFila() {
+        return palabrasPorFila;
+    }
+
+    /**
+     * Número total de palabras de la capa.
+     *
+     * @return {@code filas * palabrasPorFila}
+     */
+    public int getPalabras() {
+        return bits.length;
+    }
+
+    /**
+     * Palabra de transitabilidad por su índice global.
+     *
+     * @param indicePalabra índice {@code fila * palabrasPorFila + columna / 64}
+     * @return bits de las 64 celdas de la palabra
+     */
+    public long palabra(int indicePalabra) {
+        return bits[indicePalabra];
+    }
+
+    /**
+     * Indica si una celda es transitable; fuera de los límites se considera pared.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return {@code true} si la celda existe y no es pared
+     */
+    public boolean esTransitable(int fila, int columna) {
+        if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas) return false;
+        return (bits[fila * palabrasPorFila + (columna >>> 6)] & (1L << columna)) != 0;
+    }
+
+    /**
+     * Cuenta las celdas transitables con popcount por palabra.
+     *
+     * @return número de celdas que no son pared
+     */
+    public int contarTransitables() {
+        int total = 0;
+        for (long palabra : bits) total += Long.bitCount(palabra);
+        return total;
+    }
+
+    /**
+     * Máscara de las celdas de una palabra cuyo vecino izquierdo es transitable.
+     *
+     * @param indicePalabra índice global de la palabra
+     * @return bits de las celdas con vecino transitable a la izquierda
+     */
+    public long vecinoIzquierdo(int indicePalabra) {
+        long acarreo = indicePalabra % palabrasPorFila != 0 ? bits[indicePalabra - 1] >>> 63 : 0;
+        return (bits[indicePalabra] << 1) | acarreo;
+    }
+
+    /**
+     * Máscara de las celdas de una palabra cuyo vecino derecho es transitable.
+     *
+     * @param indicePalabra índice global de la palabra
+     * @return bits de las celdas con vecino transitable a la derecha
+     */
+    public long vecinoDerecho(int indicePalabra) {
+        long acarreo = (indicePalabra + 1) % palabrasPorFila != 0 ? bits[indicePalabra + 1] << 63 : 0;
+        return (bits[indicePalabra] >>> 1) | acarreo;
+    }
+
+    /**
+     * Máscara de las celdas de una palabra cuyo vecino superior es transitable.
+     *
+     * @param indicePalabra índice global de la palabra
+     * @return bits de las celdas con vecino transitable arriba
+     */
+    public long vecinoArriba(int indicePalabra) {
+        return indicePalabra >= palabrasPorFila ? bits[indicePalabra - palabrasPorFila] : 0;
+    }
+
+    /**
+     * Máscara de las celdas de una palabra cuyo vecino inferior es transitable.
+     *
+     * @param indicePalabra índice global de la palabra
+     * @return bits de las celdas con vecino transitable abajo
+     */
+    public long vecinoAbajo(int indicePalabra) {
+        int abajo = indicePalabra + palabrasPorFila;
+        return abajo < bits.length ? bits[abajo] : 0;
+    }
+
+    /**
+     * Celdas transitables de una palabra con exactamente un vecino transitable.
+     *
+     * Suma en paralelo las cuatro máscaras de vecinos con un sumador por bits:
+     * un bit de paridad impar sin acarreo significa exactamente un vecino.
+     *
+     * @param indicePalabra índice global de la palabra
+     * @return bits de los callejones sin salida de la palabra
+     */
+    public long callejones(int indicePalabra) {
+        long a = vecinoIzquierdo(indicePalabra);
+        long b = vecinoDerecho(indicePalabra);
+        long c = vecinoArriba(indicePalabra);
+        long d = vecinoAbajo(indicePalabra);
+        long s1 = a ^ b;
+        long s2 = c ^ d;
+        long impar = s1 ^ s2;
+        long dosOMas = (a & b) | (c & d) | (s1 & s2);
+        return bits[indicePalabra] & impar & ~dosOMas;
+    }
+
+    /**
+     * Cuenta los callejones sin salida de toda la capa.
+     *
+     * @return celdas transitables con un único vecino transitable
+     */
+    public int contarCallejones() {
+        int total = 0;
+        for (int w = 0; w < bits.length; w++) total += Long.bitCount(callejones(w));
+        return total;
+    }
+
+    /**
+     * Expande un conjunto de celdas un paso en las cuatro direcciones.
+     *
+     * Calcula {@code destino = (origen ∪ vecinos(origen)) ∩ transitables}
+     * desplazando y enmascarando palabras completas. Ambos arreglos deben
+     * tener {@link #getPalabras()} elementos y no pueden ser el mismo.
+     *
+     * @param origen  conjunto de celdas de partida
+     * @param destino arreglo donde se escribe el conjunto expandido
+     */
+    public void expandir(long[] origen, long[] destino) {
+        for (int w = 0; w < bits.length; w++) {
+            int columnaPalabra = w % palabrasPorFila;
+            long x = origen[w];
+            long expandido = x | (x << 1) | (x >>> 1);
+            if (columnaPalabra > 0) expandido |= origen[w - 1] >>> 63;
+            if (columnaPalabra + 1 < palabrasPorFila) expandido |= origen[w + 1] << 63;
+            if (w >= palabrasPorFila) expandido |= origen[w - palabrasPorFila];
+            if (w + palabrasPorFila < bits.length) expandido |= origen[w + palabrasPorFila];
+            destino[w] = expandido & bits[w];
+        }
+    }
+
+    /**
+     * Indica si una celda pertenece a un conjunto con el formato de la capa.
+     *
+     * @param conjunto arreglo de {@link #getPalabras()} palabras
+     * @param fila     fila de la celda
+     * @param columna  columna de la celda
+     * @return true si la celda está dentro del mapa y su bit está activo
+     */
+    public boolean contiene(long[] conjunto, int fila, int columna) {
+        if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas) return false;
+        return (conjunto[fila * palabrasPorFila + (columna >>> 6)] & (1L << columna)) != 0;
+    }
+
+    /**
+     * Crea un conjunto de celdas vacío del tamaño de la capa.
+     *
+     * @return arreglo de {@link #getPalabras()} palabras a cero
+     */
+    public long[] conjuntoVacio() {
+        return new long[bits.length];
+    }
+
+    void asignar(int fila, int columna, boolean transitable) {
+        int w = fila * palabrasPorFila + (columna >>> 6);
+        if (transitable) {
+            bits[w] |= 1L << columna;
+        } else {
+            bits[w] &= ~(1L << columna);
+        }
+    }
+
+    void rellenar(boolean transitable) {
+        Arrays.fill(bits, 0L);
+        if (!transitable || columnas == 0) return;
+        int resto = columnas & 63;
+        long ultima = resto == 0 ? -1L : (1L << resto) - 1;
+        for (int f = 0; f < filas; f++) {
+            int base = f * palabrasPorFila;
+            for (int w = 0; w < palabrasPorFila - 1; w++) bits[base + w] = -1L;
+            bits[base + palabrasPorFila - 1] = ultima;
+        }
+    }
+
+    /**
+     * Reconstruye la capa a partir de los códigos de celda de un mapa
+     * ({@code 0} = pared), fila a fila y una palabra por cada 64 columnas.
+     */
+    void reconstruir(byte[] codigos) {
+        int i = 0;
+        for (int f = 0; f < filas; f++) {
+            int base = f * palabrasPorFila;
+            for (int w = 0; w < palabrasPorFila; w++) {
+                int limite = Math.min(64, columnas - (w << 6));
+                long palabra = 0;
+                for (int b = 0; b < limite; b++) {
+                    // Sin saltos: los códigos son positivos, así que -código
+                    // es negativo (bit de signo a 1) justo cuando no es pared
+                    palabra |= (long) (-codigos[i++] >>> 31) << b;
+                }
+                bits[base + w] = palabra;
+            }
+        }
+    }
+
+    void copiarDe(CapaTransitable otra) {
+        System.arraycopy(otra.bits, 0, bits, 0, bits.length);
+    }
+}
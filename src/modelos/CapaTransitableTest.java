@@ -0,0 +1,120 @@
+package modelos;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link CapaTransitable}.
+ *
+ * Compara las operaciones por palabras con un cálculo celda a celda sobre un
+ * laberinto cuyo ancho no es múltiplo de 64, y verifica que la capa se
+ * mantiene sincronizada con su {@link MapaCompacto}.
+ */
+public class CapaTransitableTest {
+
+    private MapaCompacto mapa;
+    private CapaTransitable capa;
+
+    @Before
+    public void setUp() {
+        mapa = GeneradorLaberinto.generarMapaCompacto(131, 40, 20, 21L, new AlgoritmoPrim());
+        capa = mapa.getCapaTransitable();
+    }
+
+    /**
+     * Verifica que cada bit coincide con la celda correspondiente.
+     */
+    @Test
+    public void bits_coinciden_con_celdas() {
+        for (int r = 0; r < mapa.getFilas(); r++) {
+            for (int c = 0; c < mapa.getColumnas(); c++) {
+                assertEquals(mapa.obtener(r, c) != Celda.PARED, capa.esTransitable(r, c));
+            }
+        }
+        assertFalse(capa.esTransitable(-1, 0));
+        assertFalse(capa.esTransitable(0, mapa.getColumnas()));
+    }
+
+    /**
+     * Verifica el conteo de celdas transitables por popcount.
+     */
+    @Test
+    public void contar_transitables_coincide() {
+        int esperado = 0;
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            if (mapa.esTransitable(i)) esperado++;
+        }
+        assertEquals(esperado, capa.contarTransitables());
+    }
+
+    /**
+     * Verifica la detección de callejones sin salida por palabras.
+     */
+    @Test
+    public void contar_callejones_coincide() {
+        int esperado = 0;
+        for (int r = 0; r < mapa.getFilas(); r++) {
+            for (int c = 0; c < mapa.getColumnas(); c++) {
+                if (!mapa.esTransitable(r, c)) continue;
+                int vecinos = 0;
+                if (mapa.esTransitable(r - 1, c)) vecinos++;
+                if (mapa.esTransitable(r + 1, c)) vecinos++;
+                if (mapa.esTransitable(r, c - 1)) vecinos++;
+                if (mapa.esTransitable(r, c + 1)) vecinos++;
+                if (vecinos == 1) esperado++;
+            }
+        }
+        assertTrue(esperado > 0);
+        assertEquals(esperado, capa.contarCallejones());
+    }
+
+    /**
+     * Verifica que expandir un conjunto equivale a sumarle sus vecinos transitables.
+     */
+    @Test
+    public void expandir_coincide_con_vecinos() {
+        long[] origen = capa.conjuntoVacio();
+        int ppf = capa.getPalabrasPorFila();
+        // Semillas en bordes de palabra y de fila
+        int[][] semillas = {{0, 0}, {10, 63}, {10, 64}, {50, 127}, {130, 130}};
+        for (int[] s : semillas) {
+            origen[s[0] * ppf + (s[1] >>> 6)] |= 1L << s[1];
+        }
+        long[] destino = capa.conjuntoVacio();
+        capa.expandir(origen, destino);
+
+        for (int r = 0; r < mapa.getFilas(); r++) {
+            for (int c = 0; c < mapa.getColumnas(); c++) {
+                boolean esperado = false;
+                for (int[] s : semillas) {
+                    int distancia = Math.abs(s[0] - r) + Math.abs(s[1] - c);
+                    if (distancia <= 1) esperado = true;
+                }
+                esperado &= mapa.esTransitable(r, c);
+                boolean obtenido = (destino[r * ppf + (c >>> 6)] & (1L << c)) != 0;
+                assertEquals("Celda (" + r + "," + c + ")", esperado, obtenido);
+            }
+        }
+    }
+
+    /**
+     * Verifica que la capa sigue al mapa al escribir, rellenar y copiar.
+     */
+    @Test
+    public void capa_sincronizada_con_el_mapa() {
+        MapaCompacto m = new MapaCompacto(3, 70);
+        m.establecer(1, 65, Celda.DATO);
+        assertTrue(m.getCapaTransitable().esTransitable(1, 65));
+        m.establecer(1, 65, Celda.PARED);
+        assertFalse(m.getCapaTransitable().esTransitable(1, 65));
+
+        m.rellenar(Celda.LIBRE);
+        assertEquals(3 * 70, m.getCapaTransitable().contarTransitables());
+
+        MapaCompacto copia = m.copia();
+        copia.establecer(0, 0, Celda.PARED);
+        assertEquals(3 * 70 - 1, copia.getCapaTransitable().contarTransitables());
+        assertEquals(3 * 70, m.getCapaTransitable().contarTransitables());
+    }
+}
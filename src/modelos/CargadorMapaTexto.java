@@ -0,0 +1,254 @@
+package modelos;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Cargador de mapas escritos a mano en un archivo de texto.
+ *
+ * Cada línea es una fila del mapa y cada carácter una celda:
+ * <pre>
+ *   #  pared        .  libre
+ *   S  inicio       M  meta
+ *   ?  pregunta     !  dato curioso
+ * </pre>
+ * Todas las filas deben tener el mismo ancho, el inicio debe estar en la
+ * primera celda (donde aparece el jugador) y debe haber exactamente una meta.
+ * Se aceptan finales de línea {@code \n} y {@code \r\n}, una marca BOM de
+ * UTF-8 al comienzo y líneas vacías al final del archivo.
+ *
+ * El texto se recorre una sola vez, carácter a carácter, escribiendo los
+ * códigos de celda directamente en el arreglo del {@link MapaCompacto}.
+ * Cualquier problema se informa con un {@link ErrorFormatoMapa} que indica
+ * línea y columna, incluida una meta o pregunta que no se pueda alcanzar
+ * desde el inicio (comprobado con {@link VerificadorAlcance}).
+ */
+public final class CargadorMapaTexto {
+
+    private static final int TAMAÑO_BLOQUE = 1 << 16;
+
+    // Código de celda de cada carácter ASCII, o -1 si no es válido
+    private static final byte[] CODIGOS = new byte[128];
+
+    static {
+        Arrays.fill(CODIGOS, (byte) -1);
+        CODIGOS['#'] = (byte) Celda.PARED.ordinal();
+        CODIGOS['.'] = (byte) Celda.LIBRE.ordinal();
+        CODIGOS['S'] = (byte) Celda.INICIO.ordinal();
+        CODIGOS['M'] = (byte) Celda.META.ordinal();
+        CODIGOS['?'] = (byte) Celda.PREGUNTA.ordinal();
+        CODIGOS['!'] = (byte) Celda.DATO.ordinal();
+    }
+
+    private CargadorMapaTexto() {
+    }
+
+    /**
+     * Carga un mapa de texto proyectando el archivo en memoria.
+     *
+     * @param ruta archivo de texto ASCII o UTF-8
+     * @return mapa cargado y verificado
+     * @throws ErrorFormatoMapa si el contenido no es un mapa válido
+     * @throws IOException      si no se puede leer el archivo
+     */
+    public static MapaCompacto cargar(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return leer(datos);
+        }
+    }
+
+    /**
+     * Lee un mapa de texto desde los bytes restantes de un buffer.
+     *
+     * @param datos texto ASCII o UTF-8
+     * @return mapa cargado y verificado
+     * @throws ErrorFormatoMapa si el contenido no es un mapa válido
+     */
+    public static MapaCompacto leer(ByteBuffer datos) throws ErrorFormatoMapa {
+        Analizador analizador = new Analizador(datos.remaining());
+        int posicion = datos.position();
+        int limite = datos.limit();
+        if (limite - posicion >= 3 && datos.get(posicion) == (byte) 0xEF
+                && datos.get(posicion + 1) == (byte) 0xBB && datos.get(posicion + 2) == (byte) 0xBF) {
+            posicion += 3;
+        }
+        // Se copia por bloques para no pagar una lectura del buffer por byte
+        byte[] bloque = new byte[TAMAÑO_BLOQUE];
+        while (posicion < limite) {
+            int leidos = Math.min(bloque.length, limite - posicion);
+            datos.get(posicion, bloque, 0, leidos);
+            posicion += leidos;
+            for (int i = 0; i < leidos; i++) {
+                // Los bytes no ASCII nunca son celdas válidas
+                analizador.procesar(bloque[i] & 0xFF);
+            }
+        }
+        return analizador.terminar();
+    }
+
+    /**
+     * Lee un mapa de texto desde un lector.
+     *
+     * @param lector texto del mapa
+     * @return mapa cargado y verificado
+     * @throws ErrorFormatoMapa si el contenido no es un mapa válido
+     * @throws IOException      si falla la lectura
+     */
+    public static MapaCompacto leer(BufferedReader lector) throws IOException {
+        Analizador analizador = new Analizador(-1);
+        char[] bloque = new char[TAMAÑO_BLOQUE];
+        boolean primero = true;
+        int leidos;
+        while ((leidos = lector.read(bloque)) > 0) {
+            int desde = 0;
+            if (primero && bloque[0] == '\uFEFF') desde = 1;
+            primero = false;
+            for (int i = desde; i < leidos; i++) analizador.procesar(bloque[i]);
+        }
+        return analizador.terminar();
+    }
+
+    /**
+     * Máquina de estados que consume el texto carácter a carácter.
+     */
+    private static final class Analizador {
+        private static final byte CODIGO_INICIO = (byte) Celda.INICIO.ordinal();
+        private static final byte CODIGO_META = (byte) Celda.META.ordinal();
+        private static final byte CODIGO_PREGUNTA = (byte) Celda.PREGUNTA.ordinal();
+
+        // Bytes totales de la entrada si se conocen, para dimensionar el arreglo
+        private final long bytesEntrada;
+        private byte[] codigos = new byte[1024];
+        private int celdas;
+        private int columnas = -1;
+        private int filas;
+        private int linea = 1;
+        private int columna;
+        private boolean retornoCarro;
+        private int lineaVacia;
+        private int metas;
+        private int inicios;
+
+        Analizador(long bytesEntrada) {
+            this.bytesEntrada = bytesEntrada;
+        }
+
+        void procesar(int ch) throws ErrorFormatoMapa {
+            if (retornoCarro) {
+                if (ch != '\n') throw new ErrorFormatoMapa(linea, columna + 1, "retorno de carro sin salto de línea");
+                retornoCarro = false;
+                finDeLinea();
+                return;
+            }
+            if (ch == '\n') {
+                finDeLinea();
+                return;
+            }
+            if (ch == '\r') {
+                retornoCarro = true;
+                return;
+            }
+            if (lineaVacia > 0) {
+                throw new ErrorFormatoMapa(lineaVacia, 1, "línea vacía en medio del mapa");
+            }
+            byte codigo = ch < 128 ? CODIGOS[ch] : -1;
+            if (codigo < 0) {
+                String mostrado = ch >= 128 ? "no ASCII"
+                                : ch >= 32 ? "'" + (char) ch + "'" : String.format("de control 0x%02X", ch);
+                throw new ErrorFormatoMapa(linea, columna + 1, "carácter " + mostrado + " no válido");
+            }
+            if (columnas >= 0 && columna == columnas) {
+                throw new ErrorFormatoMapa(linea, columna + 1,
+                    "la fila es más larga que la primera (" + columnas + " columnas)");
+            }
+            if (codigo == CODIGO_INICIO) {
+                if (filas != 0 || columna != 0) {
+                    throw new ErrorFormatoMapa(linea, columna + 1,
+                        "el inicio 'S' debe estar en la primera celda del mapa");
+                }
+                inicios++;
+            } else if (codigo == CODIGO_META && ++metas > 1) {
+                throw new ErrorFormatoMapa(linea, columna + 1, "el mapa tiene más de una meta 'M'");
+            }
+            if (celdas == codigos.length) crecer();
+            codigos[celdas++] = codigo;
+            columna++;
+        }
+
+        private void finDeLinea() throws ErrorFormatoMapa {
+            if (columna == 0) {
+                // Solo se admiten líneas vacías al final: se recuerda la primera
+                if (lineaVacia == 0) lineaVacia = linea;
+            } else {
+                if (columnas < 0) {
+                    columnas = columna;
+                    reservar();
+                } else if (columna != columnas) {
+                    throw new ErrorFormatoMapa(linea, columna + 1,
+                        "la fila tiene " + columna + " columnas y la primera " + columnas);
+                }
+                filas++;
+            }
+            linea++;
+            columna = 0;
+        }
+
+        /**
+         * Con el ancho ya conocido, reserva de una vez el arreglo para todas
+         * las filas que caben en la entrada (exacto con finales {@code \n}).
+         */
+        private void reservar() {
+            if (bytesEntrada < 0) return;
+            long filasEstimadas = (bytesEntrada + columnas) / (columnas + 1);
+            long capacidad = filasEstimadas * columnas;
+            if (capacidad > codigos.length && capacidad <= Integer.MAX_VALUE - 8) {
+                codigos = Arrays.copyOf(codigos, (int) capacidad);
+            }
+        }
+
+        private void crecer() throws ErrorFormatoMapa {
+            if (codigos.length >= Integer.MAX_VALUE - 8) {
+                throw new ErrorFormatoMapa(linea, columna + 1, "el mapa es demasiado grande");
+            }
+            codigos = Arrays.copyOf(codigos, (int) Math.min(Integer.MAX_VALUE - 8, 2L * codigos.length));
+        }
+
+        MapaCompacto terminar() throws ErrorFormatoMapa {
+            if (retornoCarro || columna > 0) {
+                retornoCarro = false;
+                finDeLinea();
+            }
+            if (filas == 0) throw new ErrorFormatoMapa(1, 1, "el mapa está vacío");
+            if (inicios == 0) throw new ErrorFormatoMapa(1, 1, "falta el inicio 'S' en la primera celda");
+            if (metas == 0) throw new ErrorFormatoMapa(filas, 1, "falta la meta 'M'");
+
+            byte[] exactos = celdas == codigos.length ? codigos : Arrays.copyOf(codigos, celdas);
+            MapaCompacto mapa = MapaCompacto.desdeCodigos(filas, columnas, exactos);
+            verificarAlcance(mapa, exactos);
+            return mapa;
+        }
+
+        private static void verificarAlcance(MapaCompacto mapa, byte[] codigos) throws ErrorFormatoMapa {
+            long[] alcance = VerificadorAlcance.alcanzables(mapa, 0, 0);
+            CapaTransitable capa = mapa.getCapaTransitable();
+            int columnas = mapa.getColumnas();
+            for (int i = 0; i < codigos.length; i++) {
+                byte codigo = codigos[i];
+                if (codigo != CODIGO_META && codigo != CODIGO_PREGUNTA) continue;
+                int r = i / columnas;
+                int c = i % columnas;
+                if (!capa.contiene(alcance, r, c)) {
+                    String nombre = codigo == CODIGO_META ? "la meta 'M'" : "la pregunta '?'";
+                    throw new ErrorFormatoMapa(r + 1, c + 1, nombre + " no es alcanzable desde el inicio");
+                }
+            }
+        }
+    }
+}
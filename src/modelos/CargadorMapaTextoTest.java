@@ -0,0 +1,153 @@
+package modelos;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Pruebas unitarias para la clase {@link CargadorMapaTexto}.
+ *
+ * Verifica:
+ * - Lectura de todos los símbolos desde buffer, lector y archivo
+ * - Finales de línea, BOM y líneas vacías al final
+ * - Errores con línea y columna
+ * - Comprobación de alcance de meta y preguntas
+ */
+public class CargadorMapaTextoTest {
+
+    private static final String MAPA =
+        "S.#?\n" +
+        "#.#.\n" +
+        "!...\n" +
+        "##.M\n";
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /**
+     * Verifica que cada símbolo se traduce a su celda.
+     */
+    @Test
+    public void leer_todos_los_simbolos() throws IOException {
+        MapaCompacto mapa = leerTexto(MAPA);
+        assertEquals(4, mapa.getFilas());
+        assertEquals(4, mapa.getColumnas());
+        assertEquals(Celda.INICIO, mapa.obtener(0, 0));
+        assertEquals(Celda.LIBRE, mapa.obtener(0, 1));
+        assertEquals(Celda.PARED, mapa.obtener(0, 2));
+        assertEquals(Celda.PREGUNTA, mapa.obtener(0, 3));
+        assertEquals(Celda.DATO, mapa.obtener(2, 0));
+        assertEquals(Celda.META, mapa.obtener(3, 3));
+        assertTrue(mapa.getCapaTransitable().esTransitable(2, 3));
+        assertFalse(mapa.getCapaTransitable().esTransitable(3, 0));
+    }
+
+    /**
+     * Verifica que el lector y el buffer producen el mismo mapa.
+     */
+    @Test
+    public void lector_y_buffer_coinciden() throws IOException {
+        MapaCompacto desdeLector = CargadorMapaTexto.leer(new BufferedReader(new StringReader(MAPA)));
+        assertEquals(leerTexto(MAPA), desdeLector);
+    }
+
+    /**
+     * Verifica CRLF, BOM, ausencia de salto final y líneas vacías al final.
+     */
+    @Test
+    public void finales_de_linea_y_bom() throws IOException {
+        MapaCompacto esperado = leerTexto(MAPA);
+        assertEquals(esperado, leerTexto(MAPA.replace("\n", "\r\n")));
+        assertEquals(esperado, leerTexto("\uFEFF" + MAPA));
+        assertEquals(esperado, leerTexto(MAPA.substring(0, MAPA.length() - 1)));
+        assertEquals(esperado, leerTexto(MAPA + "\n\n"));
+        assertEquals(esperado, CargadorMapaTexto.leer(new BufferedReader(new StringReader("\uFEFF" + MAPA))));
+    }
+
+    /**
+     * Verifica la carga desde archivo de un mapa generado convertido a texto.
+     */
+    @Test
+    public void cargar_archivo_generado() throws IOException {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(101, 30, 10, 6L, new AlgoritmoWilson());
+        Path ruta = carpeta.newFile("laberinto.txt").toPath();
+        Files.write(ruta, aTexto(mapa).getBytes(StandardCharsets.US_ASCII));
+        assertEquals(mapa, CargadorMapaTexto.cargar(ruta));
+    }
+
+    /**
+     * Verifica la posición informada para un carácter no válido.
+     */
+    @Test
+    public void caracter_invalido_informa_posicion() {
+        comprobarError("S..\n.x.\n..M\n", 2, 2);
+        comprobarError("S..\n.ñ.\n..M\n", 2, 2);
+    }
+
+    /**
+     * Verifica la posición informada para filas de distinto ancho.
+     */
+    @Test
+    public void filas_desiguales_informan_posicion() {
+        comprobarError("S..\n..\n..M\n", 2, 3);
+        comprobarError("S..\n....\n..M\n", 2, 4);
+    }
+
+    /**
+     * Verifica los errores de inicio, meta y líneas vacías intermedias.
+     */
+    @Test
+    public void errores_de_estructura() {
+        comprobarError(".S.\n..M\n", 1, 2);
+        comprobarError("...\n..M\n", 1, 1);
+        comprobarError("S..\n...\n", 2, 1);
+        comprobarError("S.M\nM..\n", 2, 1);
+        comprobarError("S..\n\n..M\n", 2, 1);
+        comprobarError("", 1, 1);
+        comprobarError("S.\r.M\n", 1, 3);
+    }
+
+    /**
+     * Verifica que una meta o pregunta aislada se informa en su posición.
+     */
+    @Test
+    public void elementos_inalcanzables_informan_posicion() {
+        comprobarError("S#M\n.#.\n", 1, 3);
+        comprobarError("S#?\n.#.\n..M\n".replace("..M", "#.M"), 1, 3);
+    }
+
+    private static void comprobarError(String texto, int linea, int columna) {
+        try {
+            leerTexto(texto);
+            fail("Se esperaba un error de formato en: " + texto);
+        } catch (ErrorFormatoMapa e) {
+            assertEquals(e.getMessage(), linea, e.getLinea());
+            assertEquals(e.getMessage(), columna, e.getColumna());
+        }
+    }
+
+    private static MapaCompacto leerTexto(String texto) throws ErrorFormatoMapa {
+        return CargadorMapaTexto.leer(ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String aTexto(MapaCompacto mapa) {
+        String simbolos = "#.SM?!";
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < mapa.getFilas(); r++) {
+            for (int c = 0; c < mapa.getColumnas(); c++) {
+                sb.append(simbolos.charAt(mapa.obtener(r, c).ordinal()));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package modelos;
+
+import java.io.IOException;
+
+/**
+ * Error en el contenido de un mapa de texto, con la línea y la columna
+ * (ambas desde 1) en que se detectó.
+ */
+public class ErrorFormatoMapa extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int linea;
+    private final int columna;
+
+    /**
+     * Crea el error con su posición en el texto.
+     *
+     * @param linea   línea del error (desde 1)
+     * @param columna columna del error (desde 1)
+     * @param detalle descripción del problema
+     */
+    public ErrorFormatoMapa(int linea, int columna, String detalle) {
+        super("Línea " + linea + ", columna " + columna + ": " + detalle);
+        this.linea = linea;
+        this.columna = columna;
+    }
+
+    /**
+     * Línea en que se detectó el error.
+     *
+     * @return línea, desde 1
+     */
+    public int getLinea() {
+        return linea;
+    }
+
+    /**
+     * Columna en que se detectó el error.
+     *
+     * @return columna, desde 1
+     */
+    public int getColumna() {
+        return columna;
+    }
+}
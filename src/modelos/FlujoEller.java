@@ -0,0 +1,186 @@
+package modelos;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de laberintos en flujo basado en el algoritmo de Eller.
+ *
+ * Entrega el laberinto fila a fila como arreglos de {@link Celda} (solo
+ * {@link Celda#PARED} y {@link Celda#LIBRE}), sin mantener nunca el mapa
+ * completo en memoria: el estado interno es proporcional al ancho (un
+ * union-find sobre las posiciones de la fila de nodos actual). Sirve para
+ * laberintos muy altos o sin fin, y cada consumidor (renderizado, escritura
+ * a archivo, resolución) puede procesar las filas a medida que llegan.
+ *
+ * Las filas siguen la misma rejilla de nodos que {@link AlgoritmoLaberinto}:
+ * las filas pares contienen nodos y pasos horizontales, y las impares los
+ * pasos verticales hacia la fila siguiente. Cada llamada a {@link #next()}
+ * devuelve un arreglo nuevo que el consumidor puede conservar.
+ */
+public class FlujoEller implements Iterator<Celda[]> {
+    private final int columnas;
+    private final int filas; // -1 si el flujo no tiene fin
+    private final int nodosColumna;
+    private final SplittableRandom random;
+
+    private int[] padre;
+    private int[] nuevoPadre;
+    private final boolean[] baja;
+    private final boolean[] conBajada;
+    private final int[] miembros;
+    private final int[] elegido;
+    private final int[] representante;
+
+    private int filaSiguiente;
+    private Celda[] conectorPendiente;
+
+    /**
+     * Crea un flujo finito de filas.
+     *
+     * @param columnas ancho del laberinto en celdas
+     * @param filas    alto del laberinto en celdas
+     * @param semilla  semilla de 64 bits del generador aleatorio
+     */
+    public FlujoEller(int columnas, int filas, long semilla) {
+        this(columnas, filas, new SplittableRandom(semilla));
+        if (filas <= 0) throw new IllegalArgumentException("El número de filas debe ser positivo");
+    }
+
+    /**
+     * Crea un flujo sin fin de filas.
+     *
+     * @param columnas ancho del laberinto en celdas
+     * @param semilla  semilla de 64 bits del generador aleatorio
+     */
+    public FlujoEller(int columnas, long semilla) {
+        this(columnas, -1, new SplittableRandom(semilla));
+    }
+
+    FlujoEller(int columnas, int filas, SplittableRandom random) {
+        if (columnas <= 0) throw new IllegalArgumentException("El número de columnas debe ser positivo");
+        this.columnas = columnas;
+        this.filas = filas;
+        this.nodosColumna = (columnas + 1) / 2;
+        this.random = random;
+        this.padre = new int[nodosColumna];
+        this.nuevoPadre = new int[nodosColumna];
+        this.baja = new boolean[nodosColumna];
+        this.conBajada = new boolean[nodosColumna];
+        this.miembros = new int[nodosColumna];
+        this.elegido = new int[nodosColumna];
+        this.representante = new int[nodosColumna];
+        for (int j = 0; j < nodosColumna; j++) padre[j] = j;
+    }
+
+    /**
+     * Ancho de cada fila entregada.
+     *
+     * @return número de columnas en celdas
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Indica si el flujo es infinito.
+     *
+     * @return {@code true} si el flujo no tiene fin
+     */
+    public boolean esInfinito() {
+        return filas < 0;
+    }
+
+    /**
+     * Índice de la próxima fila que entregará {@link #next()}.
+     *
+     * @return número de filas ya entregadas
+     */
+    public int getFilaSiguiente() {
+        return filaSiguiente;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return filas < 0 || filaSiguiente < filas;
+    }
+
+    @Override
+    public Celda[] next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Celda[] fila;
+        if (conectorPendiente != null) {
+            fila = conectorPendiente;
+            conectorPendiente = null;
+        } else {
+            fila = generarFilaNodos();
+        }
+        filaSiguiente++;
+        return fila;
+    }
+
+    /**
+     * Genera la fila de nodos actual y deja preparada la fila de conectores
+     * que la sigue.
+     */
+    private Celda[] generarFilaNodos() {
+        Celda[] fila = new Celda[columnas];
+        Arrays.fill(fila, Celda.PARED);
+        for (int j = 0; j < nodosColumna; j++) fila[2 * j] = Celda.LIBRE;
+
+        // La última fila de nodos debe unir todos los conjuntos restantes
+        boolean ultima = filas >= 0 && filaSiguiente + 2 >= filas;
+
+        // Uniones horizontales aleatorias
+        for (int j = 0; j + 1 < nodosColumna; j++) {
+            int a = RejillaNodos.raiz(padre, j);
+            int b = RejillaNodos.raiz(padre, j + 1);
+            if (a != b && (ultima || random.nextBoolean())) {
+                padre[b] = a;
+                fila[2 * j + 1] = Celda.LIBRE;
+            }
+        }
+
+        if (filaSiguiente + 1 >= filas && filas >= 0) return fila;
+
+        Celda[] conector = new Celda[columnas];
+        Arrays.fill(conector, Celda.PARED);
+        conectorPendiente = conector;
+        if (ultima) return fila;
+
+        // Bajadas aleatorias, con al menos una por conjunto
+        for (int j = 0; j < nodosColumna; j++) {
+            conBajada[j] = false;
+            miembros[j] = 0;
+        }
+        for (int j = 0; j < nodosColumna; j++) {
+            int r = RejillaNodos.raiz(padre, j);
+            baja[j] = random.nextBoolean();
+            conBajada[r] |= baja[j];
+            // Muestreo de reservorio del miembro que bajará si nadie lo hace
+            if (random.nextInt(++miembros[r]) == 0) elegido[r] = j;
+        }
+        for (int j = 0; j < nodosColumna; j++) {
+            if (RejillaNodos.raiz(padre, j) == j && !conBajada[j]) baja[elegido[j]] = true;
+        }
+
+        // Abrir bajadas y preparar los conjuntos de la fila siguiente
+        for (int j = 0; j < nodosColumna; j++) representante[j] = -1;
+        for (int j = 0; j < nodosColumna; j++) {
+            if (baja[j]) {
+                conector[2 * j] = Celda.LIBRE;
+                int r = RejillaNodos.raiz(padre, j);
+                if (representante[r] < 0) representante[r] = j;
+                nuevoPadre[j] = representante[r];
+            } else {
+                nuevoPadre[j] = j;
+            }
+        }
+        int[] t = padre;
+        padre = nuevoPadre;
+        nuevoPadre = t;
+        return fila;
+    }
+}
@@ -0,0 +1,83 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link FlujoEller}.
+ *
+ * Verifica:
+ * - Número y ancho de las filas entregadas
+ * - Laberinto perfecto y conectado al ensamblar un flujo finito
+ * - Flujos sin fin y reproducibilidad por semilla
+ */
+public class FlujoEllerTest {
+
+    /**
+     * Verifica que un flujo finito entrega exactamente las filas pedidas.
+     */
+    @Test
+    public void flujo_finito_entrega_todas_las_filas() {
+        FlujoEller flujo = new FlujoEller(15, 9, 3L);
+        int filas = 0;
+        while (flujo.hasNext()) {
+            assertEquals("Cada fila debe tener el ancho pedido", 15, flujo.next().length);
+            filas++;
+        }
+        assertEquals(9, filas);
+    }
+
+    /**
+     * Verifica que el flujo ensamblado es un laberinto perfecto y conectado,
+     * con alto par e impar.
+     */
+    @Test
+    public void flujo_finito_es_laberinto_perfecto() {
+        for (int alto : new int[]{1, 2, 17, 40}) {
+            FlujoEller flujo = new FlujoEller(21, alto, 11L);
+            Celda[][] mapa = new Celda[alto][];
+            for (int r = 0; r < alto; r++) mapa[r] = flujo.next();
+            int nodos = ((alto + 1) / 2) * 11;
+            assertEquals("Alto " + alto + ": debe ser un árbol",
+                         2 * nodos - 1, GeneradorLaberintoTest.contarTransitables(mapa));
+            assertEquals("Alto " + alto + ": debe estar conectado",
+                         GeneradorLaberintoTest.contarTransitables(mapa),
+                         GeneradorLaberintoTest.contarAlcanzables(mapa));
+        }
+    }
+
+    /**
+     * Verifica que un flujo sin fin sigue entregando filas.
+     */
+    @Test
+    public void flujo_infinito_no_termina() {
+        FlujoEller flujo = new FlujoEller(64, 5L);
+        assertTrue(flujo.esInfinito());
+        for (int r = 0; r < 10000; r++) {
+            assertTrue(flujo.hasNext());
+            Celda[] fila = flujo.next();
+            if (r % 2 == 0) assertEquals("Los nodos siempre son libres", Celda.LIBRE, fila[0]);
+        }
+        assertEquals(10000, flujo.getFilaSiguiente());
+    }
+
+    /**
+     * Verifica que la misma semilla produce las mismas filas.
+     */
+    @Test
+    public void flujo_misma_semilla_mismas_filas() {
+        FlujoEller a = new FlujoEller(33, 7L);
+        FlujoEller b = new FlujoEller(33, 7L);
+        for (int r = 0; r < 100; r++) {
+            assertArrayEquals(a.next(), b.next());
+        }
+    }
+
+    /**
+     * Verifica que un ancho no positivo se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void flujo_ancho_invalido_falla() {
+        new FlujoEller(0, 10, 1L);
+    }
+}
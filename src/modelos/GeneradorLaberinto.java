@@ -1,20 +1,41 @@
 package modelos;
 
-import java.util.Random;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Generador de laberintos con algoritmo de construcción.
  * 
  * Crea laberintos con caminos garantizados desde inicio hasta salida.
+ *
+ * Cada generación usa su propio {@link SplittableRandom} creado a partir de
+ * una semilla de 64 bits: una misma semilla produce siempre el mismo mapa y
+ * varios hilos pueden generar laberintos en paralelo sin compartir estado.
+ *
+ * El tallado de pasillos se delega en un {@link AlgoritmoLaberinto}
+ * intercambiable; la colocación de inicio, salida, preguntas y datos es la
+ * misma para todos los algoritmos.
  */
 public class GeneradorLaberinto {
-    private static final Random random = new Random();
+    private static final AlgoritmoLaberinto ALGORITMO_POR_DEFECTO = new AlgoritmoBacktracking();
+    private static final int MAX_INTENTOS = 8;
+    // Constante de la razón áurea: separa bien las semillas de cada intento
+    private static final long INCREMENTO_SEMILLA = 0x9E3779B97F4A7C15L;
+    // Fracción de la distancia máxima en la que se coloca la meta por defecto
+    private static final double BANDA_META_MINIMA = 0.75;
+    private static final double BANDA_META_MAXIMA = 1.0;
+
+    /**
+     * Separación que reparte preguntas y datos según la densidad del mapa.
+     *
+     * @see #generarMapaCompacto(int, int, int, long, AlgoritmoLaberinto, double, double, int)
+     */
+    public static final int SEPARACION_AUTOMATICA = -1;
 
     /**
      * Genera un laberinto con paredes y un camino hacia la salida.
+     *
+     * Usa una semilla aleatoria distinta en cada llamada.
      * 
      * @param tamaño dimensiones del mapa (tamaño x tamaño)
      * @param numPreguntas cantidad de preguntas a colocar
@@ -22,98 +43,243 @@ public class GeneradorLaberinto {
      * @return mapa con laberinto, preguntas y datos curiosos
      */
     public static Celda[][] generarLaberintoAleatorio(int tamaño, int numPreguntas, int numDatos) {
-        Celda[][] mapa = new Celda[tamaño][tamaño];
-        
-        // Llenar todo con paredes inicialmente
-        for (int r = 0; r < tamaño; r++) {
-            for (int c = 0; c < tamaño; c++) {
-                mapa[r][c] = Celda.PARED;
-            }
+        return generarLaberintoAleatorio(tamaño, numPreguntas, numDatos,
+                                         ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Genera un laberinto reproducible a partir de una semilla.
+     *
+     * La misma combinación de parámetros y semilla produce siempre el mismo mapa.
+     *
+     * @param tamaño dimensiones del mapa (tamaño x tamaño)
+     * @param numPreguntas cantidad de preguntas a colocar
+     * @param numDatos cantidad de celdas de datos curiosos
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @return mapa con laberinto, preguntas y datos curiosos
+     */
+    public static Celda[][] generarLaberintoAleatorio(int tamaño, int numPreguntas, int numDatos,
+                                                      long semilla) {
+        return generarLaberintoAleatorio(tamaño, numPreguntas, numDatos, semilla, ALGORITMO_POR_DEFECTO);
+    }
+
+    /**
+     * Genera un laberinto reproducible tallado con el algoritmo indicado.
+     *
+     * @param tamaño dimensiones del mapa (tamaño x tamaño)
+     * @param numPreguntas cantidad de preguntas a colocar
+     * @param numDatos cantidad de celdas de datos curiosos
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @param algoritmo estrategia usada para tallar los pasillos
+     * @return mapa con laberinto, preguntas y datos curiosos
+     */
+    public static Celda[][] generarLaberintoAleatorio(int tamaño, int numPreguntas, int numDatos,
+                                                      long semilla, AlgoritmoLaberinto algoritmo) {
+        return generarMapaCompacto(tamaño, numPreguntas, numDatos, semilla, algoritmo).aMatriz();
+    }
+
+    /**
+     * Genera un laberinto reproducible directamente sobre un {@link MapaCompacto}.
+     *
+     * Es la implementación de todas las variantes de
+     * {@code generarLaberintoAleatorio}; evita construir la matriz de celdas
+     * cuando el consumidor trabaja con el mapa compacto.
+     *
+     * Cada mapa pasa por {@link VerificadorAlcance#esCompletable(MapaCompacto)}
+     * antes de devolverse. Si la meta o alguna pregunta quedan fuera del
+     * alcance del inicio, se regenera con una semilla derivada de la original,
+     * de modo que el resultado sigue siendo reproducible.
+     *
+     * @param tamaño dimensiones del mapa (tamaño x tamaño)
+     * @param numPreguntas cantidad de preguntas a colocar
+     * @param numDatos cantidad de celdas de datos curiosos
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @param algoritmo estrategia usada para tallar los pasillos
+     * @return mapa compacto con laberinto, preguntas y datos curiosos
+     * @throws IllegalStateException si ningún intento produce un mapa completable
+     */
+    public static MapaCompacto generarMapaCompacto(int tamaño, int numPreguntas, int numDatos,
+                                                   long semilla, AlgoritmoLaberinto algoritmo) {
+        return generarMapaCompacto(tamaño, numPreguntas, numDatos, semilla, algoritmo,
+                                   BANDA_META_MINIMA, BANDA_META_MAXIMA);
+    }
+
+    /**
+     * Genera un laberinto reproducible colocando la meta dentro de una banda
+     * de distancias al inicio.
+     *
+     * La banda se expresa como fracciones de la distancia en pasos a la celda
+     * transitable más lejana: {@code (1.0, 1.0)} coloca la meta en el punto
+     * más alejado y {@code (0.0, 1.0)} en cualquier celda alcanzable. Si la
+     * banda no contiene ninguna celda se usa la más lejana.
+     *
+     * @param tamaño dimensiones del mapa (tamaño x tamaño)
+     * @param numPreguntas cantidad de preguntas a colocar
+     * @param numDatos cantidad de celdas de datos curiosos
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @param algoritmo estrategia usada para tallar los pasillos
+     * @param bandaMinima fracción mínima de la distancia máxima para la meta
+     * @param bandaMaxima fracción máxima de la distancia máxima para la meta
+     * @return mapa compacto con laberinto, preguntas y datos curiosos
+     * @throws IllegalArgumentException si la banda no está dentro de [0, 1]
+     * @throws IllegalStateException si ningún intento produce un mapa completable
+     */
+    public static MapaCompacto generarMapaCompacto(int tamaño, int numPreguntas, int numDatos,
+                                                   long semilla, AlgoritmoLaberinto algoritmo,
+                                                   double bandaMinima, double bandaMaxima) {
+        return generarMapaCompacto(tamaño, numPreguntas, numDatos, semilla, algoritmo,
+                                   bandaMinima, bandaMaxima, 0);
+    }
+
+    /**
+     * Genera un laberinto reproducible repartiendo preguntas y datos con una
+     * separación mínima entre ellos.
+     *
+     * Con separación 0 o 1 las celdas se eligen de forma uniforme, lo que deja
+     * pasillos llenos de elementos y otros vacíos. Con una separación mayor se
+     * eligen con {@link MuestreoPoisson}: ningún par de elementos queda a
+     * distancia Manhattan menor que la separación mientras quepan, y si no
+     * caben se reduce la separación hasta colocarlos todos.
+     * {@link #SEPARACION_AUTOMATICA} elige la separación según cuántas celdas
+     * libres hay por elemento.
+     *
+     * @param tamaño dimensiones del mapa (tamaño x tamaño)
+     * @param numPreguntas cantidad de preguntas a colocar
+     * @param numDatos cantidad de celdas de datos curiosos
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @param algoritmo estrategia usada para tallar los pasillos
+     * @param bandaMinima fracción mínima de la distancia máxima para la meta
+     * @param bandaMaxima fracción máxima de la distancia máxima para la meta
+     * @param separacion separación Manhattan mínima entre preguntas y datos
+     * @return mapa compacto con laberinto, preguntas y datos curiosos
+     * @throws IllegalArgumentException si la banda no está dentro de [0, 1] o
+     *         la separación es negativa y no es la automática
+     * @throws IllegalStateException si ningún intento produce un mapa completable
+     */
+    public static MapaCompacto generarMapaCompacto(int tamaño, int numPreguntas, int numDatos,
+                                                   long semilla, AlgoritmoLaberinto algoritmo,
+                                                   double bandaMinima, double bandaMaxima,
+                                                   int separacion) {
+        if (separacion < 0 && separacion != SEPARACION_AUTOMATICA) {
+            throw new IllegalArgumentException("La separación no puede ser negativa");
+        }
+        if (!(bandaMinima >= 0 && bandaMinima <= bandaMaxima && bandaMaxima <= 1)) {
+            throw new IllegalArgumentException("La banda de la meta debe cumplir 0 <= mínima <= máxima <= 1");
+        }
+        for (int intento = 0; intento < MAX_INTENTOS; intento++) {
+            MapaCompacto mapa = construirMapa(tamaño, numPreguntas, numDatos,
+                                              semilla + intento * INCREMENTO_SEMILLA, algoritmo,
+                                              bandaMinima, bandaMaxima, separacion);
+            if (VerificadorAlcance.esCompletable(mapa)) return mapa;
         }
+        throw new IllegalStateException(
+            "No se pudo generar un laberinto completable tras " + MAX_INTENTOS + " intentos"
+        );
+    }
+
+    /**
+     * Talla el laberinto y coloca inicio, salida, preguntas y datos.
+     */
+    private static MapaCompacto construirMapa(int tamaño, int numPreguntas, int numDatos,
+                                              long semilla, AlgoritmoLaberinto algoritmo,
+                                              double bandaMinima, double bandaMaxima,
+                                              int separacion) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        // Un mapa compacto nuevo ya está relleno de paredes
+        MapaCompacto mapa = new MapaCompacto(tamaño, tamaño);
         
-        // Generar laberinto usando recursive backtracking
-        generarLaberintoDFS(mapa, 0, 0);
+        // Tallar los pasillos con el algoritmo elegido
+        algoritmo.tallar(mapa, random);
         
         // Marcar inicio
-        mapa[0][0] = Celda.INICIO;
+        mapa.establecer(0, 0, Celda.INICIO);
         
-        // Colocar salida en celda aleatoria válida (no en inicio)
-        Posicion salida = colocarSalidaAleatoria(mapa, tamaño);
+        // Colocar salida lejos del inicio según el campo de distancias
+        colocarSalida(mapa, bandaMinima, bandaMaxima, random);
         
-        // Colocar preguntas en celdas libres
-        colocarElementos(mapa, Celda.PREGUNTA, numPreguntas, salida);
-        
-        // Colocar datos curiosos en celdas libres
-        colocarElementos(mapa, Celda.DATO, numDatos, salida);
+        // Colocar preguntas y datos curiosos en celdas libres
+        colocarElementos(mapa, numPreguntas, numDatos, separacion, random);
         
         return mapa;
     }
 
     /**
-     * Algoritmo DFS para generar laberinto (recursive backtracking).
+     * Coloca la salida en una celda alcanzable dentro de la banda de distancias.
+     *
+     * Usa el campo de distancias desde el inicio que el mapa conserva en
+     * caché, de modo que los consumidores posteriores (pistas, métricas) lo
+     * reutilizan sin repetir la búsqueda.
+     *
+     * @throws IllegalArgumentException si no hay más celda transitable que el inicio
      */
-    private static void generarLaberintoDFS(Celda[][] mapa, int r, int c) {
-        mapa[r][c] = Celda.LIBRE;
-        
-        // Direcciones en orden aleatorio
-        int[][] direcciones = {{-2, 0}, {2, 0}, {0, -2}, {0, 2}};
-        List<int[]> dirs = new ArrayList<>();
-        for (int[] dir : direcciones) {
-            dirs.add(dir);
+    private static void colocarSalida(MapaCompacto mapa, double bandaMinima, double bandaMaxima,
+                                      SplittableRandom random) {
+        CampoDistancias campo = mapa.getCampoDesdeInicio();
+        int maxima = campo.getDistanciaMaxima();
+        if (maxima < 1) {
+            throw new IllegalArgumentException("No hay celdas alcanzables para colocar la salida");
         }
-        Collections.shuffle(dirs);
+        // La distancia 0 es el propio inicio y nunca puede ser la salida
+        int desde = Math.max(1, (int) Math.ceil(bandaMinima * maxima));
+        int hasta = (int) Math.floor(bandaMaxima * maxima);
+        int salida = campo.elegirEnBanda(desde, hasta, random);
+        if (salida < 0) salida = campo.masLejana();
         
-        for (int[] dir : dirs) {
-            int nr = r + dir[0];
-            int nc = c + dir[1];
-            
-            if (nr >= 0 && nr < mapa.length && nc >= 0 && nc < mapa[0].length && 
-                mapa[nr][nc] == Celda.PARED) {
-                
-                // Marcar la celda entre medio como libre
-                mapa[r + dir[0] / 2][c + dir[1] / 2] = Celda.LIBRE;
-                
-                generarLaberintoDFS(mapa, nr, nc);
-            }
-        }
+        mapa.establecer(salida, Celda.META);
     }
 
     /**
-     * Coloca la salida en una celda aleatoria válida.
+     * Coloca exactamente {@code numPreguntas} preguntas y {@code numDatos}
+     * datos curiosos en celdas libres distintas.
+     *
+     * Recorre el mapa una sola vez guardando los índices lineales
+     * ({@code fila * columnas + columna}) de las celdas {@link Celda#LIBRE} en un
+     * arreglo de enteros y luego aplica un Fisher-Yates parcial para elegir las
+     * celdas, sin crear objetos por celda. INICIO y META nunca son libres, así
+     * que no pueden ser elegidas. Con separación mayor que 1 la elección la
+     * hace {@link MuestreoPoisson} sobre el mismo arreglo.
+     *
+     * @throws IllegalArgumentException si no hay suficientes celdas libres
      */
-    private static Posicion colocarSalidaAleatoria(Celda[][] mapa, int tamaño) {
-        Posicion salida;
-        do {
-            int r = random.nextInt(tamaño);
-            int c = random.nextInt(tamaño);
-            salida = new Posicion(r, c);
-        } while ((salida.getFila() == 0 && salida.getColumna() == 0) || 
-                 mapa[salida.getFila()][salida.getColumna()] == Celda.PARED);
-        
-        mapa[salida.getFila()][salida.getColumna()] = Celda.META;
-        return salida;
-    }
+    private static void colocarElementos(MapaCompacto mapa, int numPreguntas, int numDatos,
+                                         int separacion, SplittableRandom random) {
+        if (numPreguntas < 0 || numDatos < 0) {
+            throw new IllegalArgumentException("La cantidad de preguntas y datos no puede ser negativa");
+        }
+        // Las celdas libres son un subconjunto de las transitables: el popcount
+        // de la capa de bits acota el arreglo sin recorrer el mapa dos veces
+        int[] libres = new int[mapa.getCapaTransitable().contarTransitables()];
+        int total = 0;
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            if (mapa.obtener(i) == Celda.LIBRE) libres[total++] = i;
+        }
 
-    /**
-     * Coloca elementos (preguntas o datos) en celdas libres.
-     */
-    private static void colocarElementos(Celda[][] mapa, Celda tipo, int cantidad, Posicion salida) {
-        int colocados = 0;
-        int intentos = 0;
-        int maxIntentos = cantidad * 10;
-        
-        while (colocados < cantidad && intentos < maxIntentos) {
-            int r = random.nextInt(mapa.length);
-            int c = random.nextInt(mapa[0].length);
-            Posicion pos = new Posicion(r, c);
-            
-            if (mapa[r][c] == Celda.LIBRE && 
-                !(r == 0 && c == 0) && 
-                !pos.equals(salida)) {
-                mapa[r][c] = tipo;
-                colocados++;
+        int cantidad = numPreguntas + numDatos;
+        if (total < cantidad) {
+            throw new IllegalArgumentException(
+                "No hay suficientes celdas libres para colocar " + numPreguntas +
+                " preguntas y " + numDatos + " datos (libres: " + total + ")"
+            );
+        }
+
+        if (separacion == SEPARACION_AUTOMATICA) {
+            separacion = MuestreoPoisson.separacionAutomatica(total, cantidad);
+        }
+        if (separacion > 1) {
+            MuestreoPoisson.elegir(mapa.getFilas(), mapa.getColumnas(), libres, total, cantidad,
+                                   separacion, random);
+            for (int k = 0; k < cantidad; k++) {
+                mapa.establecer(libres[k], k < numPreguntas ? Celda.PREGUNTA : Celda.DATO);
             }
-            intentos++;
+            return;
+        }
+
+        for (int k = 0; k < cantidad; k++) {
+            int j = k + random.nextInt(total - k);
+            int indice = libres[j];
+            libres[j] = libres[k];
+            libres[k] = indice;
+            mapa.establecer(indice, k < numPreguntas ? Celda.PREGUNTA : Celda.DATO);
         }
     }
 }
@@ -0,0 +1,210 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Pruebas unitarias para la clase {@link GeneradorLaberinto}.
+ *
+ * Verifica:
+ * - Dimensiones y posición del inicio
+ * - Conectividad de todas las celdas transitables
+ * - Laberinto perfecto (sin ciclos) antes de colocar elementos
+ * - Generación de mapas muy grandes sin desbordar la pila
+ * - Reproducibilidad a partir de una semilla
+ * - Todos los algoritmos de tallado producen laberintos perfectos
+ * - Colocación exacta de preguntas y datos
+ */
+public class GeneradorLaberintoTest {
+
+    /**
+     * Verifica las dimensiones del mapa y el inicio en (0, 0).
+     */
+    @Test
+    public void generar_dimensiones_e_inicio() {
+        Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(16, 5, 3);
+        assertEquals(16, mapa.length);
+        assertEquals(16, mapa[0].length);
+        assertEquals(Celda.INICIO, mapa[0][0]);
+    }
+
+    /**
+     * Verifica que todas las celdas transitables son alcanzables desde el inicio.
+     */
+    @Test
+    public void generar_todas_las_celdas_conectadas() {
+        Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(32, 20, 10);
+        assertEquals("Todas las celdas transitables deben ser alcanzables",
+                     contarTransitables(mapa), contarAlcanzables(mapa));
+    }
+
+    /**
+     * Verifica que el laberinto es perfecto: con n nodos hay exactamente
+     * n - 1 pasos abiertos entre ellos.
+     */
+    @Test
+    public void generar_laberinto_perfecto() {
+        int tamaño = 33;
+        Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(tamaño, 0, 0);
+        int nodos = ((tamaño + 1) / 2) * ((tamaño + 1) / 2);
+        assertEquals("Un árbol de n nodos tiene n - 1 pasos",
+                     2 * nodos - 1, contarTransitables(mapa));
+    }
+
+    /**
+     * Verifica que un mapa de más de un millón de celdas se genera sin
+     * desbordar la pila del hilo.
+     */
+    @Test
+    public void generar_mapa_grande_sin_desbordar_pila() {
+        int tamaño = 1025;
+        Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(tamaño, 10, 10);
+        int nodos = ((tamaño + 1) / 2) * ((tamaño + 1) / 2);
+        assertEquals(2 * nodos - 1, contarTransitables(mapa));
+        assertEquals(contarTransitables(mapa), contarAlcanzables(mapa));
+    }
+
+    /**
+     * Verifica que la misma semilla produce el mismo mapa.
+     */
+    @Test
+    public void generar_misma_semilla_mismo_mapa() {
+        Celda[][] mapa1 = GeneradorLaberinto.generarLaberintoAleatorio(32, 20, 10, 42L);
+        Celda[][] mapa2 = GeneradorLaberinto.generarLaberintoAleatorio(32, 20, 10, 42L);
+        assertArrayEquals("La misma semilla debe reproducir el mapa", mapa1, mapa2);
+    }
+
+    /**
+     * Verifica que semillas distintas producen mapas distintos.
+     */
+    @Test
+    public void generar_semillas_distintas_mapas_distintos() {
+        Celda[][] mapa1 = GeneradorLaberinto.generarLaberintoAleatorio(32, 20, 10, 1L);
+        Celda[][] mapa2 = GeneradorLaberinto.generarLaberintoAleatorio(32, 20, 10, 2L);
+        assertFalse("Semillas distintas deberían generar mapas distintos",
+                    Arrays.deepEquals(mapa1, mapa2));
+    }
+
+    /**
+     * Verifica que cada algoritmo produce un laberinto perfecto y conectado,
+     * tanto con lados pares como impares.
+     */
+    @Test
+    public void algoritmos_generan_laberintos_perfectos() {
+        AlgoritmoLaberinto[] algoritmos = {
+            new AlgoritmoBacktracking(), new AlgoritmoKruskal(), new AlgoritmoPrim(),
+            new AlgoritmoWilson(), new AlgoritmoEller(), new AlgoritmoTeselasParalelo()
+        };
+        for (AlgoritmoLaberinto algoritmo : algoritmos) {
+            for (int tamaño : new int[]{3, 8, 31, 64}) {
+                Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(tamaño, 0, 0, 5L, algoritmo);
+                int nodos = ((tamaño + 1) / 2) * ((tamaño + 1) / 2);
+                String caso = algoritmo.nombre() + " " + tamaño + "x" + tamaño;
+                assertEquals(caso + ": debe ser un árbol", 2 * nodos - 1, contarTransitables(mapa));
+                assertEquals(caso + ": debe estar conectado",
+                             contarTransitables(mapa), contarAlcanzables(mapa));
+            }
+        }
+    }
+
+    /**
+     * Verifica que todos los algoritmos colocan inicio, meta y elementos.
+     */
+    @Test
+    public void algoritmos_colocan_elementos() {
+        AlgoritmoLaberinto[] algoritmos = {
+            new AlgoritmoBacktracking(), new AlgoritmoKruskal(), new AlgoritmoPrim(),
+            new AlgoritmoWilson(), new AlgoritmoEller(), new AlgoritmoTeselasParalelo()
+        };
+        for (AlgoritmoLaberinto algoritmo : algoritmos) {
+            Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(16, 5, 3, 9L, algoritmo);
+            assertEquals(Celda.INICIO, mapa[0][0]);
+            assertEquals(algoritmo.nombre() + ": una sola meta", 1, contar(mapa, Celda.META));
+            assertEquals(algoritmo.nombre() + ": preguntas", 5, contar(mapa, Celda.PREGUNTA));
+            assertEquals(algoritmo.nombre() + ": datos", 3, contar(mapa, Celda.DATO));
+        }
+    }
+
+    /**
+     * Verifica que con el tamaño de Leyenda se colocan exactamente todas las
+     * preguntas y datos pedidos.
+     */
+    @Test
+    public void colocar_cantidad_exacta_en_mapa_leyenda() {
+        Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(64, 819, 409, 3L);
+        assertEquals(819, contar(mapa, Celda.PREGUNTA));
+        assertEquals(409, contar(mapa, Celda.DATO));
+        assertEquals(1, contar(mapa, Celda.META));
+        assertEquals(Celda.INICIO, mapa[0][0]);
+    }
+
+    /**
+     * Verifica que se puede ocupar hasta la última celda libre.
+     */
+    @Test
+    public void colocar_todas_las_celdas_libres() {
+        // 8x8: 16 nodos, 31 celdas transitables menos inicio y meta = 29 libres
+        Celda[][] mapa = GeneradorLaberinto.generarLaberintoAleatorio(8, 20, 9, 4L);
+        assertEquals(0, contar(mapa, Celda.LIBRE));
+        assertEquals(20, contar(mapa, Celda.PREGUNTA));
+        assertEquals(9, contar(mapa, Celda.DATO));
+    }
+
+    /**
+     * Verifica que pedir más elementos que celdas libres produce un error.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void colocar_demasiados_elementos_falla() {
+        GeneradorLaberinto.generarLaberintoAleatorio(8, 20, 10, 4L);
+    }
+
+    static int contar(Celda[][] mapa, Celda tipo) {
+        int total = 0;
+        for (Celda[] fila : mapa) {
+            for (Celda celda : fila) {
+                if (celda == tipo) total++;
+            }
+        }
+        return total;
+    }
+
+    static int contarTransitables(Celda[][] mapa) {
+        int total = 0;
+        for (Celda[] fila : mapa) {
+            for (Celda celda : fila) {
+                if (celda != Celda.PARED) total++;
+            }
+        }
+        return total;
+    }
+
+    static int contarAlcanzables(Celda[][] mapa) {
+        int filas = mapa.length;
+        int columnas = mapa[0].length;
+        boolean[] visitado = new boolean[filas * columnas];
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        cola.add(0);
+        visitado[0] = true;
+        int total = 0;
+        int[][] dirs = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        while (!cola.isEmpty()) {
+            int actual = cola.poll();
+            total++;
+            int r = actual / columnas;
+            int c = actual % columnas;
+            for (int[] d : dirs) {
+                int nr = r + d[0];
+                int nc = c + d[1];
+                if (nr >= 0 && nr < filas && nc >= 0 && nc < columnas
+                        && mapa[nr][nc] != Celda.PARED && !visitado[nr * columnas + nc]) {
+                    visitado[nr * columnas + nc] = true;
+                    cola.add(nr * columnas + nc);
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -1,15 +1,18 @@
 package modelos;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Generador de mapas con colocación aleatoria de preguntas y salida.
  * 
  * Proporciona métodos auxiliares para crear mapas con obstáculos específicos
  * y distribuir aleatoriamente las celdas de preguntas y meta.
+ *
+ * Las variantes con semilla usan un {@link SplittableRandom} propio de la
+ * llamada, por lo que son reproducibles y seguras entre hilos.
  */
 public class GeneradorMapas {
-    private static final Random random = new Random();
 
     /**
      * Coloca aleatoriamente las preguntas y la salida en un mapa.
@@ -19,38 +22,97 @@ public class GeneradorMapas {
      * @return mapa con preguntas y salida colocadas aleatoriamente
      */
     public static Celda[][] colocarPreguntasYSalida(Celda[][] mapa, int numPreguntas) {
+        return colocarPreguntasYSalida(mapa, numPreguntas, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Coloca las preguntas y la salida en un mapa de forma reproducible.
+     *
+     * Solo se eligen celdas libres alcanzables desde (0, 0), calculadas con
+     * {@link VerificadorAlcance}; las zonas que las paredes dejan aisladas
+     * del inicio nunca reciben la meta ni una pregunta.
+     *
+     * @param mapa mapa base con paredes y celdas libres
+     * @param numPreguntas número de preguntas a colocar
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @return mapa con preguntas y salida colocadas según la semilla
+     */
+    public static Celda[][] colocarPreguntasYSalida(Celda[][] mapa, int numPreguntas, long semilla) {
+        return colocarPreguntasYSalida(mapa, numPreguntas, semilla, 0);
+    }
+
+    /**
+     * Coloca las preguntas y la salida con una separación mínima entre ellas.
+     *
+     * Igual que {@link #colocarPreguntasYSalida(Celda[][], int, long)}, pero
+     * con separación mayor que 1 las celdas se eligen con
+     * {@link MuestreoPoisson} para no amontonarlas; con
+     * {@link GeneradorLaberinto#SEPARACION_AUTOMATICA} la separación depende
+     * de las celdas disponibles por elemento.
+     *
+     * @param mapa mapa base con paredes y celdas libres
+     * @param numPreguntas número de preguntas a colocar
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @param separacion separación Manhattan mínima entre preguntas y salida
+     * @return mapa con preguntas y salida colocadas según la semilla
+     */
+    public static Celda[][] colocarPreguntasYSalida(Celda[][] mapa, int numPreguntas, long semilla,
+                                                    int separacion) {
+        if (separacion < 0 && separacion != GeneradorLaberinto.SEPARACION_AUTOMATICA) {
+            throw new IllegalArgumentException("La separación no puede ser negativa");
+        }
+        SplittableRandom random = new SplittableRandom(semilla);
         int filas = mapa.length;
         int columnas = mapa[0].length;
         
-        // Crear lista de celdas libres disponibles (excluyendo INICIO)
-        List<int[]> celdasDisponibles = new ArrayList<>();
+        MapaCompacto compacto = MapaCompacto.desdeMatriz(mapa);
+        long[] alcance = VerificadorAlcance.alcanzables(compacto, 0, 0);
+        CapaTransitable capa = compacto.getCapaTransitable();
+        
+        // Índices empaquetados (fila * columnas + columna) de las celdas libres
+        // alcanzables; INICIO queda excluido por no ser LIBRE
+        int[] celdasDisponibles = new int[filas * columnas];
+        int disponibles = 0;
         for (int i = 0; i < filas; i++) {
             for (int j = 0; j < columnas; j++) {
-                if (mapa[i][j] == Celda.LIBRE) {
-                    celdasDisponibles.add(new int[]{i, j});
+                if (mapa[i][j] == Celda.LIBRE && capa.contiene(alcance, i, j)) {
+                    celdasDisponibles[disponibles++] = i * columnas + j;
                 }
             }
         }
         
-        if (celdasDisponibles.size() < numPreguntas + 1) {
+        if (disponibles < numPreguntas + 1) {
             throw new IllegalArgumentException(
-                "No hay suficientes celdas libres para colocar " + numPreguntas + 
+                "No hay suficientes celdas libres alcanzables para colocar " + numPreguntas + 
                 " preguntas y 1 salida"
             );
         }
         
-        // Mezclar las celdas disponibles
-        Collections.shuffle(celdasDisponibles, random);
+        if (separacion == GeneradorLaberinto.SEPARACION_AUTOMATICA) {
+            separacion = MuestreoPoisson.separacionAutomatica(disponibles, numPreguntas + 1);
+        }
+        if (separacion > 1) {
+            MuestreoPoisson.elegir(filas, columnas, celdasDisponibles, disponibles, numPreguntas + 1,
+                                   separacion, random);
+        } else {
+            // Mezclar solo el prefijo necesario (Fisher-Yates parcial)
+            for (int i = 0; i <= numPreguntas; i++) {
+                int j = i + random.nextInt(disponibles - i);
+                int t = celdasDisponibles[i];
+                celdasDisponibles[i] = celdasDisponibles[j];
+                celdasDisponibles[j] = t;
+            }
+        }
         
         // Colocar preguntas
         for (int i = 0; i < numPreguntas; i++) {
-            int[] celda = celdasDisponibles.get(i);
-            mapa[celda[0]][celda[1]] = Celda.PREGUNTA;
+            int celda = celdasDisponibles[i];
+            mapa[celda / columnas][celda % columnas] = Celda.PREGUNTA;
         }
         
-        // Colocar salida (meta) en la última celda disponible
-        int[] celdaMeta = celdasDisponibles.get(numPreguntas);
-        mapa[celdaMeta[0]][celdaMeta[1]] = Celda.META;
+        // Colocar salida (meta) en la siguiente celda elegida
+        int celdaMeta = celdasDisponibles[numPreguntas];
+        mapa[celdaMeta / columnas][celdaMeta % columnas] = Celda.META;
         
         return mapa;
     }
@@ -116,4 +178,18 @@ public class GeneradorMapas {
         Celda[][] mapa = crearMapaBase(filas, columnas);
         return colocarPreguntasYSalida(mapa, numPreguntas);
     }
+
+    /**
+     * Genera un mapa completo reproducible a partir de una semilla.
+     *
+     * @param filas número de filas del mapa
+     * @param columnas número de columnas del mapa
+     * @param numPreguntas número de preguntas a colocar
+     * @param semilla semilla de 64 bits del generador aleatorio
+     * @return mapa generado completamente
+     */
+    public static Celda[][] generarMapaAleatorio(int filas, int columnas, int numPreguntas, long semilla) {
+        Celda[][] mapa = crearMapaBase(filas, columnas);
+        return colocarPreguntasYSalida(mapa, numPreguntas, semilla);
+    }
 }
@@ -165,6 +165,16 @@ public class GeneradorMapasTest {
         }
     }
 
+    /**
+     * Verifica que la misma semilla coloca preguntas y salida en las mismas celdas.
+     */
+    @Test
+    public void colocarPreguntasYSalida_misma_semilla_mismo_mapa() {
+        Celda[][] mapa1 = GeneradorMapas.colocarPreguntasYSalida(crearMapaLimpio(16), 10, 7L);
+        Celda[][] mapa2 = GeneradorMapas.colocarPreguntasYSalida(crearMapaLimpio(16), 10, 7L);
+        assertArrayEquals("La misma semilla debe reproducir el mapa", mapa1, mapa2);
+    }
+
     /**
      * Helper: crea un mapa limpio de tamaño especificado.
      */
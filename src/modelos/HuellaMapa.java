@@ -0,0 +1,233 @@
+package modelos;
+
+/**
+ * Huella estructural de un mapa, invariante a las 8 simetrías de la rejilla.
+ *
+ * La huella de un mapa es de tipo Zobrist: el XOR, para cada celda que no es
+ * pared, de un valor pseudoaleatorio de 64 bits derivado de su índice lineal
+ * y su tipo, combinado con las dimensiones. Los valores se calculan al vuelo
+ * con el mezclador de SplitMix64, sin tablas, por lo que sirve para mapas de
+ * cualquier tamaño; y como cada celda contribuye de forma independiente, un
+ * cambio de celda actualiza la huella en O(1) ({@link #actualizar}).
+ *
+ * En una sola pasada se calcula también la huella del mapa transformado por
+ * cada una de las 8 simetrías (rotaciones y reflejos). La huella canónica es
+ * la menor de las 8 (sin signo) y la forma canónica es el mapa transformado
+ * por la simetría que la produce: dos mapas que son rotaciones o reflejos
+ * uno del otro tienen la misma huella canónica y la misma forma canónica.
+ *
+ * Simetrías, para un mapa de {@code F} filas y {@code C} columnas, como
+ * posición de destino de la celda {@code (r, c)}:
+ * <pre>
+ *   0 identidad          (r, c)
+ *   1 giro 90° horario   (c, F-1-r)
+ *   2 giro 180°          (F-1-r, C-1-c)
+ *   3 giro 270° horario  (C-1-c, r)
+ *   4 reflejo horizontal (r, C-1-c)
+ *   5 reflejo vertical   (F-1-r, c)
+ *   6 trasposición       (c, r)
+ *   7 antitrasposición   (C-1-c, F-1-r)
+ * </pre>
+ */
+public final class HuellaMapa {
+
+    /** Número de simetrías de la rejilla. */
+    public static final int SIMETRIAS = 8;
+
+    private final long[] huellas;
+    private final int simetriaCanonica;
+
+    private HuellaMapa(long[] huellas) {
+        this.huellas = huellas;
+        int mejor = 0;
+        for (int s = 1; s < SIMETRIAS; s++) {
+            if (Long.compareUnsigned(huellas[s], huellas[mejor]) < 0) mejor = s;
+        }
+        this.simetriaCanonica = mejor;
+    }
+
+    /**
+     * Calcula en una pasada las huellas del mapa bajo las 8 simetrías.
+     *
+     * @param mapa mapa a analizar
+     * @return huellas del mapa
+     */
+    public static HuellaMapa calcular(MapaCompacto mapa) {
+        int filas = mapa.getFilas();
+        int columnas = mapa.getColumnas();
+        long[] h = new long[SIMETRIAS];
+        // Las simetrías 0, 2, 4 y 5 conservan las dimensiones; 1, 3, 6 y 7
+        // las intercambian
+        long mismas = dimensiones(filas, columnas);
+        long traspuestas = dimensiones(columnas, filas);
+        h[0] = h[2] = h[4] = h[5] = mismas;
+        h[1] = h[3] = h[6] = h[7] = traspuestas;
+
+        int i = 0;
+        for (int r = 0; r < filas; r++) {
+            int rInv = filas - 1 - r;
+            for (int c = 0; c < columnas; c++, i++) {
+                int codigo = mapa.codigo(i);
+                if (codigo == 0) continue;
+                int cInv = columnas - 1 - c;
+                h[0] ^= valor(r * columnas + c, codigo);
+                h[1] ^= valor(c * filas + rInv, codigo);
+                h[2] ^= valor(rInv * columnas + cInv, codigo);
+                h[3] ^= valor(cInv * filas + r, codigo);
+                h[4] ^= valor(r * columnas + cInv, codigo);
+                h[5] ^= valor(rInv * columnas + c, codigo);
+                h[6] ^= valor(c * filas + r, codigo);
+                h[7] ^= valor(cInv * filas + rInv, codigo);
+            }
+        }
+        return new HuellaMapa(h);
+    }
+
+    /**
+     * Huella del mapa tal como está (simetría identidad).
+     *
+     * @return huella de 64 bits
+     */
+    public long getHuella() {
+        return huellas[0];
+    }
+
+    /**
+     * Huella del mapa transformado por una simetría.
+     *
+     * @param simetria simetría entre 0 y 7
+     * @return huella de 64 bits
+     */
+    public long getHuella(int simetria) {
+        return huellas[simetria];
+    }
+
+    /**
+     * Huella canónica: la menor (sin signo) de las 8.
+     *
+     * Adecuada como clave de caché o de índice persistente para agrupar mapas
+     * equivalentes por rotación o reflejo. Dos huellas canónicas iguales no
+     * garantizan mapas equivalentes: una colisión es posible, así que la
+     * equivalencia se confirma con {@link #equivalentes}. Por eso esta clase
+     * no redefine {@code equals}: la clave es este {@code long}.
+     *
+     * @return huella canónica de 64 bits
+     */
+    public long getCanonica() {
+        return huellas[simetriaCanonica];
+    }
+
+    /**
+     * Simetría que lleva el mapa a su forma canónica.
+     *
+     * @return simetría entre 0 y 7
+     */
+    public int getSimetriaCanonica() {
+        return simetriaCanonica;
+    }
+
+    /**
+     * Forma canónica de un mapa.
+     *
+     * @param mapa mapa a normalizar
+     * @return mapa nuevo transformado por su simetría canónica
+     */
+    public static MapaCompacto formaCanonica(MapaCompacto mapa) {
+        return transformar(mapa, calcular(mapa).simetriaCanonica);
+    }
+
+    /**
+     * Indica si dos mapas son iguales salvo rotación o reflejo.
+     *
+     * Compara primero las huellas canónicas y, si coinciden, las formas
+     * canónicas, de modo que una colisión de huellas no da un falso positivo.
+     *
+     * @param a primer mapa
+     * @param b segundo mapa
+     * @return {@code true} si uno es una simetría del otro
+     */
+    public static boolean equivalentes(MapaCompacto a, MapaCompacto b) {
+        HuellaMapa ha = calcular(a);
+        HuellaMapa hb = calcular(b);
+        if (ha.getCanonica() != hb.getCanonica()) return false;
+        return transformar(a, ha.simetriaCanonica).equals(transformar(b, hb.simetriaCanonica));
+    }
+
+    /**
+     * Aplica una simetría a un mapa.
+     *
+     * @param mapa     mapa de origen
+     * @param simetria simetría entre 0 y 7
+     * @return mapa nuevo transformado
+     */
+    public static MapaCompacto transformar(MapaCompacto mapa, int simetria) {
+        if (simetria < 0 || simetria >= SIMETRIAS) {
+            throw new IllegalArgumentException("Simetría fuera de rango: " + simetria);
+        }
+        int filas = mapa.getFilas();
+        int columnas = mapa.getColumnas();
+        boolean traspone = simetria == 1 || simetria == 3 || simetria >= 6;
+        int columnasDestino = traspone ? filas : columnas;
+        byte[] destino = new byte[mapa.tamaño()];
+        int i = 0;
+        for (int r = 0; r < filas; r++) {
+            int rInv = filas - 1 - r;
+            for (int c = 0; c < columnas; c++, i++) {
+                int cInv = columnas - 1 - c;
+                int fd;
+                int cd;
+                switch (simetria) {
+                    case 0: fd = r; cd = c; break;
+                    case 1: fd = c; cd = rInv; break;
+                    case 2: fd = rInv; cd = cInv; break;
+                    case 3: fd = cInv; cd = r; break;
+                    case 4: fd = r; cd = cInv; break;
+                    case 5: fd = rInv; cd = c; break;
+                    case 6: fd = c; cd = r; break;
+                    default: fd = cInv; cd = rInv; break;
+                }
+                destino[fd * columnasDestino + cd] = mapa.codigo(i);
+            }
+        }
+        return traspone
+            ? MapaCompacto.desdeCodigos(columnas, filas, destino)
+            : MapaCompacto.desdeCodigos(filas, columnas, destino);
+    }
+
+    /**
+     * Actualiza una huella (sin simetría) tras cambiar una celda.
+     *
+     * @param huella  huella anterior del mapa
+     * @param indice  índice lineal de la celda modificada
+     * @param antes   tipo de celda anterior
+     * @param despues tipo de celda nuevo
+     * @return huella del mapa modificado
+     */
+    public static long actualizar(long huella, int indice, Celda antes, Celda despues) {
+        return huella ^ valorCelda(indice, antes) ^ valorCelda(indice, despues);
+    }
+
+    private static long valorCelda(int indice, Celda celda) {
+        return celda == Celda.PARED ? 0 : valor(indice, celda.ordinal());
+    }
+
+    /**
+     * Valor Zobrist de una celda no pared.
+     */
+    private static long valor(int indice, int codigo) {
+        return mezclar(((long) indice << 3 | codigo) + 0x9E3779B97F4A7C15L);
+    }
+
+    private static long dimensiones(int filas, int columnas) {
+        return mezclar(((long) filas << 32 | (columnas & 0xFFFFFFFFL)) ^ 0xD1B54A32D192ED03L);
+    }
+
+    /**
+     * Finalizador de SplitMix64: distribuye bien entradas consecutivas.
+     */
+    static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
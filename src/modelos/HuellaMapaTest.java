@@ -0,0 +1,120 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pruebas unitarias para la clase {@link HuellaMapa}.
+ *
+ * Verifica:
+ * - Misma huella canónica para rotaciones y reflejos de un mapa
+ * - Huellas distintas para mapas distintos
+ * - Actualización incremental tras cambiar una celda
+ * - Transformaciones de mapas no cuadrados
+ */
+public class HuellaMapaTest {
+
+    /**
+     * Verifica que las 8 simetrías de un laberinto comparten huella y forma canónicas.
+     */
+    @Test
+    public void simetrias_misma_forma_canonica() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(15, 5, 3, 42L, new AlgoritmoPrim());
+        HuellaMapa huella = HuellaMapa.calcular(mapa);
+        MapaCompacto canonica = HuellaMapa.formaCanonica(mapa);
+        for (int s = 0; s < HuellaMapa.SIMETRIAS; s++) {
+            MapaCompacto transformado = HuellaMapa.transformar(mapa, s);
+            HuellaMapa otra = HuellaMapa.calcular(transformado);
+            assertEquals(huella.getHuella(s), otra.getHuella());
+            assertEquals(huella.getCanonica(), otra.getCanonica());
+            assertEquals(canonica, HuellaMapa.formaCanonica(transformado));
+            assertTrue(HuellaMapa.equivalentes(mapa, transformado));
+        }
+    }
+
+    /**
+     * Verifica que mapas generados con semillas distintas no colisionan.
+     */
+    @Test
+    public void mapas_distintos_huellas_distintas() {
+        Set<Long> huellas = new HashSet<>();
+        for (long semilla = 0; semilla < 200; semilla++) {
+            MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(
+                11, 2, 1, semilla, new AlgoritmoBacktracking());
+            assertTrue(huellas.add(HuellaMapa.calcular(mapa).getCanonica()));
+        }
+        MapaCompacto a = GeneradorLaberinto.generarMapaCompacto(11, 2, 1, 1L, new AlgoritmoPrim());
+        MapaCompacto b = GeneradorLaberinto.generarMapaCompacto(11, 2, 1, 2L, new AlgoritmoPrim());
+        assertFalse(HuellaMapa.equivalentes(a, b));
+    }
+
+    /**
+     * Verifica que la huella es determinista y distingue el tipo de celda.
+     */
+    @Test
+    public void huella_determinista_y_sensible_al_tipo() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(9, 1, 1, 7L, new AlgoritmoWilson());
+        long huella = HuellaMapa.calcular(mapa).getHuella();
+        assertEquals(huella, HuellaMapa.calcular(mapa.copia()).getHuella());
+
+        MapaCompacto cambiado = mapa.copia();
+        cambiado.establecer(0, 0, Celda.LIBRE);
+        assertNotEquals(huella, HuellaMapa.calcular(cambiado).getHuella());
+    }
+
+    /**
+     * Verifica que la actualización incremental coincide con recalcular.
+     */
+    @Test
+    public void actualizacion_incremental() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(9, 2, 1, 3L, new AlgoritmoKruskal());
+        long huella = HuellaMapa.calcular(mapa).getHuella();
+        int indice = mapa.indice(2, 2);
+        Celda antes = mapa.obtener(indice);
+        for (Celda despues : Celda.values()) {
+            MapaCompacto cambiado = mapa.copia();
+            cambiado.establecer(indice, despues);
+            assertEquals(HuellaMapa.calcular(cambiado).getHuella(),
+                         HuellaMapa.actualizar(huella, indice, antes, despues));
+        }
+    }
+
+    /**
+     * Verifica las transformaciones de un mapa rectangular.
+     */
+    @Test
+    public void mapa_rectangular() {
+        // S . #
+        // . # M
+        MapaCompacto mapa = new MapaCompacto(2, 3);
+        mapa.establecer(0, 0, Celda.INICIO);
+        mapa.establecer(0, 1, Celda.LIBRE);
+        mapa.establecer(1, 0, Celda.LIBRE);
+        mapa.establecer(1, 2, Celda.META);
+
+        MapaCompacto girado = HuellaMapa.transformar(mapa, 1);
+        assertEquals(3, girado.getFilas());
+        assertEquals(2, girado.getColumnas());
+        assertEquals(Celda.INICIO, girado.obtener(0, 1));
+        assertEquals(Celda.META, girado.obtener(2, 0));
+
+        MapaCompacto traspuesto = HuellaMapa.transformar(mapa, 6);
+        assertEquals(Celda.META, traspuesto.obtener(2, 1));
+        assertTrue(traspuesto.esTransitable(1, 0));
+
+        // Un mapa 3x2 con los mismos bytes no es una simetría del 2x3
+        MapaCompacto otro = MapaCompacto.desdeCodigos(3, 2, new byte[] {2, 1, 0, 1, 0, 3});
+        assertFalse(HuellaMapa.equivalentes(mapa, otro));
+    }
+
+    /**
+     * Verifica que una simetría fuera de rango se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void simetria_invalida_falla() {
+        HuellaMapa.transformar(new MapaCompacto(2, 2), 8);
+    }
+}
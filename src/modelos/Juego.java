@@ -3,18 +3,21 @@ package modelos;
 import niveles.Nivel;
 import validadores.Validador;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Clase que encapsula la lógica y el estado mínimo de una partida.
  *
  * Mantiene la referencia al {@link Jugador}, al {@link Nivel} seleccionado, el
- * mapa de celdas y las preguntas asociadas al nivel. Proporciona operaciones
+ * {@link Tablero} de la partida y las preguntas asociadas al nivel. Proporciona operaciones
  * para iniciar/terminar la partida, mover al jugador, procesar respuestas y
  * consultar el estado actual.
  */
 public class Juego {
     private Jugador jugador;
     private Nivel nivel;
-    private Celda[][] mapa;
+    private Tablero mapa;
+    private CampoPistas pistas;
     private Pregunta[] preguntas;
     private String[] respuestasEsperadas;
     private boolean enEjecucion;
@@ -28,9 +31,40 @@ public class Juego {
      * @param nivel   nivel que provee mapa y preguntas (puede ser {@code null})
      */
     public Juego(Jugador jugador, Nivel nivel) {
+        this(jugador, nivel, (PoolMapas) null);
+    }
+
+    /**
+     * Construye un juego tomando el mapa de una reserva de mapas pre-generados.
+     *
+     * Evita generar el mapa en el hilo que crea la partida; si la reserva es
+     * {@code null} el mapa se genera directamente con el nivel.
+     *
+     * @param jugador jugador que participará en la partida
+     * @param nivel   nivel que provee mapa y preguntas (puede ser {@code null})
+     * @param pool    reserva de la que se toma el mapa (puede ser {@code null})
+     */
+    public Juego(Jugador jugador, Nivel nivel, PoolMapas pool) {
+        this(jugador, nivel, crearTablero(nivel, pool));
+    }
+
+    /**
+     * Construye un juego sobre un tablero ya preparado, por ejemplo un
+     * {@link MapaMapeado} abierto desde un archivo.
+     *
+     * El nivel solo aporta las preguntas; el tablero no se copia.
+     *
+     * @param jugador jugador que participará en la partida
+     * @param nivel   nivel que provee las preguntas (puede ser {@code null})
+     * @param tablero tablero sobre el que se juega
+     */
+    public Juego(Jugador jugador, Nivel nivel, Tablero tablero) {
+        if (tablero == null) {
+            throw new IllegalArgumentException("El tablero no puede ser nulo");
+        }
         this.jugador = jugador;
         this.nivel = nivel;
-        this.mapa = nivel != null ? nivel.crearMapa() : new Celda[0][0];
+        this.mapa = tablero;
         this.preguntas = nivel != null ? nivel.obtenerPreguntas() : new Pregunta[0];
         this.respuestasEsperadas = nivel != null ? nivel.obtenerRespuestasEsperadas() : new String[0];
         this.enEjecucion = false;
@@ -38,6 +72,12 @@ public class Juego {
         this.respuestaCorrecta = null;
     }
 
+    private static Tablero crearTablero(Nivel nivel, PoolMapas pool) {
+        if (nivel == null) return new MapaCompacto(0, 0);
+        if (pool != null) return pool.obtener(nivel);
+        return nivel.crearTablero(ThreadLocalRandom.current().nextLong());
+    }
+
     /**
      * Verifica si se cumplen las condiciones mínimas para iniciar la partida.
      *
@@ -86,15 +126,17 @@ public class Juego {
      * Intenta mover al jugador en la dirección indicada.
      *
      * Comprueba primero que la partida esté en ejecución y luego delega la
-     * validación del movimiento a {@link validadores.Validador#puedeMover}.
+     * validación del movimiento a {@link validadores.Validador#puedeMoverEn}.
      *
      * @param d dirección del movimiento
      * @return {@code true} si el movimiento fue realizado; {@code false} si estaba bloqueado o la partida no está en ejecución
      */
     public boolean moverJugador(Direccion d) {
         if (!enEjecucion) return false;
-        if (Validador.puedeMover(mapa, jugador.getPosicion(), d)) {
+        if (Validador.puedeMoverEn(mapa, jugador.getPosicion(), d)) {
             jugador.mover(d);
+            Posicion p = jugador.getPosicion();
+            mapa.prepararAlrededor(p.getFila(), p.getColumna());
             return true;
         } else {
             return false;
@@ -164,14 +206,94 @@ public class Juego {
     }
 
     /**
-     * Devuelve una copia referencial del mapa actual del juego.
+     * Devuelve una copia del mapa actual del juego como matriz de celdas.
+     *
+     * Se construye en cada llamada; el motor trabaja con
+     * {@link #obtenerTablero()}.
      *
-     * @return matriz de {@link Celda} con el mapa.
+     * @return matriz de {@link Celda} con el mapa, o {@code null} si el
+     *         tablero de la partida es infinito.
      */
     public Celda[][] obtenerMapa() {
+        MapaCompacto compacto = obtenerMapaCompacto();
+        return compacto != null ? compacto.aMatriz() : null;
+    }
+
+    /**
+     * Devuelve el mapa compacto de la partida (sin copiar).
+     *
+     * @return {@link MapaCompacto} con el mapa, o {@code null} si el tablero
+     *         de la partida es infinito.
+     */
+    public MapaCompacto obtenerMapaCompacto() {
+        return mapa instanceof MapaCompacto ? (MapaCompacto) mapa : null;
+    }
+
+    /**
+     * Devuelve el tablero de la partida, finito o infinito.
+     *
+     * @return {@link Tablero} sobre el que se mueve el jugador.
+     */
+    public Tablero obtenerTablero() {
         return mapa;
     }
 
+    /**
+     * Campo de distancias a la meta del tablero de la partida.
+     *
+     * Se calcula con una búsqueda en anchura inversa la primera vez que se
+     * pide y se conserva junto al mapa; {@link #cambiarCelda} lo mantiene al
+     * día de forma incremental.
+     *
+     * @return campo de pistas, o {@code null} si el tablero es infinito
+     */
+    public CampoPistas obtenerCampoPistas() {
+        if (pistas == null && !mapa.esInfinito()) pistas = CampoPistas.calcular(mapa);
+        return pistas;
+    }
+
+    /**
+     * Dirección del siguiente paso hacia la meta desde una posición.
+     *
+     * @param posicion posición de partida
+     * @return dirección a seguir, o {@code null} si no hay pista disponible
+     */
+    public Direccion siguientePasoHacia(Posicion posicion) {
+        CampoPistas campo = obtenerCampoPistas();
+        return campo != null ? campo.siguientePasoHacia(posicion) : null;
+    }
+
+    /**
+     * Pasos que le faltan al jugador para llegar a la meta.
+     *
+     * @return pasos por el camino más corto, o -1 si no se conocen
+     */
+    public int pasosRestantes() {
+        CampoPistas campo = obtenerCampoPistas();
+        return campo != null ? campo.pasosRestantes(jugador.getPosicion()) : -1;
+    }
+
+    /**
+     * Cambia una celda del mapa de la partida y actualiza las pistas.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @param celda   nuevo tipo de celda
+     * @throws IllegalStateException si el tablero no es un mapa compacto
+     * @throws IllegalArgumentException si la celda está fuera del mapa
+     */
+    public void cambiarCelda(int fila, int columna, Celda celda) {
+        MapaCompacto compacto = obtenerMapaCompacto();
+        if (compacto == null) {
+            throw new IllegalStateException("Solo se pueden modificar las partidas sobre un mapa compacto");
+        }
+        if (!compacto.contiene(fila, columna)) {
+            throw new IllegalArgumentException("La celda está fuera del mapa");
+        }
+        compacto.establecer(fila, columna, celda);
+        if (pistas != null) pistas.celdaCambiada(fila, columna);
+    }
+
     /**
      * Devuelve el jugador asociado a la partida.
      *
@@ -206,8 +328,8 @@ public class Juego {
      */
     public boolean jugadorEnMeta() {
         Posicion p = jugador.getPosicion();
-        if (mapa == null || mapa.length == 0) return false;
-        return mapa[p.getFila()][p.getColumna()] == Celda.META;
+        if (!mapa.contiene(p.getFila(), p.getColumna())) return false;
+        return mapa.obtener(p.getFila(), p.getColumna()) == Celda.META;
     }
 
 }
\ No newline at end of file
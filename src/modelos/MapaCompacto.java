@@ -0,0 +1,316 @@
+package modelos;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de celdas compacto respaldado por un único arreglo de bytes.
+ *
+ * Cada celda ocupa un byte con el ordinal de su {@link Celda}, almacenadas
+ * por filas ({@code indice = fila * columnas + columna}). Frente a una matriz
+ * {@code Celda[][]} evita un arreglo por fila y una referencia por celda, de
+ * modo que recorrer el mapa o consultar una celda es un acceso contiguo a
+ * memoria. Como {@link Celda#PARED} tiene ordinal 0, un mapa nuevo está
+ * completamente relleno de paredes.
+ *
+ * {@link #desdeMatriz(Celda[][])} y {@link #aMatriz()} convierten desde y
+ * hacia la representación clásica para el código que aún la usa.
+ *
+ * Junto a los bytes se mantiene una {@link CapaTransitable} con un bit por
+ * celda, actualizada en cada escritura, para las consultas que solo
+ * distinguen pared de no pared.
+ *
+ * El {@link CampoDistancias} desde el inicio se calcula la primera vez que se
+ * pide y se reutiliza mientras no cambie qué celdas son transitables.
+ *
+ * Es el {@link Tablero} finito de los niveles con tamaño fijo.
+ */
+public class MapaCompacto implements Tablero {
+    private static final Celda[] CELDAS = Celda.values();
+    private static final byte CODIGO_PARED = (byte) Celda.PARED.ordinal();
+
+    private final int filas;
+    private final int columnas;
+    private final byte[] celdas;
+    private final CapaTransitable capa;
+    private CampoDistancias campoInicio;
+
+    /**
+     * Crea un mapa del tamaño indicado relleno de paredes.
+     *
+     * @param filas    número de filas
+     * @param columnas número de columnas
+     */
+    public MapaCompacto(int filas, int columnas) {
+        if (filas < 0 || columnas < 0) {
+            throw new IllegalArgumentException("Las dimensiones del mapa no pueden ser negativas");
+        }
+        this.filas = filas;
+        this.columnas = columnas;
+        this.celdas = new byte[Math.multiplyExact(filas, columnas)];
+        this.capa = new CapaTransitable(filas, columnas);
+    }
+
+    private MapaCompacto(int filas, int columnas, byte[] celdas) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.celdas = celdas;
+        this.capa = new CapaTransitable(filas, columnas);
+    }
+
+    /**
+     * Crea un mapa compacto con el contenido de una matriz de celdas.
+     *
+     * @param mapa matriz rectangular de celdas
+     * @return mapa compacto equivalente
+     */
+    public static MapaCompacto desdeMatriz(Celda[][] mapa) {
+        int filas = mapa.length;
+        int columnas = filas > 0 ? mapa[0].length : 0;
+        MapaCompacto compacto = new MapaCompacto(filas, columnas);
+        for (int r = 0; r < filas; r++) {
+            compacto.establecerFila(r, mapa[r]);
+        }
+        return compacto;
+    }
+
+    /**
+     * Crea un mapa tomando posesión de un arreglo de códigos de celda ya
+     * validado (ordinales de {@link Celda}, por filas), reconstruyendo la
+     * capa de bits en una sola pasada.
+     */
+    static MapaCompacto desdeCodigos(int filas, int columnas, byte[] codigos) {
+        MapaCompacto mapa = new MapaCompacto(filas, columnas, codigos);
+        mapa.capa.reconstruir(codigos);
+        return mapa;
+    }
+
+    /**
+     * Código (ordinal de {@link Celda}) de la celda en un índice lineal.
+     */
+    byte codigo(int indice) {
+        return celdas[indice];
+    }
+
+    /**
+     * Convierte el mapa en una matriz de celdas nueva.
+     *
+     * @return matriz {@code filas x columnas} con el contenido del mapa
+     */
+    public Celda[][] aMatriz() {
+        Celda[][] mapa = new Celda[filas][columnas];
+        int i = 0;
+        for (int r = 0; r < filas; r++) {
+            Celda[] fila = mapa[r];
+            for (int c = 0; c < columnas; c++) {
+                fila[c] = CELDAS[celdas[i++]];
+            }
+        }
+        return mapa;
+    }
+
+    /**
+     * Número de filas del mapa.
+     *
+     * @return filas
+     */
+    @Override
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Número de columnas del mapa.
+     *
+     * @return columnas
+     */
+    @Override
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Número total de celdas.
+     *
+     * @return {@code filas * columnas}
+     */
+    public int tamaño() {
+        return celdas.length;
+    }
+
+    /**
+     * Índice lineal de una celda.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return {@code fila * columnas + columna}
+     */
+    public int indice(int fila, int columna) {
+        return fila * columnas + columna;
+    }
+
+    /**
+     * Posición correspondiente a un índice lineal.
+     *
+     * @param indice índice lineal de la celda
+     * @return posición (fila, columna)
+     */
+    public Posicion posicion(int indice) {
+        return new Posicion(indice / columnas, indice % columnas);
+    }
+
+    /**
+     * Indica si unas coordenadas están dentro del mapa.
+     *
+     * @param fila    fila a comprobar
+     * @param columna columna a comprobar
+     * @return {@code true} si la celda existe
+     */
+    @Override
+    public boolean contiene(int fila, int columna) {
+        return fila >= 0 && fila < filas && columna >= 0 && columna < columnas;
+    }
+
+    /**
+     * Obtiene la celda en unas coordenadas.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return tipo de celda
+     */
+    @Override
+    public Celda obtener(int fila, int columna) {
+        return CELDAS[celdas[fila * columnas + columna]];
+    }
+
+    /**
+     * Obtiene la celda en un índice lineal.
+     *
+     * @param indice índice lineal de la celda
+     * @return tipo de celda
+     */
+    public Celda obtener(int indice) {
+        return CELDAS[celdas[indice]];
+    }
+
+    /**
+     * Indica si una celda es transitable (cualquier cosa salvo pared).
+     *
+     * @param indice índice lineal de la celda
+     * @return {@code true} si no es {@link Celda#PARED}
+     */
+    public boolean esTransitable(int indice) {
+        return celdas[indice] != CODIGO_PARED;
+    }
+
+    /**
+     * Indica si unas coordenadas están dentro del mapa y no son pared.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return {@code true} si la celda existe y es transitable
+     */
+    @Override
+    public boolean esTransitable(int fila, int columna) {
+        return capa.esTransitable(fila, columna);
+    }
+
+    /**
+     * Capa de bits de transitabilidad sincronizada con este mapa.
+     *
+     * Es una vista de solo lectura: se actualiza sola al modificar el mapa.
+     *
+     * @return capa de transitabilidad
+     */
+    public CapaTransitable getCapaTransitable() {
+        return capa;
+    }
+
+    /**
+     * Campo de distancias desde la celda de inicio (0, 0).
+     *
+     * Se calcula una sola vez y se conserva hasta que alguna celda pasa de
+     * pared a transitable o al revés; colocar preguntas, datos o la meta sobre
+     * celdas libres no lo invalida.
+     *
+     * @return campo de distancias compartido
+     * @throws IllegalArgumentException si el mapa está vacío
+     */
+    public CampoDistancias getCampoDesdeInicio() {
+        if (campoInicio == null) campoInicio = CampoDistancias.calcular(this, 0, 0);
+        return campoInicio;
+    }
+
+    /**
+     * Cambia el tipo de una celda.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @param celda   nuevo tipo de celda
+     */
+    public void establecer(int fila, int columna, Celda celda) {
+        int indice = fila * columnas + columna;
+        boolean transitable = celda != Celda.PARED;
+        if (transitable != (celdas[indice] != CODIGO_PARED)) campoInicio = null;
+        celdas[indice] = (byte) celda.ordinal();
+        capa.asignar(fila, columna, transitable);
+    }
+
+    /**
+     * Cambia el tipo de la celda en un índice lineal.
+     *
+     * @param indice índice lineal de la celda
+     * @param celda  nuevo tipo de celda
+     */
+    public void establecer(int indice, Celda celda) {
+        establecer(indice / columnas, indice % columnas, celda);
+    }
+
+    /**
+     * Copia una fila completa de celdas.
+     *
+     * @param fila   índice de la fila destino
+     * @param origen celdas a copiar (al menos {@code columnas} elementos)
+     */
+    public void establecerFila(int fila, Celda[] origen) {
+        for (int c = 0; c < columnas; c++) {
+            establecer(fila, c, origen[c]);
+        }
+    }
+
+    /**
+     * Rellena todo el mapa con un tipo de celda.
+     *
+     * @param celda tipo de celda de relleno
+     */
+    public void rellenar(Celda celda) {
+        Arrays.fill(celdas, (byte) celda.ordinal());
+        capa.rellenar(celda != Celda.PARED);
+        campoInicio = null;
+    }
+
+    /**
+     * Crea una copia independiente del mapa.
+     *
+     * @return mapa nuevo con el mismo contenido
+     */
+    public MapaCompacto copia() {
+        MapaCompacto copia = new MapaCompacto(filas, columnas);
+        System.arraycopy(celdas, 0, copia.celdas, 0, celdas.length);
+        copia.capa.copiarDe(capa);
+        copia.campoInicio = campoInicio;
+        return copia;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MapaCompacto)) return false;
+        MapaCompacto m = (MapaCompacto) o;
+        return filas == m.filas && columnas == m.columnas && Arrays.equals(celdas, m.celdas);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * filas + columnas) + Arrays.hashCode(celdas);
+    }
+}
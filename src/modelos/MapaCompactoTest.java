@@ -0,0 +1,92 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link MapaCompacto}.
+ *
+ * Verifica:
+ * - Estado inicial relleno de paredes
+ * - Lectura y escritura por coordenadas e índice
+ * - Conversión desde y hacia {@code Celda[][]}
+ * - Límites y transitabilidad
+ */
+public class MapaCompactoTest {
+
+    /**
+     * Verifica que un mapa nuevo está relleno de paredes.
+     */
+    @Test
+    public void mapa_nuevo_relleno_de_paredes() {
+        MapaCompacto mapa = new MapaCompacto(3, 4);
+        assertEquals(3, mapa.getFilas());
+        assertEquals(4, mapa.getColumnas());
+        assertEquals(12, mapa.tamaño());
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            assertEquals(Celda.PARED, mapa.obtener(i));
+        }
+    }
+
+    /**
+     * Verifica que coordenadas e índice lineal acceden a la misma celda.
+     */
+    @Test
+    public void establecer_y_obtener_por_coordenadas_e_indice() {
+        MapaCompacto mapa = new MapaCompacto(3, 4);
+        mapa.establecer(1, 2, Celda.PREGUNTA);
+        assertEquals(6, mapa.indice(1, 2));
+        assertEquals(Celda.PREGUNTA, mapa.obtener(6));
+        assertEquals(new Posicion(1, 2), mapa.posicion(6));
+        mapa.establecer(11, Celda.META);
+        assertEquals(Celda.META, mapa.obtener(2, 3));
+    }
+
+    /**
+     * Verifica que la conversión ida y vuelta conserva todas las celdas.
+     */
+    @Test
+    public void conversion_matriz_ida_y_vuelta() {
+        Celda[][] original = GeneradorLaberinto.generarLaberintoAleatorio(16, 10, 5, 8L);
+        MapaCompacto mapa = MapaCompacto.desdeMatriz(original);
+        assertArrayEquals(original, mapa.aMatriz());
+    }
+
+    /**
+     * Verifica que el generador compacto coincide con el de matrices.
+     */
+    @Test
+    public void generador_compacto_coincide_con_matriz() {
+        MapaCompacto compacto = GeneradorLaberinto.generarMapaCompacto(
+                32, 20, 10, 12L, new AlgoritmoKruskal());
+        Celda[][] matriz = GeneradorLaberinto.generarLaberintoAleatorio(
+                32, 20, 10, 12L, new AlgoritmoKruskal());
+        assertArrayEquals(matriz, compacto.aMatriz());
+    }
+
+    /**
+     * Verifica la transitabilidad dentro y fuera de los límites.
+     */
+    @Test
+    public void es_transitable_respeta_limites() {
+        MapaCompacto mapa = new MapaCompacto(2, 2);
+        mapa.establecer(0, 0, Celda.INICIO);
+        assertTrue(mapa.esTransitable(0, 0));
+        assertFalse(mapa.esTransitable(0, 1));
+        assertFalse(mapa.esTransitable(-1, 0));
+        assertFalse(mapa.esTransitable(0, 2));
+    }
+
+    /**
+     * Verifica que una copia es independiente del original.
+     */
+    @Test
+    public void copia_es_independiente() {
+        MapaCompacto mapa = new MapaCompacto(2, 2);
+        MapaCompacto copia = mapa.copia();
+        assertEquals(mapa, copia);
+        copia.establecer(0, 0, Celda.LIBRE);
+        assertEquals(Celda.PARED, mapa.obtener(0, 0));
+        assertNotEquals(mapa, copia);
+    }
+}
@@ -0,0 +1,246 @@
+package modelos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Mapa de solo lectura respaldado directamente por un archivo de mapa
+ * ({@link ArchivoMapa}) proyectado en memoria.
+ *
+ * Las celdas se leen del {@link MappedByteBuffer} en cada consulta, sin
+ * copiar el mapa al heap: solo las páginas del archivo que se visitan llegan
+ * a cargarse, lo que permite jugar o dibujar una ventana pequeña de mapas
+ * enormes.
+ *
+ * Con la codificación empaquetada el acceso es directo: la celda {@code i}
+ * está en el {@code long} {@code i / 21}. Con RLE, al abrir se recorre una vez
+ * la secuencia de tramos y se guarda un índice con la celda y el byte de
+ * inicio de cada bloque de {@value #TRAMOS_POR_BLOQUE} tramos; una consulta
+ * busca su bloque por bisección y decodifica como mucho ese bloque.
+ *
+ * Todas las lecturas usan posiciones absolutas, por lo que varios hilos
+ * pueden consultar el mismo mapa a la vez.
+ */
+public final class MapaMapeado implements Tablero {
+    private static final Celda[] CELDAS = Celda.values();
+    static final int TRAMOS_POR_BLOQUE = 64;
+
+    private final ByteBuffer datos;
+    private final byte codificacion;
+    private final int filas;
+    private final int columnas;
+    private final long semilla;
+    private final String algoritmo;
+    // Índice RLE: celda y byte en que empieza cada bloque de tramos
+    private final int[] celdaBloque;
+    private final int[] byteBloque;
+
+    private MapaMapeado(ArchivoMapa.Cabecera cabecera, ByteBuffer datos) throws IOException {
+        this.datos = datos;
+        this.codificacion = cabecera.codificacion;
+        this.filas = cabecera.filas;
+        this.columnas = cabecera.columnas;
+        this.semilla = cabecera.semilla;
+        this.algoritmo = cabecera.algoritmo;
+
+        long total = (long) filas * columnas;
+        if (codificacion == ArchivoMapa.EMPAQUETADO) {
+            long esperado = 8L * ((total + ArchivoMapa.CELDAS_POR_PALABRA - 1) / ArchivoMapa.CELDAS_POR_PALABRA);
+            if (datos.limit() != esperado) {
+                throw new IOException("Longitud de datos empaquetados incorrecta");
+            }
+            this.celdaBloque = null;
+            this.byteBloque = null;
+        } else {
+            int[][] indice = indexarRle(datos, total);
+            this.celdaBloque = indice[0];
+            this.byteBloque = indice[1];
+        }
+    }
+
+    /**
+     * Proyecta en memoria el primer mapa de un archivo.
+     *
+     * @param ruta archivo de mapa
+     * @return mapa proyectado
+     * @throws IOException si no se puede leer o el formato no es válido
+     */
+    public static MapaMapeado abrir(Path ruta) throws IOException {
+        return abrir(ruta, 0);
+    }
+
+    /**
+     * Proyecta en memoria uno de los mapas de un archivo con varios registros.
+     *
+     * Los registros anteriores solo se recorren por su cabecera.
+     *
+     * @param ruta     archivo de mapa
+     * @param registro posición del mapa en el archivo (desde 0)
+     * @return mapa proyectado
+     * @throws IOException si no se puede leer o el formato no es válido
+     * @throws IllegalArgumentException si el archivo no tiene ese registro
+     */
+    public static MapaMapeado abrir(Path ruta, int registro) throws IOException {
+        if (registro < 0) {
+            throw new IllegalArgumentException("El número de registro no puede ser negativo");
+        }
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            // La proyección sigue siendo válida después de cerrar el canal
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            for (int k = 0; k < registro; k++) {
+                if (!buffer.hasRemaining()) {
+                    throw new IllegalArgumentException("El archivo solo contiene " + k + " mapas");
+                }
+                ArchivoMapa.Cabecera cabecera = ArchivoMapa.Cabecera.leer(buffer);
+                buffer.position(buffer.position() + cabecera.longitudDatos);
+            }
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("El archivo solo contiene " + registro + " mapas");
+            }
+            ArchivoMapa.Cabecera cabecera = ArchivoMapa.Cabecera.leer(buffer);
+            ByteBuffer datos = buffer.slice().limit(cabecera.longitudDatos).order(ByteOrder.LITTLE_ENDIAN);
+            return new MapaMapeado(cabecera, datos);
+        }
+    }
+
+    @Override
+    public int getFilas() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Semilla guardada en la cabecera.
+     *
+     * @return semilla de 64 bits
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Nombre del algoritmo guardado en la cabecera.
+     *
+     * @return nombre del algoritmo
+     */
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    @Override
+    public boolean contiene(int fila, int columna) {
+        return fila >= 0 && fila < filas && columna >= 0 && columna < columnas;
+    }
+
+    @Override
+    public Celda obtener(int fila, int columna) {
+        return CELDAS[codigo(fila * columnas + columna)];
+    }
+
+    @Override
+    public boolean esTransitable(int fila, int columna) {
+        return contiene(fila, columna) && codigo(fila * columnas + columna) != 0;
+    }
+
+    /**
+     * Copia el mapa completo al heap.
+     *
+     * @return mapa compacto con el mismo contenido
+     */
+    public MapaCompacto aMapaCompacto() {
+        byte[] codigos = new byte[filas * columnas];
+        for (int i = 0; i < codigos.length; i++) codigos[i] = codigo(i);
+        return MapaCompacto.desdeCodigos(filas, columnas, codigos);
+    }
+
+    /**
+     * Código de la celda en un índice lineal, leído del archivo proyectado.
+     */
+    private byte codigo(int indice) {
+        int codigo;
+        if (codificacion == ArchivoMapa.EMPAQUETADO) {
+            long palabra = datos.getLong(8 * (indice / ArchivoMapa.CELDAS_POR_PALABRA));
+            codigo = (int) (palabra >>> (ArchivoMapa.BITS_POR_CELDA * (indice % ArchivoMapa.CELDAS_POR_PALABRA))) & 7;
+        } else {
+            codigo = codigoRle(indice);
+        }
+        if (codigo >= CELDAS.length) {
+            throw new IllegalStateException("Celda inválida en el archivo de mapa: " + codigo);
+        }
+        return (byte) codigo;
+    }
+
+    private int codigoRle(int indice) {
+        // Último bloque que empieza en o antes de la celda
+        int bloque = Arrays.binarySearch(celdaBloque, indice);
+        if (bloque < 0) bloque = -bloque - 2;
+        int celda = celdaBloque[bloque];
+        int posicion = byteBloque[bloque];
+        while (true) {
+            long valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos.get(posicion++);
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            celda += (int) (valor >>> ArchivoMapa.BITS_POR_CELDA) + 1;
+            if (indice < celda) return (int) (valor & 7);
+        }
+    }
+
+    /**
+     * Recorre la secuencia RLE una vez, validándola y anotando dónde empieza
+     * cada bloque de tramos.
+     */
+    private static int[][] indexarRle(ByteBuffer datos, long total) throws IOException {
+        int[] celdas = new int[16];
+        int[] bytes = new int[16];
+        int bloques = 0;
+        long celda = 0;
+        int posicion = 0;
+        int tramos = 0;
+        int limite = datos.limit();
+        while (posicion < limite) {
+            if (tramos % TRAMOS_POR_BLOQUE == 0) {
+                if (bloques == celdas.length) {
+                    celdas = Arrays.copyOf(celdas, 2 * bloques);
+                    bytes = Arrays.copyOf(bytes, 2 * bloques);
+                }
+                celdas[bloques] = (int) celda;
+                bytes[bloques] = posicion;
+                bloques++;
+            }
+            long valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                if (posicion >= limite || desplazamiento > 35) {
+                    throw new IOException("Tramo RLE mal formado");
+                }
+                b = datos.get(posicion++);
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            celda += (valor >>> ArchivoMapa.BITS_POR_CELDA) + 1;
+            if (celda > total) throw new IOException("Tramo RLE fuera del mapa");
+            tramos++;
+        }
+        if (celda != total) {
+            throw new IOException("Datos RLE incompletos: " + celda + " de " + total + " celdas");
+        }
+        return new int[][]{Arrays.copyOf(celdas, bloques), Arrays.copyOf(bytes, bloques)};
+    }
+}
@@ -0,0 +1,117 @@
+package modelos;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import niveles.Basico;
+
+/**
+ * Pruebas unitarias para la clase {@link MapaMapeado}.
+ *
+ * Verifica el acceso aleatorio a mapas empaquetados y RLE, la selección de
+ * registros en archivos con varios mapas y el juego sobre un mapa proyectado.
+ */
+public class MapaMapeadoTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /**
+     * Verifica que cada celda de un laberinto empaquetado se lee igual.
+     */
+    @Test
+    public void acceso_aleatorio_empaquetado() throws IOException {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(203, 300, 100, 4L, new AlgoritmoKruskal());
+        Path ruta = carpeta.newFile("laberinto.wvm").toPath();
+        ArchivoMapa.guardar(ruta, new ArchivoMapa(mapa, 4L, "Kruskal"));
+
+        MapaMapeado mapeado = MapaMapeado.abrir(ruta);
+        assertEquals(203, mapeado.getFilas());
+        assertEquals("Kruskal", mapeado.getAlgoritmo());
+        assertEquals(4L, mapeado.getSemilla());
+        comprobarCeldas(mapa, mapeado);
+        assertEquals(mapa, mapeado.aMapaCompacto());
+    }
+
+    /**
+     * Verifica el acceso aleatorio con RLE, con suficientes tramos para que
+     * el índice tenga varios bloques.
+     */
+    @Test
+    public void acceso_aleatorio_rle() throws IOException {
+        // Mapa abierto con paredes dispersas: RLE con muchos tramos
+        MapaCompacto mapa = new MapaCompacto(150, 170);
+        mapa.rellenar(Celda.LIBRE);
+        for (int i = 0; i < mapa.tamaño(); i += 97) mapa.establecer(i, Celda.PARED);
+        mapa.establecer(0, Celda.INICIO);
+        mapa.establecer(mapa.tamaño() - 1, Celda.META);
+        Path ruta = carpeta.newFile("abierto.wvm").toPath();
+        ArchivoMapa.guardar(ruta, new ArchivoMapa(mapa, 0L, "Manual"));
+
+        MapaMapeado mapeado = MapaMapeado.abrir(ruta);
+        comprobarCeldas(mapa, mapeado);
+        assertFalse(mapeado.esTransitable(-1, 0));
+        assertFalse(mapeado.esTransitable(0, 170));
+    }
+
+    /**
+     * Verifica que se puede abrir cualquier registro de una colección.
+     */
+    @Test
+    public void abrir_registro_de_coleccion() throws IOException {
+        MapaCompacto[] mapas = new MapaCompacto[3];
+        ArchivoMapa[] registros = new ArchivoMapa[3];
+        for (int k = 0; k < 3; k++) {
+            mapas[k] = GeneradorLaberinto.generarMapaCompacto(20 + k, 3, 1, k, new AlgoritmoPrim());
+            registros[k] = new ArchivoMapa(mapas[k], k, "Prim");
+        }
+        Path ruta = carpeta.newFile("clase.wvm").toPath();
+        ArchivoMapa.guardarTodos(ruta, Arrays.asList(registros));
+
+        for (int k = 0; k < 3; k++) {
+            assertEquals(mapas[k], MapaMapeado.abrir(ruta, k).aMapaCompacto());
+        }
+    }
+
+    /**
+     * Verifica que pedir un registro inexistente produce un error.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void registro_inexistente_falla() throws IOException {
+        Path ruta = carpeta.newFile("uno.wvm").toPath();
+        ArchivoMapa.guardar(ruta, new ArchivoMapa(new MapaCompacto(3, 3), 0L, ""));
+        MapaMapeado.abrir(ruta, 1);
+    }
+
+    /**
+     * Verifica que se puede jugar directamente sobre un mapa proyectado.
+     */
+    @Test
+    public void juego_sobre_mapa_mapeado() throws IOException {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(16, 5, 3, 2L, new AlgoritmoPrim());
+        Path ruta = carpeta.newFile("partida.wvm").toPath();
+        ArchivoMapa.guardar(ruta, new ArchivoMapa(mapa, 2L, "Prim"));
+
+        Jugador jugador = new Jugador("Ana", "Basico");
+        Juego juego = new Juego(jugador, new Basico(), MapaMapeado.abrir(ruta));
+        juego.iniciar();
+        boolean derecha = mapa.esTransitable(0, 1);
+        assertEquals(derecha, juego.moverJugador(Direccion.DERECHA));
+        assertFalse(juego.moverJugador(derecha ? Direccion.ARRIBA : Direccion.IZQUIERDA));
+    }
+
+    private static void comprobarCeldas(MapaCompacto mapa, MapaMapeado mapeado) {
+        for (int r = 0; r < mapa.getFilas(); r++) {
+            for (int c = 0; c < mapa.getColumnas(); c++) {
+                assertEquals(mapa.obtener(r, c), mapeado.obtener(r, c));
+                assertEquals(mapa.esTransitable(r, c), mapeado.esTransitable(r, c));
+            }
+        }
+    }
+}
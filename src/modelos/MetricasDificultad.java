@@ -0,0 +1,126 @@
+package modelos;
+
+import java.util.Locale;
+
+/**
+ * Métricas estructurales de dificultad de un mapa.
+ *
+ * Las calcula {@link AnalizadorDificultad}; son inmutables y se pueden
+ * comparar entre mapas y niveles para ajustar la generación con datos en
+ * lugar de a ojo.
+ */
+public final class MetricasDificultad {
+    private final int transitables;
+    private final int longitudSolucion;
+    private final int callejones;
+    private final int cruces;
+    private final double factorRamificacion;
+    private final double longitudMediaPasillo;
+    private final int preguntas;
+    private final int preguntasEnSolucion;
+
+    MetricasDificultad(int transitables, int longitudSolucion, int callejones, int cruces,
+                       double factorRamificacion, double longitudMediaPasillo,
+                       int preguntas, int preguntasEnSolucion) {
+        this.transitables = transitables;
+        this.longitudSolucion = longitudSolucion;
+        this.callejones = callejones;
+        this.cruces = cruces;
+        this.factorRamificacion = factorRamificacion;
+        this.longitudMediaPasillo = longitudMediaPasillo;
+        this.preguntas = preguntas;
+        this.preguntasEnSolucion = preguntasEnSolucion;
+    }
+
+    /**
+     * Número de celdas que no son pared.
+     *
+     * @return celdas transitables
+     */
+    public int getTransitables() {
+        return transitables;
+    }
+
+    /**
+     * Pasos del camino más corto del inicio a la meta.
+     *
+     * @return longitud de la solución, o -1 si no hay meta alcanzable
+     */
+    public int getLongitudSolucion() {
+        return longitudSolucion;
+    }
+
+    /**
+     * Celdas transitables con un único vecino transitable.
+     *
+     * @return callejones sin salida
+     */
+    public int getCallejones() {
+        return callejones;
+    }
+
+    /**
+     * Celdas transitables con tres o cuatro vecinos transitables.
+     *
+     * @return cruces del mapa
+     */
+    public int getCruces() {
+        return cruces;
+    }
+
+    /**
+     * Media de salidas hacia delante al entrar en una celda que no es un
+     * callejón (vecinos transitables menos uno): 1 en un pasillo puro, más
+     * cuanto más ramificado es el mapa.
+     *
+     * @return factor de ramificación
+     */
+    public double getFactorRamificacion() {
+        return factorRamificacion;
+    }
+
+    /**
+     * Longitud media de los pasillos, tramos maximales de celdas con
+     * exactamente dos vecinos transitables.
+     *
+     * @return celdas por pasillo
+     */
+    public double getLongitudMediaPasillo() {
+        return longitudMediaPasillo;
+    }
+
+    /**
+     * Número total de preguntas del mapa.
+     *
+     * @return celdas de pregunta
+     */
+    public int getPreguntas() {
+        return preguntas;
+    }
+
+    /**
+     * Preguntas situadas sobre el camino más corto del inicio a la meta.
+     *
+     * @return preguntas en la solución
+     */
+    public int getPreguntasEnSolucion() {
+        return preguntasEnSolucion;
+    }
+
+    /**
+     * Preguntas por paso a lo largo de la solución.
+     *
+     * @return preguntas en la solución entre su longitud, o 0 sin solución
+     */
+    public double getDensidadPreguntasSolucion() {
+        return longitudSolucion > 0 ? (double) preguntasEnSolucion / longitudSolucion : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "solucion=%d callejones=%d cruces=%d ramificacion=%.3f pasillo=%.2f preguntas=%d/%d",
+            longitudSolucion, callejones, cruces, factorRamificacion, longitudMediaPasillo,
+            preguntasEnSolucion, preguntas);
+    }
+}
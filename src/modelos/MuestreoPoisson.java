@@ -0,0 +1,123 @@
+package modelos;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Elección de celdas con separación mínima (muestreo de disco de Poisson).
+ *
+ * Elige celdas entre unas candidatas de modo que ningún par elegido quede a
+ * distancia Manhattan menor que la separación pedida, lo que reparte los
+ * elementos como ruido azul en lugar de dejar que se amontonen como con una
+ * elección uniforme.
+ *
+ * Las candidatas se barajan y se aceptan por orden si no chocan con ninguna
+ * ya aceptada. Las aceptadas se guardan en una rejilla de fondo de cubos de
+ * {@code separacion x separacion} celdas con listas enlazadas en arreglos de
+ * enteros: dos celdas a distancia Manhattan menor que la separación están en
+ * cubos vecinos, así que cada comprobación mira solo 3x3 cubos y el coste es
+ * casi lineal en el número de candidatas.
+ *
+ * Si con la separación actual no caben todos los elementos, se reduce en una
+ * cuarta parte y se sigue con las candidatas restantes conservando las ya elegidas;
+ * con separación 1 se acepta cualquier celda, de modo que siempre se elige la
+ * cantidad pedida si hay candidatas suficientes.
+ */
+final class MuestreoPoisson {
+
+    private MuestreoPoisson() {
+    }
+
+    /**
+     * Separación que repartiría los elementos uniformemente entre las
+     * candidatas.
+     *
+     * @param candidatas número de celdas candidatas
+     * @param cantidad   elementos a colocar
+     * @return separación Manhattan de partida, al menos 2
+     */
+    static int separacionAutomatica(int candidatas, int cantidad) {
+        if (cantidad <= 0) return 2;
+        // Discos Manhattan disjuntos de radio d/2 ocupan d²/2 celdas cada uno.
+        // Aun en mapas muy llenos se intenta primero evitar celdas contiguas.
+        return Math.max(2, (int) Math.sqrt(2.0 * candidatas / cantidad));
+    }
+
+    /**
+     * Reordena las candidatas para que las {@code cantidad} primeras sean las
+     * elegidas, en orden aleatorio.
+     *
+     * @param filas      filas del mapa
+     * @param columnas   columnas del mapa, para pasar de índice a posición
+     * @param candidatas índices lineales de las celdas candidatas
+     * @param total      número de candidatas válidas al principio del arreglo
+     * @param cantidad   celdas a elegir; no más de {@code total}
+     * @param separacion separación Manhattan mínima de partida
+     * @param random     generador de la llamada
+     */
+    static void elegir(int filas, int columnas, int[] candidatas, int total, int cantidad,
+                       int separacion, SplittableRandom random) {
+        for (int k = total - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            int t = candidatas[k];
+            candidatas[k] = candidatas[j];
+            candidatas[j] = t;
+        }
+
+        int aceptadas = 0;
+        int[] siguiente = new int[cantidad];
+        for (int d = separacion; d > 1 && aceptadas < cantidad; d = Math.min(d - 1, d * 3 / 4)) {
+            int cubosFila = (filas + d - 1) / d;
+            int cubosColumna = (columnas + d - 1) / d;
+            int[] cabeza = new int[cubosFila * cubosColumna];
+            Arrays.fill(cabeza, -1);
+            for (int k = 0; k < aceptadas; k++) {
+                insertar(cabeza, siguiente, k, candidatas[k], columnas, d, cubosColumna);
+            }
+            for (int i = aceptadas; i < total && aceptadas < cantidad; i++) {
+                int indice = candidatas[i];
+                if (!libreDeVecinos(cabeza, siguiente, candidatas, indice, columnas, d,
+                                    cubosFila, cubosColumna)) {
+                    continue;
+                }
+                candidatas[i] = candidatas[aceptadas];
+                candidatas[aceptadas] = indice;
+                insertar(cabeza, siguiente, aceptadas, indice, columnas, d, cubosColumna);
+                aceptadas++;
+            }
+        }
+        // Las restantes ya están barajadas: separación 1 acepta cualquiera.
+        // Se barajan las elegidas para que el orden no dependa de la pasada.
+        for (int k = cantidad - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            int t = candidatas[k];
+            candidatas[k] = candidatas[j];
+            candidatas[j] = t;
+        }
+    }
+
+    private static void insertar(int[] cabeza, int[] siguiente, int k, int indice,
+                                 int columnas, int d, int cubosColumna) {
+        int cubo = (indice / columnas / d) * cubosColumna + (indice % columnas) / d;
+        siguiente[k] = cabeza[cubo];
+        cabeza[cubo] = k;
+    }
+
+    private static boolean libreDeVecinos(int[] cabeza, int[] siguiente, int[] candidatas, int indice,
+                                          int columnas, int d, int cubosFila, int cubosColumna) {
+        int fila = indice / columnas;
+        int columna = indice % columnas;
+        int cf = fila / d;
+        int cc = columna / d;
+        for (int f = Math.max(0, cf - 1); f <= Math.min(cubosFila - 1, cf + 1); f++) {
+            for (int c = Math.max(0, cc - 1); c <= Math.min(cubosColumna - 1, cc + 1); c++) {
+                for (int k = cabeza[f * cubosColumna + c]; k >= 0; k = siguiente[k]) {
+                    int otro = candidatas[k];
+                    int distancia = Math.abs(otro / columnas - fila) + Math.abs(otro % columnas - columna);
+                    if (distancia < d) return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link MuestreoPoisson} y los modos de
+ * colocación con separación de los generadores.
+ *
+ * Verifica:
+ * - Separación mínima entre los elementos cuando caben
+ * - Colocación completa reduciendo la separación cuando no caben
+ * - Reproducibilidad de los mapas generados con separación
+ */
+public class MuestreoPoissonTest {
+
+    /**
+     * Verifica la separación Manhattan entre todas las celdas elegidas.
+     */
+    @Test
+    public void respeta_separacion() {
+        int lado = 200;
+        int[] candidatas = new int[lado * lado];
+        for (int i = 0; i < candidatas.length; i++) candidatas[i] = i;
+        MuestreoPoisson.elegir(lado, lado, candidatas, candidatas.length, 300, 8, new SplittableRandom(4L));
+        for (int a = 0; a < 300; a++) {
+            for (int b = a + 1; b < 300; b++) {
+                int distancia = Math.abs(candidatas[a] / lado - candidatas[b] / lado)
+                              + Math.abs(candidatas[a] % lado - candidatas[b] % lado);
+                assertTrue("Distancia " + distancia, distancia >= 8);
+            }
+        }
+    }
+
+    /**
+     * Verifica que se eligen todas las celdas pedidas aunque no quepan con la
+     * separación inicial, sin repetir ninguna.
+     */
+    @Test
+    public void coloca_todos_aunque_no_quepan() {
+        int[] candidatas = new int[100];
+        for (int i = 0; i < candidatas.length; i++) candidatas[i] = i;
+        MuestreoPoisson.elegir(10, 10, candidatas, 100, 90, 6, new SplittableRandom(1L));
+        Set<Integer> elegidas = new HashSet<>();
+        for (int k = 0; k < 90; k++) assertTrue(elegidas.add(candidatas[k]));
+        for (int k = 0; k < 100; k++) assertTrue(candidatas[k] >= 0 && candidatas[k] < 100);
+    }
+
+    /**
+     * Verifica que la colocación separada conserva cantidades, alcance y
+     * reproducibilidad, y separa más que la uniforme.
+     */
+    @Test
+    public void laberinto_con_separacion() {
+        MapaCompacto a = GeneradorLaberinto.generarMapaCompacto(129, 60, 20, 5L, new AlgoritmoKruskal(),
+            0.75, 1.0, GeneradorLaberinto.SEPARACION_AUTOMATICA);
+        MapaCompacto b = GeneradorLaberinto.generarMapaCompacto(129, 60, 20, 5L, new AlgoritmoKruskal(),
+            0.75, 1.0, GeneradorLaberinto.SEPARACION_AUTOMATICA);
+        assertEquals(a, b);
+        assertTrue(VerificadorAlcance.esCompletable(a));
+        assertEquals(60, contar(a, Celda.PREGUNTA));
+        assertEquals(20, contar(a, Celda.DATO));
+
+        MapaCompacto uniforme = GeneradorLaberinto.generarMapaCompacto(129, 60, 20, 5L, new AlgoritmoKruskal());
+        assertTrue(separacionMinima(a) > separacionMinima(uniforme));
+    }
+
+    /**
+     * Verifica la colocación separada de preguntas y salida en matrices.
+     */
+    @Test
+    public void preguntas_y_salida_con_separacion() {
+        Celda[][] mapa = GeneradorMapas.crearMapaBase(30, 30);
+        GeneradorMapas.colocarPreguntasYSalida(mapa, 15, 9L, 6);
+        MapaCompacto compacto = MapaCompacto.desdeMatriz(mapa);
+        assertEquals(15, contar(compacto, Celda.PREGUNTA));
+        assertEquals(1, contar(compacto, Celda.META));
+        assertTrue(separacionMinima(compacto) >= 6);
+    }
+
+    /**
+     * Verifica que una separación negativa se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void separacion_negativa_falla() {
+        GeneradorLaberinto.generarMapaCompacto(9, 1, 1, 1L, new AlgoritmoPrim(), 0.75, 1.0, -2);
+    }
+
+    private static int contar(MapaCompacto mapa, Celda tipo) {
+        int total = 0;
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            if (mapa.obtener(i) == tipo) total++;
+        }
+        return total;
+    }
+
+    /**
+     * Menor distancia Manhattan entre preguntas, datos y meta.
+     */
+    private static int separacionMinima(MapaCompacto mapa) {
+        int[] elementos = new int[mapa.tamaño()];
+        int n = 0;
+        for (int i = 0; i < mapa.tamaño(); i++) {
+            Celda c = mapa.obtener(i);
+            if (c == Celda.PREGUNTA || c == Celda.DATO || c == Celda.META) elementos[n++] = i;
+        }
+        int columnas = mapa.getColumnas();
+        int minima = Integer.MAX_VALUE;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                minima = Math.min(minima, Math.abs(elementos[a] / columnas - elementos[b] / columnas)
+                                        + Math.abs(elementos[a] % columnas - elementos[b] % columnas));
+            }
+        }
+        return minima;
+    }
+}
@@ -0,0 +1,230 @@
+package modelos;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Mundo sin límites formado por trozos de laberinto generados bajo demanda.
+ *
+ * El plano se divide en trozos de {@value #TAMAÑO_TROZO} x
+ * {@value #TAMAÑO_TROZO} celdas. Cada trozo se genera solo a partir de
+ * {@code (semillaMundo, trozoX, trozoY)}: su interior es un laberinto perfecto
+ * tallado con backtracking sobre los nodos de coordenadas pares, y su última
+ * fila y columna son la frontera con los trozos de abajo y de la derecha, en
+ * la que el propio trozo abre uno o dos pasos frente a sus nodos. Como la
+ * frontera pertenece a un único trozo, los trozos vecinos encajan sin
+ * necesidad de generarlos juntos y todo el mundo queda conectado.
+ *
+ * Los trozos generados se guardan en una caché LRU de capacidad fija. Un
+ * trozo expulsado se vuelve a generar idéntico si se visita otra vez.
+ *
+ * El trozo (0, 0) tiene el {@link Celda#INICIO} en (0, 0). Cada trozo contiene
+ * algunas preguntas y datos curiosos; el mundo no tiene meta.
+ *
+ * No es seguro entre hilos: está pensado para usarse desde el hilo de la
+ * partida.
+ */
+public class MundoInfinito implements Tablero {
+
+    /** Lado de un trozo en celdas; par para que las fronteras caigan en impares. */
+    public static final int TAMAÑO_TROZO = 32;
+
+    private static final int CAPACIDAD_POR_DEFECTO = 64;
+    private static final int PREGUNTAS_POR_TROZO = 2;
+    private static final int DATOS_POR_TROZO = 1;
+    private static final AlgoritmoLaberinto ALGORITMO = new AlgoritmoBacktracking();
+
+    private final long semilla;
+    private final Map<Long, MapaCompacto> cache;
+    private long generaciones;
+
+    /**
+     * Crea un mundo con la capacidad de caché por defecto.
+     *
+     * @param semilla semilla de 64 bits del mundo
+     */
+    public MundoInfinito(long semilla) {
+        this(semilla, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un mundo que conserva como mucho {@code capacidad} trozos.
+     *
+     * @param semilla   semilla de 64 bits del mundo
+     * @param capacidad número máximo de trozos en caché
+     */
+    public MundoInfinito(long semilla, int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser al menos 1");
+        }
+        this.semilla = semilla;
+        this.cache = new LinkedHashMap<Long, MapaCompacto>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MapaCompacto> mayor) {
+                return size() > capacidad;
+            }
+        };
+    }
+
+    /**
+     * Semilla del mundo.
+     *
+     * @return semilla de 64 bits
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    @Override
+    public int getFilas() {
+        return SIN_LIMITE;
+    }
+
+    @Override
+    public int getColumnas() {
+        return SIN_LIMITE;
+    }
+
+    @Override
+    public boolean contiene(int fila, int columna) {
+        return true;
+    }
+
+    @Override
+    public Celda obtener(int fila, int columna) {
+        MapaCompacto trozo = trozo(Math.floorDiv(columna, TAMAÑO_TROZO), Math.floorDiv(fila, TAMAÑO_TROZO));
+        return trozo.obtener(Math.floorMod(fila, TAMAÑO_TROZO), Math.floorMod(columna, TAMAÑO_TROZO));
+    }
+
+    @Override
+    public boolean esTransitable(int fila, int columna) {
+        MapaCompacto trozo = trozo(Math.floorDiv(columna, TAMAÑO_TROZO), Math.floorDiv(fila, TAMAÑO_TROZO));
+        return trozo.getCapaTransitable().esTransitable(Math.floorMod(fila, TAMAÑO_TROZO),
+                                                        Math.floorMod(columna, TAMAÑO_TROZO));
+    }
+
+    /**
+     * Genera o refresca en la caché el trozo del jugador y sus ocho vecinos.
+     */
+    @Override
+    public void prepararAlrededor(int fila, int columna) {
+        int tx = Math.floorDiv(columna, TAMAÑO_TROZO);
+        int ty = Math.floorDiv(fila, TAMAÑO_TROZO);
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                trozo(tx + dx, ty + dy);
+            }
+        }
+    }
+
+    /**
+     * Copia una región rectangular del mundo en un mapa finito.
+     *
+     * @param fila     fila de la esquina superior izquierda
+     * @param columna  columna de la esquina superior izquierda
+     * @param filas    número de filas de la región
+     * @param columnas número de columnas de la región
+     * @return mapa compacto con el contenido de la región
+     */
+    public MapaCompacto recortar(int fila, int columna, int filas, int columnas) {
+        MapaCompacto region = new MapaCompacto(filas, columnas);
+        for (int r = 0; r < filas; r++) {
+            for (int c = 0; c < columnas; c++) {
+                region.establecer(r, c, obtener(fila + r, columna + c));
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Número de trozos que hay ahora en la caché.
+     *
+     * @return trozos en memoria
+     */
+    public int trozosEnCache() {
+        return cache.size();
+    }
+
+    /**
+     * Número total de trozos generados, contando las regeneraciones.
+     *
+     * @return generaciones realizadas
+     */
+    public long getGeneraciones() {
+        return generaciones;
+    }
+
+    /**
+     * Devuelve el trozo indicado, generándolo si no está en la caché.
+     */
+    private MapaCompacto trozo(int tx, int ty) {
+        long clave = ((long) tx << 32) | (ty & 0xFFFFFFFFL);
+        MapaCompacto trozo = cache.get(clave);
+        if (trozo == null) {
+            trozo = generarTrozo(semilla, tx, ty);
+            generaciones++;
+            cache.put(clave, trozo);
+        }
+        return trozo;
+    }
+
+    /**
+     * Genera un trozo a partir de la semilla del mundo y sus coordenadas.
+     *
+     * @param semillaMundo semilla del mundo
+     * @param tx           coordenada horizontal del trozo
+     * @param ty           coordenada vertical del trozo
+     * @return trozo de {@value #TAMAÑO_TROZO} x {@value #TAMAÑO_TROZO} celdas
+     */
+    static MapaCompacto generarTrozo(long semillaMundo, int tx, int ty) {
+        SplittableRandom random = new SplittableRandom(semillaTrozo(semillaMundo, tx, ty));
+        MapaCompacto trozo = new MapaCompacto(TAMAÑO_TROZO, TAMAÑO_TROZO);
+
+        // Los nodos quedan en 0..TAMAÑO_TROZO-2: la última fila y columna
+        // siguen siendo pared y hacen de frontera
+        ALGORITMO.tallar(trozo, random);
+
+        int nodos = TAMAÑO_TROZO / 2;
+        int borde = TAMAÑO_TROZO - 1;
+        int pasosDerecha = 1 + random.nextInt(2);
+        for (int k = 0; k < pasosDerecha; k++) {
+            trozo.establecer(2 * random.nextInt(nodos), borde, Celda.LIBRE);
+        }
+        int pasosAbajo = 1 + random.nextInt(2);
+        for (int k = 0; k < pasosAbajo; k++) {
+            trozo.establecer(borde, 2 * random.nextInt(nodos), Celda.LIBRE);
+        }
+
+        if (tx == 0 && ty == 0) trozo.establecer(0, 0, Celda.INICIO);
+        colocarElementos(trozo, random);
+        return trozo;
+    }
+
+    /**
+     * Coloca las preguntas y datos del trozo en nodos libres distintos.
+     */
+    private static void colocarElementos(MapaCompacto trozo, SplittableRandom random) {
+        int cantidad = PREGUNTAS_POR_TROZO + DATOS_POR_TROZO;
+        int nodos = TAMAÑO_TROZO / 2;
+        int colocados = 0;
+        while (colocados < cantidad) {
+            int fila = 2 * random.nextInt(nodos);
+            int columna = 2 * random.nextInt(nodos);
+            if (trozo.obtener(fila, columna) != Celda.LIBRE) continue;
+            trozo.establecer(fila, columna, colocados < PREGUNTAS_POR_TROZO ? Celda.PREGUNTA : Celda.DATO);
+            colocados++;
+        }
+    }
+
+    /**
+     * Deriva la semilla de un trozo mezclando sus coordenadas con la del mundo
+     * (finalizador de SplitMix64), de modo que trozos vecinos no se parezcan.
+     */
+    static long semillaTrozo(long semillaMundo, int tx, int ty) {
+        long z = semillaMundo ^ (tx * 0x9E3779B97F4A7C15L) ^ (ty * 0xC2B2AE3D27D4EB4FL);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,136 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+
+import niveles.Exploracion;
+
+/**
+ * Pruebas unitarias para la clase {@link MundoInfinito}.
+ *
+ * Verifica:
+ * - Generación determinista de trozos, también tras expulsarlos de la caché
+ * - Conexión entre trozos vecinos
+ * - Coordenadas negativas
+ * - Partidas sobre el tablero infinito
+ */
+public class MundoInfinitoTest {
+
+    private static final int T = MundoInfinito.TAMAÑO_TROZO;
+
+    /**
+     * Verifica que dos mundos con la misma semilla son idénticos.
+     */
+    @Test
+    public void misma_semilla_mismo_mundo() {
+        MundoInfinito a = new MundoInfinito(42L);
+        MundoInfinito b = new MundoInfinito(42L);
+        assertEquals(a.recortar(-40, -40, 100, 100), b.recortar(-40, -40, 100, 100));
+        assertNotEquals(a.recortar(0, 0, T, T), new MundoInfinito(43L).recortar(0, 0, T, T));
+    }
+
+    /**
+     * Verifica que la caché respeta su capacidad y que los trozos expulsados
+     * se regeneran iguales.
+     */
+    @Test
+    public void trozos_expulsados_se_regeneran_iguales() {
+        MundoInfinito mundo = new MundoInfinito(7L, 4);
+        MapaCompacto antes = mundo.recortar(0, 0, T, T);
+        for (int k = 1; k <= 10; k++) {
+            mundo.obtener(k * T, k * T);
+        }
+        assertEquals(4, mundo.trozosEnCache());
+        long generaciones = mundo.getGeneraciones();
+        assertEquals(antes, mundo.recortar(0, 0, T, T));
+        assertEquals(generaciones + 1, mundo.getGeneraciones());
+    }
+
+    /**
+     * Verifica que una región de 3x3 trozos está completamente conectada
+     * sin salir de ella.
+     */
+    @Test
+    public void trozos_vecinos_conectados() {
+        for (long semilla = 0; semilla < 5; semilla++) {
+            MundoInfinito mundo = new MundoInfinito(semilla);
+            MapaCompacto region = mundo.recortar(-T, -T, 3 * T, 3 * T);
+            // Las paredes de frontera del último trozo de la región no tienen
+            // vecino dentro de ella, por lo que se descarta esa fila y columna
+            MapaCompacto interior = mundo.recortar(-T, -T, 3 * T - 1, 3 * T - 1);
+            int transitables = interior.getCapaTransitable().contarTransitables();
+            assertEquals(transitables, alcanzables(interior, T, T));
+            assertEquals(Celda.INICIO, region.obtener(T, T));
+        }
+    }
+
+    /**
+     * Verifica que las coordenadas negativas caen en los trozos correctos.
+     */
+    @Test
+    public void coordenadas_negativas() {
+        MundoInfinito mundo = new MundoInfinito(3L);
+        MapaCompacto trozo = MundoInfinito.generarTrozo(3L, -1, -2);
+        for (int r = 0; r < T; r++) {
+            for (int c = 0; c < T; c++) {
+                assertEquals(trozo.obtener(r, c), mundo.obtener(-2 * T + r, -T + c));
+            }
+        }
+        assertTrue(mundo.contiene(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertTrue(mundo.esInfinito());
+    }
+
+    /**
+     * Verifica que una partida de exploración usa el tablero infinito.
+     */
+    @Test
+    public void juego_sobre_mundo_infinito() {
+        Jugador jugador = new Jugador("Explorador", "Exploracion");
+        Juego juego = new Juego(jugador, new Exploracion());
+        juego.iniciar();
+        assertTrue(juego.obtenerTablero().esInfinito());
+        assertNull(juego.obtenerMapaCompacto());
+        assertNull(juego.obtenerMapa());
+
+        // Caminar siguiendo la pared derecha nunca bloquea al jugador
+        int movimientos = 0;
+        Direccion[] orden = {Direccion.DERECHA, Direccion.ABAJO, Direccion.IZQUIERDA, Direccion.ARRIBA};
+        for (int paso = 0; paso < 500; paso++) {
+            for (Direccion d : orden) {
+                if (juego.moverJugador(d)) {
+                    movimientos++;
+                    break;
+                }
+            }
+        }
+        assertEquals(500, movimientos);
+        Posicion p = jugador.getPosicion();
+        assertTrue(juego.obtenerTablero().esTransitable(p.getFila(), p.getColumna()));
+    }
+
+    private static int alcanzables(MapaCompacto mapa, int fila, int columna) {
+        int columnas = mapa.getColumnas();
+        boolean[] visitado = new boolean[mapa.tamaño()];
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        int inicio = mapa.indice(fila, columna);
+        visitado[inicio] = true;
+        cola.add(inicio);
+        int total = 0;
+        int[][] dirs = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        while (!cola.isEmpty()) {
+            int actual = cola.poll();
+            total++;
+            for (int[] d : dirs) {
+                int nr = actual / columnas + d[0];
+                int nc = actual % columnas + d[1];
+                if (mapa.esTransitable(nr, nc) && !visitado[nr * columnas + nc]) {
+                    visitado[nr * columnas + nc] = true;
+                    cola.add(nr * columnas + nc);
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,107 @@
+package modelos;
+
+/**
+ * Banda de dificultad objetivo de un nivel.
+ *
+ * Se expresa con dos métricas independientes del tamaño del mapa, ambas como
+ * fracción de las celdas transitables: la longitud de la solución (cuánto
+ * del mapa hay que recorrer) y los callejones sin salida (cuántas trampas
+ * hay). Un mapa cumple el objetivo si ambas caen dentro de su rango.
+ */
+public final class ObjetivoDificultad {
+    private final double solucionMinima;
+    private final double solucionMaxima;
+    private final double callejonesMinimos;
+    private final double callejonesMaximos;
+
+    /**
+     * Crea un objetivo de dificultad.
+     *
+     * @param solucionMinima    fracción mínima de celdas en la solución
+     * @param solucionMaxima    fracción máxima de celdas en la solución
+     * @param callejonesMinimos fracción mínima de callejones
+     * @param callejonesMaximos fracción máxima de callejones
+     */
+    public ObjetivoDificultad(double solucionMinima, double solucionMaxima,
+                              double callejonesMinimos, double callejonesMaximos) {
+        if (!(0 <= solucionMinima && solucionMinima <= solucionMaxima && solucionMaxima <= 1)
+                || !(0 <= callejonesMinimos && callejonesMinimos <= callejonesMaximos
+                     && callejonesMaximos <= 1)) {
+            throw new IllegalArgumentException("Se requiere 0 <= mínimo <= máximo <= 1 en cada rango");
+        }
+        this.solucionMinima = solucionMinima;
+        this.solucionMaxima = solucionMaxima;
+        this.callejonesMinimos = callejonesMinimos;
+        this.callejonesMaximos = callejonesMaximos;
+    }
+
+    /**
+     * Indica si unas métricas están dentro de la banda.
+     *
+     * @param metricas métricas de un mapa
+     * @return {@code true} si la desviación es nula
+     */
+    public boolean cumple(MetricasDificultad metricas) {
+        return desviacion(metricas) == 0;
+    }
+
+    /**
+     * Distancia de unas métricas a la banda.
+     *
+     * Suma, para cada métrica, cuánto se sale de su rango; vale 0 dentro de la
+     * banda e infinito para un mapa sin solución.
+     *
+     * @param metricas métricas de un mapa
+     * @return desviación no negativa; menor es mejor
+     */
+    public double desviacion(MetricasDificultad metricas) {
+        if (metricas.getLongitudSolucion() < 0 || metricas.getTransitables() == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double transitables = metricas.getTransitables();
+        return fuera(metricas.getLongitudSolucion() / transitables, solucionMinima, solucionMaxima)
+             + fuera(metricas.getCallejones() / transitables, callejonesMinimos, callejonesMaximos);
+    }
+
+    private static double fuera(double valor, double minimo, double maximo) {
+        if (valor < minimo) return minimo - valor;
+        if (valor > maximo) return valor - maximo;
+        return 0;
+    }
+
+    /**
+     * Fracción mínima de celdas transitables en la solución.
+     *
+     * @return fracción entre 0 y 1
+     */
+    public double getSolucionMinima() {
+        return solucionMinima;
+    }
+
+    /**
+     * Fracción máxima de celdas transitables en la solución.
+     *
+     * @return fracción entre 0 y 1
+     */
+    public double getSolucionMaxima() {
+        return solucionMaxima;
+    }
+
+    /**
+     * Fracción mínima de celdas transitables que son callejones.
+     *
+     * @return fracción entre 0 y 1
+     */
+    public double getCallejonesMinimos() {
+        return callejonesMinimos;
+    }
+
+    /**
+     * Fracción máxima de celdas transitables que son callejones.
+     *
+     * @return fracción entre 0 y 1
+     */
+    public double getCallejonesMaximos() {
+        return callejonesMaximos;
+    }
+}
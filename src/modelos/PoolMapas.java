@@ -0,0 +1,189 @@
+package modelos;
+
+import niveles.Nivel;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserva de mapas pre-generados por nivel.
+ *
+ * Mantiene para cada nivel una cola acotada de mapas listos para jugar que un
+ * pequeño grupo de hilos de fondo rellena. Cuando la cola baja hasta la marca
+ * baja se programa un relleno que genera mapas hasta alcanzar la marca alta.
+ * Así, iniciar una partida consiste en sacar un mapa de la cola en lugar de
+ * generarlo en el hilo de la interfaz; solo si la cola está vacía se genera
+ * el mapa en el momento.
+ *
+ * Con un {@link SelectorMapas} los rellenos eligen, entre varios candidatos,
+ * los mapas más cercanos a la dificultad objetivo de cada nivel. La selección
+ * ocurre siempre en segundo plano: el mapa generado en el momento por una
+ * cola vacía no pasa por ella.
+ *
+ * Los niveles se identifican por {@link Nivel#nombreNivel()}.
+ */
+public class PoolMapas {
+    private final int marcaBaja;
+    private final int marcaAlta;
+    private final ExecutorService trabajadores;
+    private final SelectorMapas selector;
+    private final ConcurrentHashMap<String, Reserva> reservas = new ConcurrentHashMap<>();
+    private volatile boolean cerrado;
+
+    /**
+     * Cola de mapas de un nivel y el estado de su relleno.
+     */
+    private static final class Reserva {
+        final Nivel nivel;
+        final ArrayBlockingQueue<MapaCompacto> cola;
+        final AtomicBoolean rellenando = new AtomicBoolean();
+
+        Reserva(Nivel nivel, int capacidad) {
+            this.nivel = nivel;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+    }
+
+    /**
+     * Crea una reserva con marcas 1 y 3 y un único hilo de fondo.
+     */
+    public PoolMapas() {
+        this(1, 3, 1);
+    }
+
+    /**
+     * Crea una reserva de mapas.
+     *
+     * @param marcaBaja cantidad de mapas en cola a partir de la cual se rellena
+     * @param marcaAlta cantidad máxima de mapas en cola por nivel
+     * @param hilos     número de hilos de fondo que generan mapas
+     */
+    public PoolMapas(int marcaBaja, int marcaAlta, int hilos) {
+        this(marcaBaja, marcaAlta, hilos, null);
+    }
+
+    /**
+     * Crea una reserva de mapas que rellena con un selector de dificultad.
+     *
+     * Los rellenos de los niveles con {@link Nivel#objetivoDificultad()} piden
+     * al selector los mapas que faltan en lugar de generarlos uno a uno; el
+     * resto de niveles se rellena igual que sin selector.
+     *
+     * @param marcaBaja cantidad de mapas en cola a partir de la cual se rellena
+     * @param marcaAlta cantidad máxima de mapas en cola por nivel
+     * @param hilos     número de hilos de fondo que generan mapas
+     * @param selector  selector de mapas, o {@code null} para no seleccionar
+     */
+    public PoolMapas(int marcaBaja, int marcaAlta, int hilos, SelectorMapas selector) {
+        if (marcaBaja < 0 || marcaAlta <= 0 || marcaBaja >= marcaAlta) {
+            throw new IllegalArgumentException("Se requiere 0 <= marcaBaja < marcaAlta");
+        }
+        if (hilos <= 0) throw new IllegalArgumentException("Se requiere al menos un hilo");
+        this.marcaBaja = marcaBaja;
+        this.marcaAlta = marcaAlta;
+        this.selector = selector;
+        AtomicInteger contador = new AtomicInteger();
+        this.trabajadores = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "pool-mapas-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            hilo.setPriority(Thread.MIN_PRIORITY);
+            return hilo;
+        });
+    }
+
+    /**
+     * Registra un nivel y empieza a pre-generar sus mapas en segundo plano.
+     *
+     * Si ya existe un nivel con el mismo nombre, se conserva el registrado.
+     *
+     * @param nivel nivel cuyos mapas se van a pre-generar
+     */
+    public void registrar(Nivel nivel) {
+        programarRelleno(reserva(nivel));
+    }
+
+    /**
+     * Obtiene un mapa listo para jugar del nivel indicado.
+     *
+     * Saca un mapa de la cola del nivel y, si la cola queda en la marca baja o
+     * por debajo, programa un relleno. Si no había ningún mapa disponible, el
+     * mapa se genera en el hilo que llama.
+     *
+     * @param nivel nivel del que se quiere un mapa
+     * @return mapa nuevo del nivel
+     */
+    public MapaCompacto obtener(Nivel nivel) {
+        Reserva reserva = reserva(nivel);
+        MapaCompacto mapa = reserva.cola.poll();
+        if (reserva.cola.size() <= marcaBaja) programarRelleno(reserva);
+        return mapa != null ? mapa : generar(nivel);
+    }
+
+    /**
+     * Cantidad de mapas listos en la cola de un nivel.
+     *
+     * @param nombreNivel nombre del nivel
+     * @return mapas disponibles, o 0 si el nivel no está registrado
+     */
+    public int disponibles(String nombreNivel) {
+        Reserva reserva = reservas.get(nombreNivel);
+        return reserva != null ? reserva.cola.size() : 0;
+    }
+
+    /**
+     * Detiene los hilos de fondo. Los mapas ya generados siguen disponibles.
+     */
+    public void cerrar() {
+        cerrado = true;
+        trabajadores.shutdownNow();
+    }
+
+    private static MapaCompacto generar(Nivel nivel) {
+        return nivel.crearMapaCompacto(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Añade a la cola un mapa o, con selector, una tanda de los mejores.
+     */
+    private void rellenarUnaVez(Reserva reserva) {
+        Nivel nivel = reserva.nivel;
+        if (selector == null || nivel.objetivoDificultad() == null) {
+            reserva.cola.offer(generar(nivel));
+            return;
+        }
+        int faltan = Math.max(1, marcaAlta - reserva.cola.size());
+        for (MapaCompacto mapa : selector.seleccionar(nivel, faltan, ThreadLocalRandom.current().nextLong())) {
+            if (!reserva.cola.offer(mapa)) break;
+        }
+    }
+
+    private Reserva reserva(Nivel nivel) {
+        return reservas.computeIfAbsent(nivel.nombreNivel(), n -> new Reserva(nivel, marcaAlta));
+    }
+
+    private void programarRelleno(Reserva reserva) {
+        if (cerrado || !reserva.rellenando.compareAndSet(false, true)) return;
+        try {
+            trabajadores.execute(() -> {
+                try {
+                    while (!cerrado && reserva.cola.size() < marcaAlta) {
+                        rellenarUnaVez(reserva);
+                    }
+                } finally {
+                    reserva.rellenando.set(false);
+                }
+                // Pudo vaciarse mientras terminaba el relleno anterior
+                if (reserva.cola.size() <= marcaBaja) programarRelleno(reserva);
+            });
+        } catch (RejectedExecutionException e) {
+            // La reserva se cerró entre la comprobación y el envío
+            reserva.rellenando.set(false);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package modelos;
+
+import niveles.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pruebas unitarias para la clase {@link PoolMapas}.
+ *
+ * Verifica:
+ * - Relleno en segundo plano hasta la marca alta
+ * - Obtención de mapas con y sin mapas pre-generados
+ * - Validación de las marcas
+ * - Relleno con selector de dificultad
+ */
+public class PoolMapasTest {
+
+    private PoolMapas pool;
+
+    @Before
+    public void setUp() {
+        pool = new PoolMapas(1, 3, 2);
+    }
+
+    @After
+    public void tearDown() {
+        pool.cerrar();
+    }
+
+    /**
+     * Verifica que al registrar un nivel la cola se llena hasta la marca alta.
+     */
+    @Test
+    public void registrar_rellena_hasta_marca_alta() throws InterruptedException {
+        pool.registrar(new Basico());
+        assertTrue("La cola debe llenarse en segundo plano", esperarDisponibles("Basico", 3));
+    }
+
+    /**
+     * Verifica que obtener devuelve mapas válidos del nivel y repone la cola.
+     */
+    @Test
+    public void obtener_devuelve_mapa_y_repone() throws InterruptedException {
+        pool.registrar(new Intermedio());
+        esperarDisponibles("Intermedio", 3);
+        for (int i = 0; i < 5; i++) {
+            MapaCompacto mapa = pool.obtener(new Intermedio());
+            assertEquals(16, mapa.getFilas());
+            assertEquals(Celda.INICIO, mapa.obtener(0, 0));
+        }
+        assertTrue("La cola debe reponerse por encima de la marca baja",
+                   esperarDisponibles("Intermedio", 2));
+    }
+
+    /**
+     * Verifica que un nivel no registrado se genera en el momento.
+     */
+    @Test
+    public void obtener_nivel_sin_registrar_genera_mapa() {
+        MapaCompacto mapa = pool.obtener(new Basico());
+        assertNotNull(mapa);
+        assertEquals(8, mapa.getFilas());
+    }
+
+    /**
+     * Verifica que la marca baja debe ser menor que la alta.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void marcas_invalidas_fallan() {
+        new PoolMapas(3, 3, 1);
+    }
+
+    /**
+     * Verifica que con selector la cola se llena con mapas de la banda del nivel.
+     */
+    @Test
+    public void relleno_con_selector() throws InterruptedException {
+        pool.cerrar();
+        pool = new PoolMapas(1, 3, 1, new SelectorMapas(16, Duration.ofSeconds(5), ForkJoinPool.commonPool()));
+        Basico basico = new Basico();
+        pool.registrar(basico);
+        assertTrue(esperarDisponibles("Basico", 3));
+        int enBanda = 0;
+        for (int i = 0; i < 3; i++) {
+            MapaCompacto mapa = pool.obtener(basico);
+            if (basico.objetivoDificultad().cumple(AnalizadorDificultad.analizar(mapa))) enBanda++;
+        }
+        assertTrue("La mayoría de los mapas deben estar en la banda", enBanda >= 2);
+    }
+
+    private boolean esperarDisponibles(String nivel, int cantidad) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < limite) {
+            if (pool.disponibles(nivel) >= cantidad) return true;
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
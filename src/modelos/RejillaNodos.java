@@ -0,0 +1,55 @@
+package modelos;
+
+/**
+ * Utilidades compartidas por los {@link AlgoritmoLaberinto} para trabajar
+ * sobre la rejilla de nodos (celdas con fila y columna pares).
+ *
+ * El nodo (i, j) corresponde a la celda (2i, 2j) y se identifica con el
+ * índice {@code i * nodosColumna + j}.
+ */
+final class RejillaNodos {
+
+    private RejillaNodos() {
+    }
+
+    /**
+     * Cantidad de filas de nodos que caben en el mapa.
+     */
+    static int nodosFila(MapaCompacto mapa) {
+        return (mapa.getFilas() + 1) / 2;
+    }
+
+    /**
+     * Cantidad de columnas de nodos que caben en el mapa.
+     */
+    static int nodosColumna(MapaCompacto mapa) {
+        return (mapa.getColumnas() + 1) / 2;
+    }
+
+    /**
+     * Marca como libre la celda del nodo (i, j).
+     */
+    static void abrirNodo(MapaCompacto mapa, int i, int j) {
+        mapa.establecer(2 * i, 2 * j, Celda.LIBRE);
+    }
+
+    /**
+     * Abre los dos nodos vecinos indicados y el paso que los une.
+     */
+    static void abrirPaso(MapaCompacto mapa, int i1, int j1, int i2, int j2) {
+        mapa.establecer(2 * i1, 2 * j1, Celda.LIBRE);
+        mapa.establecer(i1 + i2, j1 + j2, Celda.LIBRE);
+        mapa.establecer(2 * i2, 2 * j2, Celda.LIBRE);
+    }
+
+    /**
+     * Busca la raíz de un conjunto en un union-find con compresión por mitades.
+     */
+    static int raiz(int[] padre, int x) {
+        while (padre[x] != x) {
+            padre[x] = padre[padre[x]];
+            x = padre[x];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,580 @@
+package modelos;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda jerárquica de caminos (HPA*) sobre un {@link MapaCompacto} grande.
+ *
+ * El mapa se divide en sectores cuadrados de {@code lado} celdas. En cada
+ * frontera entre dos sectores vecinos, cada tramo continuo de celdas abiertas
+ * a ambos lados aporta una entrada en su centro, o dos en sus extremos si
+ * mide al menos {@value #LARGO_ENTRADA_DOBLE} celdas. El grafo abstracto
+ * tiene por nodos las celdas de entrada y dos tipos de aristas:
+ * <ul>
+ *   <li>de cada entrada a su pareja al otro lado de la frontera, con coste 1;</li>
+ *   <li>entre las entradas de un mismo sector, con la distancia de una
+ *       búsqueda en anchura que no sale del sector.</li>
+ * </ul>
+ * Cada sector se calcula la primera vez que la búsqueda abstracta lo toca
+ * (o en {@link #precalcular()}), de modo que una consulta solo paga los
+ * sectores por los que pasa.
+ *
+ * Una consulta conecta origen y destino con las entradas de sus sectores,
+ * resuelve A* sobre el grafo abstracto con la distancia Manhattan como
+ * heurística y devuelve una {@link Ruta} que solo baja a celdas concretas
+ * el tramo que se pide. Los caminos son casi mínimos: cruzan las fronteras
+ * por las entradas elegidas, no por cualquier celda.
+ *
+ * {@link #celdaCambiada(int, int)} descarta solo el sector de la celda y, si
+ * está en una frontera, el sector vecino que comparte sus entradas.
+ *
+ * No es segura para usar desde varios hilos a la vez.
+ */
+public class RutasJerarquicas {
+
+    /**
+     * Lado de sector por defecto.
+     */
+    public static final int LADO_POR_DEFECTO = 32;
+
+    /**
+     * Largo mínimo de un tramo de frontera abierto para colocar dos entradas.
+     */
+    public static final int LARGO_ENTRADA_DOBLE = 6;
+
+    private final MapaCompacto mapa;
+    private final int filas;
+    private final int columnas;
+    private final int lado;
+    private final int sectoresPorFila;
+    private final Sector[] sectores;
+    private final int[] distanciaLocal;
+    private final int[] padreLocal;
+    private final int[] cola;
+    private final int[] plantilla;
+    private int sectorCargado = -1;
+    private final int[] baseSector;
+    private final int[] selloSector;
+    private int consulta;
+    private int[] g = new int[0];
+    private int[] padre = new int[0];
+    private int[] celdaNodo = new int[0];
+    private int[] sectorNodo = new int[0];
+    private int nodos;
+    private long[] claves = new long[64];
+    private int tamañoMonticulo;
+
+    /**
+     * Entradas de un sector y distancias internas entre ellas.
+     */
+    private static final class Sector {
+        final int[] entradas;
+        final int[] parejas;
+        final int[] distancias;
+
+        Sector(int[] entradas, int[] parejas, int[] distancias) {
+            this.entradas = entradas;
+            this.parejas = parejas;
+            this.distancias = distancias;
+        }
+    }
+
+    /**
+     * Crea el índice jerárquico con sectores de {@link #LADO_POR_DEFECTO}.
+     *
+     * @param mapa mapa sobre el que buscar
+     */
+    public RutasJerarquicas(MapaCompacto mapa) {
+        this(mapa, LADO_POR_DEFECTO);
+    }
+
+    /**
+     * Crea el índice jerárquico sin calcular todavía ningún sector.
+     *
+     * @param mapa mapa sobre el que buscar
+     * @param lado lado de cada sector en celdas
+     * @throws IllegalArgumentException si el lado es menor que 2
+     */
+    public RutasJerarquicas(MapaCompacto mapa, int lado) {
+        if (lado < 2) {
+            throw new IllegalArgumentException("El lado de los sectores debe ser al menos 2");
+        }
+        this.mapa = mapa;
+        this.filas = mapa.getFilas();
+        this.columnas = mapa.getColumnas();
+        this.lado = lado;
+        this.sectoresPorFila = (columnas + lado - 1) / lado;
+        this.sectores = new Sector[Math.multiplyExact((filas + lado - 1) / lado, sectoresPorFila)];
+        this.distanciaLocal = new int[lado * lado];
+        this.padreLocal = new int[lado * lado];
+        this.cola = new int[lado * lado];
+        this.plantilla = new int[lado * lado];
+        this.baseSector = new int[sectores.length];
+        this.selloSector = new int[sectores.length];
+    }
+
+    /**
+     * Lado de los sectores.
+     *
+     * @return celdas por lado de sector
+     */
+    public int getLado() {
+        return lado;
+    }
+
+    /**
+     * Número de sectores con sus entradas y distancias calculadas.
+     *
+     * @return sectores calculados y vigentes
+     */
+    public int getSectoresCalculados() {
+        int total = 0;
+        for (Sector sector : sectores) {
+            if (sector != null) total++;
+        }
+        return total;
+    }
+
+    /**
+     * Calcula de antemano todos los sectores que aún no lo están.
+     */
+    public void precalcular() {
+        for (int s = 0; s < sectores.length; s++) sector(s);
+    }
+
+    /**
+     * Descarta los sectores afectados por el cambio de una celda.
+     *
+     * Se descarta el sector de la celda y, si está en el borde del sector,
+     * el vecino al otro lado de ese borde; se recalcularán cuando una
+     * búsqueda vuelva a necesitarlos.
+     *
+     * @param fila    fila de la celda modificada
+     * @param columna columna de la celda modificada
+     */
+    public void celdaCambiada(int fila, int columna) {
+        if (!mapa.contiene(fila, columna)) return;
+        sectorCargado = -1;
+        int sf = fila / lado;
+        int sc = columna / lado;
+        int s = sf * sectoresPorFila + sc;
+        sectores[s] = null;
+        if (fila % lado == 0 && sf > 0) sectores[s - sectoresPorFila] = null;
+        if (fila % lado == lado - 1 && fila + 1 < filas) sectores[s + sectoresPorFila] = null;
+        if (columna % lado == 0 && sc > 0) sectores[s - 1] = null;
+        if (columna % lado == lado - 1 && columna + 1 < columnas) sectores[s + 1] = null;
+    }
+
+    /**
+     * Busca una ruta entre dos posiciones.
+     *
+     * @param origen  posición de partida
+     * @param destino posición de llegada
+     * @return ruta encontrada, o {@code null} si no hay camino
+     * @throws IllegalArgumentException si alguna posición está fuera del mapa
+     */
+    public Ruta buscar(Posicion origen, Posicion destino) {
+        if (!mapa.contiene(origen.getFila(), origen.getColumna())
+                || !mapa.contiene(destino.getFila(), destino.getColumna())) {
+            throw new IllegalArgumentException("El origen y el destino deben estar dentro del tablero");
+        }
+        return buscar(mapa.indice(origen.getFila(), origen.getColumna()),
+                      mapa.indice(destino.getFila(), destino.getColumna()));
+    }
+
+    /**
+     * Busca una ruta entre dos celdas resolviendo solo el grafo abstracto.
+     *
+     * @param origen  índice empaquetado de la celda de partida
+     * @param destino índice empaquetado de la celda de llegada
+     * @return ruta encontrada, o {@code null} si no hay camino
+     * @throws IllegalArgumentException si alguna celda está fuera del mapa
+     */
+    public Ruta buscar(int origen, int destino) {
+        int n = mapa.tamaño();
+        if (origen < 0 || origen >= n || destino < 0 || destino >= n) {
+            throw new IllegalArgumentException("El origen y el destino deben estar dentro del tablero");
+        }
+        if (!mapa.esTransitable(origen) || !mapa.esTransitable(destino)) return null;
+
+        int sectorOrigen = sectorDe(origen);
+        int sectorDestino = sectorDe(destino);
+        Sector llegada = sector(sectorDestino);
+        // Distancias dentro del sector del destino desde cada una de sus entradas
+        anchura(sectorDestino, destino);
+        int[] hastaDestino = new int[llegada.entradas.length];
+        for (int i = 0; i < hastaDestino.length; i++) {
+            hastaDestino[i] = distanciaLocal[local(sectorDestino, llegada.entradas[i])];
+        }
+
+        // El nodo 0 es el destino; el origen es la raíz implícita (padre -1)
+        prepararConsulta();
+        nuevoNodo(destino, -1);
+        Sector salida = sector(sectorOrigen);
+        int base = nodosDe(sectorOrigen, salida);
+        anchura(sectorOrigen, origen);
+        for (int i = 0; i < salida.entradas.length; i++) {
+            relajar(base + i, -1, distanciaLocal[local(sectorOrigen, salida.entradas[i])], destino);
+        }
+        if (sectorOrigen == sectorDestino) {
+            relajar(0, -1, distanciaLocal[local(sectorOrigen, destino)], destino);
+        }
+
+        while (tamañoMonticulo > 0) {
+            long clave = claves[0];
+            int actual = extraer();
+            int coste = g[actual];
+            // Entrada obsoleta: el nodo ya salió con un coste menor
+            if ((int) (clave >>> 32) != coste + manhattan(celdaNodo[actual], destino)) continue;
+            if (actual == 0) return new Ruta(puntos(origen), coste);
+
+            int s = sectorNodo[actual];
+            Sector sector = sectores[s];
+            int k = sector.entradas.length;
+            int i = actual - baseSector[s];
+            int desde = baseSector[s];
+            for (int j = 0; j < k; j++) {
+                int d = sector.distancias[i * k + j];
+                if (d >= 0 && j != i) relajar(desde + j, actual, coste + d, destino);
+            }
+            if (s == sectorDestino && hastaDestino[i] >= 0) relajar(0, actual, coste + hastaDestino[i], destino);
+            int vecino = sectorDe(sector.parejas[i]);
+            Sector otro = sector(vecino);
+            int baseVecino = nodosDe(vecino, otro);
+            for (int j = 0; j < otro.entradas.length; j++) {
+                if (otro.entradas[j] == sector.parejas[i] && otro.parejas[j] == sector.entradas[i]) {
+                    relajar(baseVecino + j, actual, coste + 1, destino);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ruta abstracta entre dos celdas cuyos tramos se refinan a celdas
+     * concretas al pedirlos.
+     *
+     * Sigue siendo válida mientras no cambie ninguna celda del mapa.
+     */
+    public final class Ruta {
+        private final int[] puntos;
+        private final int pasos;
+        private final int[][] tramos;
+
+        private Ruta(int[] puntos, int pasos) {
+            this.puntos = puntos;
+            this.pasos = pasos;
+            this.tramos = new int[Math.max(0, puntos.length - 1)][];
+        }
+
+        /**
+         * Pasos del camino completo, sin necesidad de refinarlo.
+         *
+         * @return número de movimientos del origen al destino
+         */
+        public int getPasos() {
+            return pasos;
+        }
+
+        /**
+         * Puntos de paso abstractos: origen, entradas cruzadas y destino.
+         *
+         * @return índices empaquetados de los puntos de paso
+         */
+        public int[] getPuntos() {
+            return puntos.clone();
+        }
+
+        /**
+         * Número de tramos entre puntos de paso consecutivos.
+         *
+         * @return {@code getPuntos().length - 1}
+         */
+        public int getTramos() {
+            return tramos.length;
+        }
+
+        /**
+         * Celdas de un tramo, refinado la primera vez que se pide.
+         *
+         * @param i índice del tramo
+         * @return índices empaquetados del tramo, ambos puntos de paso incluidos
+         * @throws IllegalStateException si el mapa cambió y el tramo ya no existe
+         */
+        public int[] tramo(int i) {
+            if (tramos[i] == null) tramos[i] = refinar(puntos[i], puntos[i + 1]);
+            return tramos[i].clone();
+        }
+
+        /**
+         * Refina todos los tramos y los une en el camino completo.
+         *
+         * @return índices empaquetados del camino, origen y destino incluidos
+         * @throws IllegalStateException si el mapa cambió y algún tramo ya no existe
+         */
+        public int[] celdas() {
+            int[] camino = new int[pasos + 1];
+            camino[0] = puntos[0];
+            int n = 1;
+            for (int i = 0; i < tramos.length; i++) {
+                if (tramos[i] == null) tramos[i] = refinar(puntos[i], puntos[i + 1]);
+                System.arraycopy(tramos[i], 1, camino, n, tramos[i].length - 1);
+                n += tramos[i].length - 1;
+            }
+            return camino;
+        }
+    }
+
+    /**
+     * Empieza una consulta: los nodos abstractos de la anterior quedan
+     * descartados sin limpiar ningún arreglo.
+     */
+    private void prepararConsulta() {
+        if (++consulta == Integer.MAX_VALUE) {
+            Arrays.fill(selloSector, 0);
+            consulta = 1;
+        }
+        nodos = 0;
+        tamañoMonticulo = 0;
+    }
+
+    private int nuevoNodo(int celda, int sector) {
+        if (nodos == g.length) {
+            int capacidad = Math.max(64, nodos * 2);
+            g = Arrays.copyOf(g, capacidad);
+            padre = Arrays.copyOf(padre, capacidad);
+            celdaNodo = Arrays.copyOf(celdaNodo, capacidad);
+            sectorNodo = Arrays.copyOf(sectorNodo, capacidad);
+        }
+        g[nodos] = Integer.MAX_VALUE;
+        celdaNodo[nodos] = celda;
+        sectorNodo[nodos] = sector;
+        return nodos++;
+    }
+
+    /**
+     * Primer nodo abstracto de las entradas de un sector en esta consulta,
+     * numerándolas la primera vez que se alcanzan.
+     */
+    private int nodosDe(int s, Sector sector) {
+        if (selloSector[s] != consulta) {
+            selloSector[s] = consulta;
+            baseSector[s] = nodos;
+            for (int entrada : sector.entradas) nuevoNodo(entrada, s);
+        }
+        return baseSector[s];
+    }
+
+    private void relajar(int nodo, int desde, int coste, int destino) {
+        if (coste < 0 || g[nodo] <= coste) return;
+        g[nodo] = coste;
+        padre[nodo] = desde;
+        insertar(((long) (coste + manhattan(celdaNodo[nodo], destino)) << 32) | nodo);
+    }
+
+    /**
+     * Puntos de paso del origen al destino, sin repetir celdas seguidas
+     * (el origen o el destino pueden ser a la vez una entrada).
+     */
+    private int[] puntos(int origen) {
+        int n = 2;
+        for (int nodo = padre[0]; nodo >= 0; nodo = padre[nodo]) n++;
+        int[] puntos = new int[n];
+        int i = n;
+        for (int nodo = 0; nodo >= 0; nodo = padre[nodo]) {
+            if (i == n || puntos[i] != celdaNodo[nodo]) puntos[--i] = celdaNodo[nodo];
+        }
+        if (puntos[i] != origen) puntos[--i] = origen;
+        return Arrays.copyOfRange(puntos, i, n);
+    }
+
+    private void insertar(long clave) {
+        if (tamañoMonticulo == claves.length) claves = Arrays.copyOf(claves, tamañoMonticulo * 2);
+        int i = tamañoMonticulo++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (claves[p] <= clave) break;
+            claves[i] = claves[p];
+            i = p;
+        }
+        claves[i] = clave;
+    }
+
+    /**
+     * Saca el nodo de menor clave del montículo.
+     */
+    private int extraer() {
+        int cima = (int) claves[0];
+        int n = --tamañoMonticulo;
+        long clave = claves[n];
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= n) break;
+            if (hijo + 1 < n && claves[hijo + 1] < claves[hijo]) hijo++;
+            if (claves[hijo] >= clave) break;
+            claves[i] = claves[hijo];
+            i = hijo;
+        }
+        claves[i] = clave;
+        return cima;
+    }
+
+    /**
+     * Camino concreto entre dos puntos de paso consecutivos: dos celdas
+     * vecinas a ambos lados de una frontera, o dos celdas del mismo sector
+     * unidas sin salir de él.
+     */
+    private int[] refinar(int desde, int hasta) {
+        int s = sectorDe(desde);
+        if (sectorDe(hasta) != s) return new int[] {desde, hasta};
+        anchura(s, desde);
+        int d = distanciaLocal[local(s, hasta)];
+        if (d < 0) {
+            throw new IllegalStateException("La ruta ya no es válida: el mapa ha cambiado");
+        }
+        int[] tramo = new int[d + 1];
+        int actual = local(s, hasta);
+        for (int i = d; i >= 0; i--) {
+            tramo[i] = global(s, actual);
+            actual = padreLocal[actual];
+        }
+        return tramo;
+    }
+
+    private Sector sector(int s) {
+        if (sectores[s] == null) sectores[s] = calcularSector(s);
+        return sectores[s];
+    }
+
+    /**
+     * Busca las entradas de las cuatro fronteras de un sector y las
+     * distancias internas entre cada par.
+     */
+    private Sector calcularSector(int s) {
+        int f0 = s / sectoresPorFila * lado;
+        int c0 = s % sectoresPorFila * lado;
+        int f1 = Math.min(f0 + lado, filas) - 1;
+        int c1 = Math.min(c0 + lado, columnas) - 1;
+        int[] entradas = new int[8 * lado];
+        int[] parejas = new int[8 * lado];
+        int k = 0;
+        if (f0 > 0) k = frontera(mapa.indice(f0, c0), 1, c1 - c0 + 1, -columnas, entradas, parejas, k);
+        if (f1 + 1 < filas) k = frontera(mapa.indice(f1, c0), 1, c1 - c0 + 1, columnas, entradas, parejas, k);
+        if (c0 > 0) k = frontera(mapa.indice(f0, c0), columnas, f1 - f0 + 1, -1, entradas, parejas, k);
+        if (c1 + 1 < columnas) k = frontera(mapa.indice(f0, c1), columnas, f1 - f0 + 1, 1, entradas, parejas, k);
+        entradas = Arrays.copyOf(entradas, k);
+        parejas = Arrays.copyOf(parejas, k);
+
+        int[] distancias = new int[k * k];
+        for (int i = 0; i < k; i++) {
+            anchura(s, entradas[i]);
+            for (int j = 0; j < k; j++) distancias[i * k + j] = distanciaLocal[local(s, entradas[j])];
+        }
+        return new Sector(entradas, parejas, distancias);
+    }
+
+    /**
+     * Añade las entradas de un borde de {@code largo} celdas que empieza en
+     * {@code inicio} y avanza de {@code paso} en {@code paso}; la pareja de
+     * cada celda está a {@code desplazamiento} de ella. Los dos sectores de
+     * una frontera eligen así las mismas parejas.
+     */
+    private int frontera(int inicio, int paso, int largo, int desplazamiento,
+                         int[] entradas, int[] parejas, int k) {
+        int tramo = -1;
+        for (int i = 0; i <= largo; i++) {
+            int celda = inicio + i * paso;
+            boolean abierta = i < largo && mapa.esTransitable(celda) && mapa.esTransitable(celda + desplazamiento);
+            if (abierta && tramo < 0) tramo = i;
+            if (abierta || tramo < 0) continue;
+            int ultimo = i - 1;
+            if (ultimo - tramo + 1 >= LARGO_ENTRADA_DOBLE) {
+                k = entrada(inicio + tramo * paso, desplazamiento, entradas, parejas, k);
+                k = entrada(inicio + ultimo * paso, desplazamiento, entradas, parejas, k);
+            } else {
+                k = entrada(inicio + (tramo + ultimo) / 2 * paso, desplazamiento, entradas, parejas, k);
+            }
+            tramo = -1;
+        }
+        return k;
+    }
+
+    private static int entrada(int celda, int desplazamiento, int[] entradas, int[] parejas, int k) {
+        entradas[k] = celda;
+        parejas[k] = celda + desplazamiento;
+        return k + 1;
+    }
+
+    /**
+     * Búsqueda en anchura desde una celda sin salir de su sector; deja las
+     * distancias (o -1) y los padres en índices locales del sector.
+     */
+    private void anchura(int s, int origen) {
+        cargar(s);
+        System.arraycopy(plantilla, 0, distanciaLocal, 0, plantilla.length);
+        int inicio = local(s, origen);
+        distanciaLocal[inicio] = 0;
+        padreLocal[inicio] = -1;
+        cola[0] = inicio;
+        int cabeza = 0;
+        int fin = 1;
+        while (cabeza < fin) {
+            int actual = cola[cabeza++];
+            int f = actual / lado;
+            int c = actual - f * lado;
+            int d = distanciaLocal[actual] + 1;
+            if (f > 0) fin = visitar(actual, actual - lado, d, fin);
+            if (f + 1 < lado) fin = visitar(actual, actual + lado, d, fin);
+            if (c > 0) fin = visitar(actual, actual - 1, d, fin);
+            if (c + 1 < lado) fin = visitar(actual, actual + 1, d, fin);
+        }
+    }
+
+    private int visitar(int desde, int vecina, int d, int fin) {
+        if (distanciaLocal[vecina] != -1) return fin;
+        distanciaLocal[vecina] = d;
+        padreLocal[vecina] = desde;
+        cola[fin] = vecina;
+        return fin + 1;
+    }
+
+    /**
+     * Prepara la plantilla de distancias de un sector: -1 en las celdas
+     * libres y -2 en las paredes y en lo que queda fuera del mapa, de modo
+     * que la búsqueda en anchura no consulta el mapa en cada paso.
+     */
+    private void cargar(int s) {
+        if (s == sectorCargado) return;
+        int f0 = s / sectoresPorFila * lado;
+        int c0 = s % sectoresPorFila * lado;
+        Arrays.fill(plantilla, -2);
+        for (int f = 0; f < lado && f0 + f < filas; f++) {
+            int celda = mapa.indice(f0 + f, c0);
+            for (int c = 0; c < lado && c0 + c < columnas; c++) {
+                if (mapa.esTransitable(celda + c)) plantilla[f * lado + c] = -1;
+            }
+        }
+        sectorCargado = s;
+    }
+
+    private int sectorDe(int celda) {
+        return celda / columnas / lado * sectoresPorFila + celda % columnas / lado;
+    }
+
+    private int local(int s, int celda) {
+        int f = celda / columnas - s / sectoresPorFila * lado;
+        int c = celda % columnas - s % sectoresPorFila * lado;
+        return f * lado + c;
+    }
+
+    private int global(int s, int local) {
+        int f = s / sectoresPorFila * lado + local / lado;
+        int c = s % sectoresPorFila * lado + local % lado;
+        return f * columnas + c;
+    }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a / columnas - b / columnas) + Math.abs(a % columnas - b % columnas);
+    }
+}
@@ -0,0 +1,167 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link RutasJerarquicas}.
+ *
+ * Verifica:
+ * - Rutas contiguas, sobre celdas transitables y de longitud casi mínima
+ * - Cálculo perezoso de sectores y refinado de tramos bajo demanda
+ * - Invalidación de solo los sectores afectados al cambiar una celda
+ */
+public class RutasJerarquicasTest {
+
+    /**
+     * Verifica que en un laberinto perfecto, donde cada frontera se cruza
+     * por celdas sueltas, la ruta coincide con la de una búsqueda en anchura.
+     */
+    @Test
+    public void laberinto_caminos_minimos() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(61, 0, 0, 8L, new AlgoritmoBacktracking());
+        RutasJerarquicas rutas = new RutasJerarquicas(mapa, 8);
+        SplittableRandom random = new SplittableRandom(3L);
+        for (int k = 0; k < 30; k++) {
+            int origen = mapa.indice(2 * random.nextInt(31), 2 * random.nextInt(31));
+            int destino = mapa.indice(2 * random.nextInt(31), 2 * random.nextInt(31));
+            RutasJerarquicas.Ruta ruta = rutas.buscar(origen, destino);
+            CampoDistancias campo = CampoDistancias.calcular(mapa, origen / 61, origen % 61);
+            assertEquals(campo.distancia(destino / 61, destino % 61), ruta.getPasos());
+            comprobarCamino(mapa, origen, destino, ruta);
+        }
+    }
+
+    /**
+     * Verifica rutas casi mínimas en un mapa abierto con sectores
+     * incompletos en el borde derecho e inferior.
+     */
+    @Test
+    public void mapa_abierto_casi_minimo() {
+        SplittableRandom random = new SplittableRandom(9L);
+        MapaCompacto mapa = new MapaCompacto(50, 70);
+        mapa.rellenar(Celda.LIBRE);
+        for (int k = 0; k < 300; k++) mapa.establecer(random.nextInt(50), random.nextInt(70), Celda.PARED);
+        RutasJerarquicas rutas = new RutasJerarquicas(mapa, 16);
+        for (int k = 0; k < 30; k++) {
+            int origen = random.nextInt(mapa.tamaño());
+            int destino = random.nextInt(mapa.tamaño());
+            if (!mapa.esTransitable(origen) || !mapa.esTransitable(destino)) continue;
+            int minimo = CampoDistancias.calcular(mapa, origen / 70, origen % 70).distancia(destino / 70, destino % 70);
+            RutasJerarquicas.Ruta ruta = rutas.buscar(origen, destino);
+            if (minimo < 0) {
+                assertNull(ruta);
+                continue;
+            }
+            assertTrue(ruta.getPasos() >= minimo);
+            assertTrue(ruta.getPasos() <= minimo * 5 / 4 + 4);
+            comprobarCamino(mapa, origen, destino, ruta);
+        }
+    }
+
+    /**
+     * Verifica que una consulta corta solo calcula los sectores que toca y
+     * que los tramos se refinan uno a uno.
+     */
+    @Test
+    public void sectores_y_tramos_perezosos() {
+        MapaCompacto mapa = new MapaCompacto(64, 64);
+        mapa.rellenar(Celda.LIBRE);
+        RutasJerarquicas rutas = new RutasJerarquicas(mapa, 8);
+        assertEquals(0, rutas.getSectoresCalculados());
+
+        RutasJerarquicas.Ruta ruta = rutas.buscar(new Posicion(0, 1), new Posicion(0, 14));
+        assertEquals(13, ruta.getPasos());
+        assertTrue(rutas.getSectoresCalculados() < 64 / 2);
+        int[] puntos = ruta.getPuntos();
+        assertEquals(mapa.indice(0, 1), puntos[0]);
+        assertEquals(mapa.indice(0, 14), puntos[puntos.length - 1]);
+        int[] tramo = ruta.tramo(0);
+        assertEquals(puntos[0], tramo[0]);
+        assertEquals(puntos[1], tramo[tramo.length - 1]);
+
+        rutas.precalcular();
+        assertEquals(64, rutas.getSectoresCalculados());
+    }
+
+    /**
+     * Verifica que cerrar una celda descarta solo su sector y que la
+     * siguiente búsqueda la esquiva.
+     */
+    @Test
+    public void celda_cambiada_invalida_sector() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(41, 0, 0, 5L,
+            new AlgoritmoTrenzado(new AlgoritmoBacktracking(), 1.0));
+        RutasJerarquicas rutas = new RutasJerarquicas(mapa, 8);
+        rutas.precalcular();
+        int total = rutas.getSectoresCalculados();
+
+        int origen = mapa.indice(0, 0);
+        int destino = mapa.indice(40, 40);
+        int[] antes = rutas.buscar(origen, destino).celdas();
+        // Primera celda del camino, lejos de los bordes de sector, cuyo
+        // cierre deja todavía un camino
+        int cerrada = -1;
+        int minimo = -1;
+        for (int celda : antes) {
+            int f = celda / 41;
+            int c = celda % 41;
+            if (f % 8 == 0 || f % 8 == 7 || c % 8 == 0 || c % 8 == 7) continue;
+            mapa.establecer(celda, Celda.PARED);
+            minimo = CampoDistancias.calcular(mapa, 0, 0).distancia(40, 40);
+            if (minimo >= 0) {
+                cerrada = celda;
+                break;
+            }
+            mapa.establecer(celda, Celda.LIBRE);
+        }
+        assertTrue(cerrada >= 0);
+        rutas.celdaCambiada(cerrada / 41, cerrada % 41);
+        assertEquals(total - 1, rutas.getSectoresCalculados());
+
+        RutasJerarquicas.Ruta despues = rutas.buscar(origen, destino);
+        assertEquals(minimo, despues.getPasos());
+        comprobarCamino(mapa, origen, destino, despues);
+    }
+
+    /**
+     * Verifica los casos sin camino y los argumentos inválidos.
+     */
+    @Test
+    public void casos_limite() {
+        MapaCompacto mapa = new MapaCompacto(4, 20);
+        mapa.rellenar(Celda.LIBRE);
+        for (int f = 0; f < 4; f++) mapa.establecer(f, 10, Celda.PARED);
+        RutasJerarquicas rutas = new RutasJerarquicas(mapa, 4);
+        assertNull(rutas.buscar(new Posicion(0, 0), new Posicion(0, 19)));
+        assertNull(rutas.buscar(new Posicion(0, 0), new Posicion(0, 10)));
+        RutasJerarquicas.Ruta misma = rutas.buscar(new Posicion(2, 3), new Posicion(2, 3));
+        assertEquals(0, misma.getPasos());
+        assertArrayEquals(new int[] {mapa.indice(2, 3)}, misma.celdas());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fuera_del_mapa_falla() {
+        new RutasJerarquicas(new MapaCompacto(3, 3)).buscar(new Posicion(0, 0), new Posicion(3, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lado_invalido_falla() {
+        new RutasJerarquicas(new MapaCompacto(3, 3), 1);
+    }
+
+    private static void comprobarCamino(MapaCompacto mapa, int origen, int destino, RutasJerarquicas.Ruta ruta) {
+        int[] celdas = ruta.celdas();
+        assertEquals(ruta.getPasos() + 1, celdas.length);
+        assertEquals(origen, celdas[0]);
+        assertEquals(destino, celdas[celdas.length - 1]);
+        for (int i = 1; i < celdas.length; i++) {
+            assertTrue(mapa.esTransitable(celdas[i]));
+            Posicion a = mapa.posicion(celdas[i - 1]);
+            Posicion b = mapa.posicion(celdas[i]);
+            assertEquals(1, Math.abs(a.getFila() - b.getFila()) + Math.abs(a.getColumna() - b.getColumna()));
+        }
+    }
+}
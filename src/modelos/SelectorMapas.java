@@ -0,0 +1,175 @@
+package modelos;
+
+import niveles.Nivel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Generación y selección de mapas con una dificultad objetivo.
+ *
+ * En lugar de quedarse con lo que salga de una única semilla, genera varios
+ * candidatos del nivel en paralelo en un {@link ForkJoinPool}, los puntúa con
+ * {@link AnalizadorDificultad} frente a un {@link ObjetivoDificultad} y se
+ * queda con los {@code k} más cercanos a la banda.
+ *
+ * Cada selección tiene un presupuesto de tiempo: al agotarse se puntúan solo
+ * los candidatos terminados y se cancelan los demás. Si ninguno ha terminado
+ * se espera al primero, de modo que el coste nunca supera el de generar un
+ * mapa sin selección más el presupuesto.
+ *
+ * Los candidatos se derivan de la semilla de la selección, así que con un
+ * presupuesto holgado el resultado es reproducible.
+ */
+public class SelectorMapas {
+    private static final long INCREMENTO_SEMILLA = 0x9E3779B97F4A7C15L;
+
+    private final int candidatos;
+    private final Duration presupuesto;
+    private final ForkJoinPool pool;
+
+    /**
+     * Candidato generado con su puntuación.
+     */
+    private static final class Candidato {
+        final int orden;
+        final MapaCompacto mapa;
+        final double desviacion;
+
+        Candidato(int orden, MapaCompacto mapa, double desviacion) {
+            this.orden = orden;
+            this.mapa = mapa;
+            this.desviacion = desviacion;
+        }
+    }
+
+    /**
+     * Crea un selector de 8 candidatos, 50 ms de presupuesto y el pool común.
+     */
+    public SelectorMapas() {
+        this(8, Duration.ofMillis(50), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un selector.
+     *
+     * @param candidatos  mapas que se generan por selección
+     * @param presupuesto tiempo máximo de espera por los candidatos
+     * @param pool        pool donde se generan los candidatos
+     */
+    public SelectorMapas(int candidatos, Duration presupuesto, ForkJoinPool pool) {
+        if (candidatos <= 0) throw new IllegalArgumentException("Se requiere al menos un candidato");
+        if (presupuesto == null || presupuesto.isNegative()) {
+            throw new IllegalArgumentException("El presupuesto no puede ser nulo ni negativo");
+        }
+        if (pool == null) throw new IllegalArgumentException("El pool no puede ser nulo");
+        this.candidatos = candidatos;
+        this.presupuesto = presupuesto;
+        this.pool = pool;
+    }
+
+    /**
+     * Selecciona mapas del nivel según su propio objetivo de dificultad.
+     *
+     * @param nivel   nivel cuyos mapas se generan
+     * @param k       número máximo de mapas a devolver
+     * @param semilla semilla de la que se derivan los candidatos
+     * @return entre 1 y {@code k} mapas, del más al menos cercano a la banda
+     * @see Nivel#objetivoDificultad()
+     */
+    public List<MapaCompacto> seleccionar(Nivel nivel, int k, long semilla) {
+        return seleccionar(nivel, nivel.objetivoDificultad(), k, semilla);
+    }
+
+    /**
+     * Selecciona mapas del nivel según un objetivo de dificultad.
+     *
+     * @param nivel    nivel cuyos mapas se generan
+     * @param objetivo banda objetivo; {@code null} acepta cualquier mapa
+     * @param k        número máximo de mapas a devolver
+     * @param semilla  semilla de la que se derivan los candidatos
+     * @return entre 1 y {@code k} mapas, del más al menos cercano a la banda
+     * @throws IllegalStateException si no se pudo generar ningún candidato
+     */
+    public List<MapaCompacto> seleccionar(Nivel nivel, ObjetivoDificultad objetivo, int k, long semilla) {
+        if (k <= 0) throw new IllegalArgumentException("Se requiere k > 0");
+        long limite = System.nanoTime() + presupuesto.toNanos();
+
+        List<ForkJoinTask<Candidato>> tareas = new ArrayList<>(candidatos);
+        for (int i = 0; i < candidatos; i++) {
+            int orden = i;
+            long semillaCandidato = semilla + i * INCREMENTO_SEMILLA;
+            tareas.add(pool.submit(() -> puntuar(orden, nivel.crearMapaCompacto(semillaCandidato), objetivo)));
+        }
+
+        List<Candidato> terminados = new ArrayList<>(candidatos);
+        for (ForkJoinTask<Candidato> tarea : tareas) {
+            recoger(tarea, limite - System.nanoTime(), terminados);
+        }
+        for (ForkJoinTask<Candidato> tarea : tareas) tarea.cancel(false);
+
+        // Ninguno a tiempo: se espera al primero que aún pueda terminar
+        for (int i = 0; terminados.isEmpty() && i < tareas.size(); i++) {
+            Candidato candidato = generarEnEsteHilo(nivel, objetivo, tareas.get(i), i,
+                semilla + i * INCREMENTO_SEMILLA);
+            if (candidato != null) terminados.add(candidato);
+        }
+        if (terminados.isEmpty()) {
+            throw new IllegalStateException("No se pudo generar ningún mapa candidato del nivel "
+                + nivel.nombreNivel());
+        }
+
+        terminados.sort(Comparator.<Candidato>comparingDouble(c -> c.desviacion)
+            .thenComparingInt(c -> c.orden));
+        List<MapaCompacto> seleccion = new ArrayList<>(Math.min(k, terminados.size()));
+        for (int i = 0; i < k && i < terminados.size(); i++) seleccion.add(terminados.get(i).mapa);
+        return seleccion;
+    }
+
+    private static Candidato puntuar(int orden, MapaCompacto mapa, ObjetivoDificultad objetivo) {
+        double desviacion = objetivo != null
+            ? objetivo.desviacion(AnalizadorDificultad.analizar(mapa))
+            : 0;
+        return new Candidato(orden, mapa, desviacion);
+    }
+
+    /**
+     * Añade el resultado de una tarea si termina dentro del plazo restante.
+     * Un candidato cuya generación falla simplemente se descarta.
+     */
+    private static void recoger(ForkJoinTask<Candidato> tarea, long nanosRestantes,
+                                List<Candidato> terminados) {
+        try {
+            if (nanosRestantes > 0) {
+                terminados.add(tarea.get(nanosRestantes, TimeUnit.NANOSECONDS));
+            } else if (tarea.isDone() && !tarea.isCompletedAbnormally()) {
+                terminados.add(tarea.getRawResult());
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            // Fuera de plazo o generación fallida: no entra en la selección
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Resultado de una tarea cancelada o, si no llegó a empezar, el mismo
+     * candidato generado en el hilo que llama.
+     */
+    private static Candidato generarEnEsteHilo(Nivel nivel, ObjetivoDificultad objetivo,
+                                               ForkJoinTask<Candidato> tarea, int orden, long semilla) {
+        if (tarea.isDone() && !tarea.isCompletedAbnormally()) return tarea.getRawResult();
+        try {
+            return puntuar(orden, nivel.crearMapaCompacto(semilla), objetivo);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package modelos;
+
+import niveles.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pruebas unitarias para la clase {@link SelectorMapas} y
+ * {@link ObjetivoDificultad}.
+ *
+ * Verifica:
+ * - Los mapas elegidos son los más cercanos a la banda entre los candidatos
+ * - Reproducibilidad con presupuesto holgado
+ * - Respeto del presupuesto de tiempo
+ */
+public class SelectorMapasTest {
+
+    private static final Duration HOLGADO = Duration.ofSeconds(10);
+
+    /**
+     * Verifica que la selección mejora a los candidatos descartados.
+     */
+    @Test
+    public void elige_los_mas_cercanos() {
+        Nivel nivel = new Intermedio();
+        ObjetivoDificultad objetivo = nivel.objetivoDificultad();
+        SelectorMapas selector = new SelectorMapas(12, HOLGADO, ForkJoinPool.commonPool());
+        List<MapaCompacto> elegidos = selector.seleccionar(nivel, 3, 99L);
+        assertEquals(3, elegidos.size());
+
+        double peorElegido = 0;
+        for (MapaCompacto mapa : elegidos) {
+            peorElegido = Math.max(peorElegido, objetivo.desviacion(AnalizadorDificultad.analizar(mapa)));
+        }
+        // Solo 3 de los 12 candidatos pueden ser mejores que el peor elegido
+        List<MapaCompacto> todos = selector.seleccionar(nivel, 12, 99L);
+        assertEquals(12, todos.size());
+        int mejores = 0;
+        for (MapaCompacto mapa : todos) {
+            if (objetivo.desviacion(AnalizadorDificultad.analizar(mapa)) < peorElegido) mejores++;
+        }
+        assertTrue(mejores < 3);
+    }
+
+    /**
+     * Verifica que con presupuesto holgado la selección es reproducible.
+     */
+    @Test
+    public void reproducible() {
+        SelectorMapas selector = new SelectorMapas(6, HOLGADO, ForkJoinPool.commonPool());
+        assertEquals(selector.seleccionar(new Basico(), 2, 5L), selector.seleccionar(new Basico(), 2, 5L));
+    }
+
+    /**
+     * Verifica que un presupuesto nulo devuelve igualmente un mapa sin esperar
+     * a todos los candidatos.
+     */
+    @Test
+    public void presupuesto_agotado() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            SelectorMapas selector = new SelectorMapas(500, Duration.ZERO, pool);
+            long inicio = System.nanoTime();
+            List<MapaCompacto> elegidos = selector.seleccionar(new Leyenda(), 4, 1L);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            assertFalse(elegidos.isEmpty());
+            assertTrue(elegidos.size() <= 4);
+            assertTrue("Tardó " + ms + " ms", ms < 2000);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifica la desviación respecto de la banda.
+     */
+    @Test
+    public void desviacion_de_la_banda() {
+        // Pasillo de 6 celdas: solución de 5 pasos (5/6) y 2 callejones (1/3)
+        MapaCompacto mapa = new MapaCompacto(1, 6);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(0, 0, Celda.INICIO);
+        mapa.establecer(0, 5, Celda.META);
+        MetricasDificultad m = AnalizadorDificultad.analizar(mapa);
+        assertTrue(new ObjetivoDificultad(0.5, 0.9, 0.3, 0.4).cumple(m));
+        assertEquals(0.5 - 1.0 / 3, new ObjetivoDificultad(0.5, 0.9, 0.5, 0.6).desviacion(m), 1e-9);
+    }
+
+    /**
+     * Verifica que un rango invertido se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void objetivo_invalido_falla() {
+        new ObjetivoDificultad(0.5, 0.4, 0.1, 0.2);
+    }
+}
@@ -0,0 +1,467 @@
+package modelos;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda de caminos punto a punto sobre un {@link Tablero} finito.
+ *
+ * Implementa A* con la distancia Manhattan como heurística (admisible y
+ * consistente en una rejilla de cuatro vecinos), por lo que los caminos
+ * devueltos son de longitud mínima. Las celdas se identifican con índices
+ * empaquetados {@code fila * columnas + columna}, los mismos de
+ * {@link MapaCompacto#indice(int, int)} y {@link MapaCompacto#posicion(int)}.
+ *
+ * Todo el estado de la búsqueda vive en arreglos primitivos de una arena por
+ * hilo que se reutiliza entre consultas:
+ * <ul>
+ *   <li>{@code g} y {@code padre} son {@code int[]} indexados por celda; un
+ *       sello por celda con el número de consulta evita limpiarlos, de modo
+ *       que preparar una consulta es O(1) y no O(celdas).</li>
+ *   <li>La lista abierta es un montículo binario sobre un {@code long[]} de
+ *       claves y un {@code int[]} de celdas; las entradas obsoletas se
+ *       descartan al salir en lugar de reordenar el montículo.</li>
+ * </ul>
+ * Los arreglos solo crecen, así que con la variante que escribe en un
+ * arreglo del llamador una consulta no reserva memoria una vez que la arena
+ * del hilo tiene el tamaño del mapa.
+ *
+ * En mapas casi abiertos, como los de {@link GeneradorMapas#crearMapaBase},
+ * A* abre casi todas las celdas entre origen y destino. Para ellos existe el
+ * modo {@link Modo#SALTOS}, una búsqueda por puntos de salto (Jump Point
+ * Search) para cuatro vecinos: desde cada nodo se avanza en línea recta
+ * mientras no aparezca un vecino forzado (una pared que termina junto al
+ * recorrido) y solo esos puntos de salto entran en la lista abierta. Los
+ * recorridos verticales exploran además en horizontal desde cada celda, lo
+ * que mantiene los caminos mínimos; en un {@link MapaCompacto} los
+ * recorridos horizontales avanzan 64 celdas por operación sobre la capa de
+ * bits. Cada pared aislada añade vecinos forzados, así que la ventaja solo
+ * compensa en mapas casi vacíos: {@link Modo#AUTOMATICO} elige los saltos
+ * cuando la densidad de paredes de un {@link MapaCompacto} no supera
+ * {@link #DENSIDAD_MAXIMA_SALTOS}, medida con el popcount de su capa de bits.
+ */
+public final class ServicioRutas {
+
+    /**
+     * Densidad de paredes hasta la cual el modo automático usa saltos. Con
+     * paredes sueltas más densas los saltos se detienen casi en cada fila y
+     * A* resulta igual o más rápido.
+     */
+    public static final double DENSIDAD_MAXIMA_SALTOS = 0.005;
+
+    private static final ThreadLocal<Arena> ARENAS = ThreadLocal.withInitial(Arena::new);
+
+    /**
+     * Estrategia de búsqueda.
+     */
+    public enum Modo {
+        /** Saltos en mapas compactos con pocas paredes; A* en el resto. */
+        AUTOMATICO,
+        /** A* expandiendo las cuatro vecinas de cada celda. */
+        A_ESTRELLA,
+        /** Búsqueda por puntos de salto para cuatro vecinos. */
+        SALTOS
+    }
+
+    private ServicioRutas() {
+    }
+
+    /**
+     * Estado reutilizable de las búsquedas de un hilo.
+     */
+    private static final class Arena {
+        int[] g = new int[0];
+        int[] padre = new int[0];
+        int[] sello = new int[0];
+        int consulta;
+        int expansiones;
+        long[] claves = new long[64];
+        int[] celdas = new int[64];
+        int tamañoMonticulo;
+
+        /**
+         * Prepara la arena para un mapa de {@code n} celdas.
+         */
+        void preparar(int n) {
+            if (g.length < n) {
+                g = new int[n];
+                padre = new int[n];
+                sello = new int[n];
+                consulta = 0;
+            }
+            if (++consulta == Integer.MAX_VALUE) {
+                Arrays.fill(sello, 0);
+                consulta = 1;
+            }
+            tamañoMonticulo = 0;
+            expansiones = 0;
+        }
+
+        /**
+         * Abre una celda con coste {@code coste} si mejora el conocido.
+         */
+        void relajar(int celda, int desde, int coste, int h) {
+            if (sello[celda] == consulta && g[celda] <= coste) return;
+            sello[celda] = consulta;
+            g[celda] = coste;
+            padre[celda] = desde;
+            // Orden por f y, a igual f, por h menor (más cerca del destino)
+            insertar(((long) (coste + h) << 32) | h, celda);
+        }
+
+        void insertar(long clave, int celda) {
+            if (tamañoMonticulo == claves.length) {
+                claves = Arrays.copyOf(claves, tamañoMonticulo * 2);
+                celdas = Arrays.copyOf(celdas, tamañoMonticulo * 2);
+            }
+            int i = tamañoMonticulo++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (claves[p] <= clave) break;
+                claves[i] = claves[p];
+                celdas[i] = celdas[p];
+                i = p;
+            }
+            claves[i] = clave;
+            celdas[i] = celda;
+        }
+
+        /**
+         * Saca la celda de menor clave; deja su clave en {@code claves[tamaño]}.
+         */
+        int extraer() {
+            int cima = celdas[0];
+            long claveCima = claves[0];
+            int n = --tamañoMonticulo;
+            long clave = claves[n];
+            int celda = celdas[n];
+            int i = 0;
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= n) break;
+                if (hijo + 1 < n && claves[hijo + 1] < claves[hijo]) hijo++;
+                if (claves[hijo] >= clave) break;
+                claves[i] = claves[hijo];
+                celdas[i] = celdas[hijo];
+                i = hijo;
+            }
+            claves[i] = clave;
+            celdas[i] = celda;
+            claves[n] = claveCima;
+            return cima;
+        }
+    }
+
+    /**
+     * Busca un camino más corto entre dos posiciones.
+     *
+     * @param tablero tablero finito
+     * @param origen  posición de partida
+     * @param destino posición de llegada
+     * @return índices empaquetados del camino, origen y destino incluidos, o
+     *         un arreglo vacío si no hay camino
+     */
+    public static int[] buscar(Tablero tablero, Posicion origen, Posicion destino) {
+        int columnas = tablero.getColumnas();
+        int o = origen.getFila() * columnas + origen.getColumna();
+        int d = destino.getFila() * columnas + destino.getColumna();
+        validar(tablero, origen.getFila(), origen.getColumna());
+        validar(tablero, destino.getFila(), destino.getColumna());
+        int longitud = buscar(tablero, o, d, null);
+        if (longitud < 0) return new int[0];
+        int[] ruta = new int[longitud];
+        copiarRuta(ARENAS.get(), o, d, columnas, ruta, longitud);
+        return ruta;
+    }
+
+    /**
+     * Busca un camino más corto entre dos celdas sin reservar memoria, con la
+     * estrategia elegida automáticamente.
+     *
+     * El camino se escribe al principio de {@code ruta}, del origen al
+     * destino, solo si cabe; en cualquier caso se devuelve su longitud, de
+     * modo que el llamador puede repetir la consulta con un arreglo mayor.
+     *
+     * @param tablero tablero finito
+     * @param origen  índice empaquetado de la celda de partida
+     * @param destino índice empaquetado de la celda de llegada
+     * @param ruta    arreglo donde escribir el camino (puede ser {@code null})
+     * @return celdas del camino, origen y destino incluidos, o -1 si no hay
+     */
+    public static int buscar(Tablero tablero, int origen, int destino, int[] ruta) {
+        return buscar(tablero, origen, destino, ruta, Modo.AUTOMATICO);
+    }
+
+    /**
+     * Busca un camino más corto entre dos celdas sin reservar memoria.
+     *
+     * @param tablero tablero finito
+     * @param origen  índice empaquetado de la celda de partida
+     * @param destino índice empaquetado de la celda de llegada
+     * @param ruta    arreglo donde escribir el camino (puede ser {@code null})
+     * @param modo    estrategia de búsqueda
+     * @return celdas del camino, origen y destino incluidos, o -1 si no hay
+     * @see #buscar(Tablero, int, int, int[])
+     */
+    public static int buscar(Tablero tablero, int origen, int destino, int[] ruta, Modo modo) {
+        if (tablero.esInfinito()) {
+            throw new IllegalArgumentException("La búsqueda de caminos requiere un tablero finito");
+        }
+        int filas = tablero.getFilas();
+        int columnas = tablero.getColumnas();
+        int n = filas * columnas;
+        if (origen < 0 || origen >= n || destino < 0 || destino >= n) {
+            throw new IllegalArgumentException("El origen y el destino deben estar dentro del tablero");
+        }
+        Arena arena = ARENAS.get();
+        arena.preparar(n);
+        if (!transitable(tablero, origen, columnas) || !transitable(tablero, destino, columnas)) return -1;
+
+        boolean saltos = modo == Modo.SALTOS || (modo == Modo.AUTOMATICO && pocasParedes(tablero));
+        int filaDestino = destino / columnas;
+        int columnaDestino = destino % columnas;
+        arena.relajar(origen, -1, 0,
+            Math.abs(origen / columnas - filaDestino) + Math.abs(origen % columnas - columnaDestino));
+
+        int[] g = arena.g;
+        while (arena.tamañoMonticulo > 0) {
+            int actual = arena.extraer();
+            long clave = arena.claves[arena.tamañoMonticulo];
+            int h = (int) clave;
+            // Entrada obsoleta: la celda ya salió con un coste menor
+            if ((int) (clave >>> 32) - h != g[actual]) continue;
+            if (actual == destino) {
+                int longitud = g[actual] + 1;
+                if (ruta != null && ruta.length >= longitud) {
+                    copiarRuta(arena, origen, destino, columnas, ruta, longitud);
+                }
+                return longitud;
+            }
+            arena.expansiones++;
+            int fila = actual / columnas;
+            int columna = actual - fila * columnas;
+            if (saltos) {
+                expandirSaltos(arena, tablero, actual, fila, columna, destino, filaDestino, columnaDestino);
+                continue;
+            }
+            int coste = g[actual] + 1;
+            if (fila > 0) expandir(arena, tablero, actual, actual - columnas, columnas, coste, filaDestino, columnaDestino);
+            if (fila + 1 < filas) expandir(arena, tablero, actual, actual + columnas, columnas, coste, filaDestino, columnaDestino);
+            if (columna > 0) expandir(arena, tablero, actual, actual - 1, columnas, coste, filaDestino, columnaDestino);
+            if (columna + 1 < columnas) expandir(arena, tablero, actual, actual + 1, columnas, coste, filaDestino, columnaDestino);
+        }
+        return -1;
+    }
+
+    /**
+     * Nodos expandidos por la última búsqueda de este hilo.
+     *
+     * @return celdas (o puntos de salto) sacadas de la lista abierta y expandidas
+     */
+    public static int getExpansiones() {
+        return ARENAS.get().expansiones;
+    }
+
+    private static boolean pocasParedes(Tablero tablero) {
+        if (!(tablero instanceof MapaCompacto)) return false;
+        MapaCompacto mapa = (MapaCompacto) tablero;
+        int paredes = mapa.tamaño() - mapa.getCapaTransitable().contarTransitables();
+        return paredes <= DENSIDAD_MAXIMA_SALTOS * mapa.tamaño();
+    }
+
+    /**
+     * Sucesores de un punto de salto: en el origen las cuatro direcciones y,
+     * llegando en una dirección, esa misma y las dos perpendiculares.
+     */
+    private static void expandirSaltos(Arena arena, Tablero tablero, int actual, int fila, int columna,
+                                       int destino, int filaDestino, int columnaDestino) {
+        int columnas = tablero.getColumnas();
+        int padre = arena.padre[actual];
+        int df = 0;
+        int dc = 0;
+        if (padre >= 0) {
+            df = Integer.signum(fila - padre / columnas);
+            dc = Integer.signum(columna - padre % columnas);
+        }
+        if (padre < 0 || dc != 0) {
+            saltarHacia(arena, tablero, actual, fila, columna, -1, 0, destino, filaDestino, columnaDestino);
+            saltarHacia(arena, tablero, actual, fila, columna, 1, 0, destino, filaDestino, columnaDestino);
+        }
+        if (padre < 0 || df != 0) {
+            saltarHacia(arena, tablero, actual, fila, columna, 0, -1, destino, filaDestino, columnaDestino);
+            saltarHacia(arena, tablero, actual, fila, columna, 0, 1, destino, filaDestino, columnaDestino);
+        }
+        if (padre >= 0) {
+            saltarHacia(arena, tablero, actual, fila, columna, df, dc, destino, filaDestino, columnaDestino);
+        }
+    }
+
+    private static void saltarHacia(Arena arena, Tablero tablero, int actual, int fila, int columna,
+                                    int df, int dc, int destino, int filaDestino, int columnaDestino) {
+        int columnas = tablero.getColumnas();
+        int salto = df != 0
+            ? saltarVertical(tablero, fila + df, columna, df, destino)
+            : saltarHorizontal(tablero, fila, columna + dc, dc, destino);
+        if (salto < 0) return;
+        int fs = salto / columnas;
+        int cs = salto % columnas;
+        int coste = arena.g[actual] + Math.abs(fs - fila) + Math.abs(cs - columna);
+        arena.relajar(salto, actual, coste, Math.abs(fs - filaDestino) + Math.abs(cs - columnaDestino));
+    }
+
+    /**
+     * Avanza en horizontal hasta el destino, un vecino forzado o una pared.
+     *
+     * @return índice del punto de salto, o -1 si el recorrido choca sin encontrarlo
+     */
+    private static int saltarHorizontal(Tablero tablero, int fila, int columna, int dc, int destino) {
+        int columnas = tablero.getColumnas();
+        if (tablero instanceof MapaCompacto) {
+            if (columna < 0 || columna >= columnas) return -1;
+            CapaTransitable capa = ((MapaCompacto) tablero).getCapaTransitable();
+            return dc > 0
+                ? saltarDerecha(capa, fila, columna, destino, columnas)
+                : saltarIzquierda(capa, fila, columna, destino, columnas);
+        }
+        while (tablero.esTransitable(fila, columna)) {
+            int indice = fila * columnas + columna;
+            if (indice == destino) return indice;
+            if ((tablero.esTransitable(fila - 1, columna) && !tablero.esTransitable(fila - 1, columna - dc))
+                    || (tablero.esTransitable(fila + 1, columna) && !tablero.esTransitable(fila + 1, columna - dc))) {
+                return indice;
+            }
+            columna += dc;
+        }
+        return -1;
+    }
+
+    /**
+     * {@link #saltarHorizontal} hacia la derecha sobre la capa de bits, 64
+     * columnas por paso: los vecinos forzados son las celdas abiertas arriba
+     * o abajo cuya vecina izquierda en esa fila es pared.
+     */
+    private static int saltarDerecha(CapaTransitable capa, int fila, int columna, int destino, int columnas) {
+        int porFila = capa.getPalabrasPorFila();
+        int base = fila * porFila;
+        boolean hayArriba = fila > 0;
+        boolean hayAbajo = fila + 1 < capa.getFilas();
+        for (int w = columna >>> 6; w < porFila; w++) {
+            long mascara = w == columna >>> 6 ? -1L << columna : -1L;
+            long libres = capa.palabra(base + w);
+            long forzados = 0;
+            if (hayArriba) forzados |= flancosIzquierda(capa, base - porFila, w);
+            if (hayAbajo) forzados |= flancosIzquierda(capa, base + porFila, w);
+            if (destino / columnas == fila && destino % columnas >>> 6 == w) forzados |= 1L << (destino % columnas);
+            int pared = Long.numberOfTrailingZeros(~libres & mascara);
+            int parada = Long.numberOfTrailingZeros(forzados & mascara);
+            if (parada < pared) return fila * columnas + (w << 6) + parada;
+            if (pared < 64) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * {@link #saltarHorizontal} hacia la izquierda sobre la capa de bits.
+     */
+    private static int saltarIzquierda(CapaTransitable capa, int fila, int columna, int destino, int columnas) {
+        int porFila = capa.getPalabrasPorFila();
+        int base = fila * porFila;
+        boolean hayArriba = fila > 0;
+        boolean hayAbajo = fila + 1 < capa.getFilas();
+        for (int w = columna >>> 6; w >= 0; w--) {
+            long mascara = w == columna >>> 6 ? -1L >>> (63 - (columna & 63)) : -1L;
+            long libres = capa.palabra(base + w);
+            long forzados = 0;
+            if (hayArriba) forzados |= flancosDerecha(capa, base - porFila, w, porFila);
+            if (hayAbajo) forzados |= flancosDerecha(capa, base + porFila, w, porFila);
+            if (destino / columnas == fila && destino % columnas >>> 6 == w) forzados |= 1L << (destino % columnas);
+            int pared = 63 - Long.numberOfLeadingZeros(~libres & mascara);
+            int parada = 63 - Long.numberOfLeadingZeros(forzados & mascara);
+            if (parada > pared) return fila * columnas + (w << 6) + parada;
+            if (pared >= 0) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Celdas abiertas de una palabra de la fila que empieza en {@code base}
+     * cuya vecina izquierda es pared.
+     */
+    private static long flancosIzquierda(CapaTransitable capa, int base, int w) {
+        long fila = capa.palabra(base + w);
+        long izquierda = (fila << 1) | (w > 0 ? capa.palabra(base + w - 1) >>> 63 : 0);
+        return fila & ~izquierda;
+    }
+
+    /**
+     * Celdas abiertas de una palabra de la fila que empieza en {@code base}
+     * cuya vecina derecha es pared.
+     */
+    private static long flancosDerecha(CapaTransitable capa, int base, int w, int porFila) {
+        long fila = capa.palabra(base + w);
+        long derecha = (fila >>> 1) | (w + 1 < porFila ? capa.palabra(base + w + 1) << 63 : 0);
+        return fila & ~derecha;
+    }
+
+    /**
+     * Avanza en vertical hasta el destino, un vecino forzado, una celda desde
+     * la que un recorrido horizontal encuentra un punto de salto, o una pared.
+     *
+     * @return índice del punto de salto, o -1 si el recorrido choca sin encontrarlo
+     */
+    private static int saltarVertical(Tablero tablero, int fila, int columna, int df, int destino) {
+        int columnas = tablero.getColumnas();
+        while (tablero.esTransitable(fila, columna)) {
+            int indice = fila * columnas + columna;
+            if (indice == destino) return indice;
+            if ((tablero.esTransitable(fila, columna - 1) && !tablero.esTransitable(fila - df, columna - 1))
+                    || (tablero.esTransitable(fila, columna + 1) && !tablero.esTransitable(fila - df, columna + 1))) {
+                return indice;
+            }
+            if (saltarHorizontal(tablero, fila, columna + 1, 1, destino) >= 0
+                    || saltarHorizontal(tablero, fila, columna - 1, -1, destino) >= 0) {
+                return indice;
+            }
+            fila += df;
+        }
+        return -1;
+    }
+
+    private static void expandir(Arena arena, Tablero tablero, int desde, int vecino, int columnas,
+                                 int coste, int filaDestino, int columnaDestino) {
+        if (!transitable(tablero, vecino, columnas)) return;
+        int h = Math.abs(vecino / columnas - filaDestino) + Math.abs(vecino % columnas - columnaDestino);
+        arena.relajar(vecino, desde, coste, h);
+    }
+
+    private static boolean transitable(Tablero tablero, int indice, int columnas) {
+        if (tablero instanceof MapaCompacto) return ((MapaCompacto) tablero).esTransitable(indice);
+        return tablero.esTransitable(indice / columnas, indice % columnas);
+    }
+
+    /**
+     * Reconstruye el camino desde el destino siguiendo los padres; entre dos
+     * puntos de salto rellena las celdas del tramo recto que los une.
+     */
+    private static void copiarRuta(Arena arena, int origen, int destino, int columnas,
+                                   int[] ruta, int longitud) {
+        int celda = destino;
+        int i = longitud - 1;
+        ruta[i] = celda;
+        while (celda != origen) {
+            int padre = arena.padre[celda];
+            int paso = padre / columnas == celda / columnas
+                ? Integer.signum(padre - celda)
+                : Integer.signum(padre - celda) * columnas;
+            while (celda != padre) {
+                celda += paso;
+                ruta[--i] = celda;
+            }
+        }
+    }
+
+    private static void validar(Tablero tablero, int fila, int columna) {
+        if (!tablero.contiene(fila, columna)) {
+            throw new IllegalArgumentException("La posición (" + fila + ", " + columna + ") está fuera del tablero");
+        }
+    }
+}
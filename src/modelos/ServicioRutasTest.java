@@ -0,0 +1,166 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link ServicioRutas}.
+ *
+ * Verifica:
+ * - Caminos de longitud mínima, contiguos y sobre celdas transitables
+ * - Destinos inalcanzables y caminos triviales
+ * - Escritura en el arreglo del llamador solo si el camino cabe
+ * - Modo por saltos: caminos mínimos y muchas menos expansiones en campo abierto
+ */
+public class ServicioRutasTest {
+
+    /**
+     * Verifica los caminos frente a las distancias de una búsqueda en anchura.
+     */
+    @Test
+    public void caminos_minimos() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(61, 0, 0, 4L,
+            new AlgoritmoTrenzado(new AlgoritmoBacktracking(), 0.4));
+        SplittableRandom random = new SplittableRandom(5L);
+        for (int k = 0; k < 30; k++) {
+            Posicion origen = new Posicion(2 * random.nextInt(31), 2 * random.nextInt(31));
+            Posicion destino = new Posicion(2 * random.nextInt(31), 2 * random.nextInt(31));
+            int[] ruta = ServicioRutas.buscar(mapa, origen, destino);
+
+            CampoDistancias campo = CampoDistancias.calcular(mapa, origen.getFila(), origen.getColumna());
+            assertEquals(campo.distancia(destino.getFila(), destino.getColumna()) + 1, ruta.length);
+            assertEquals(origen, mapa.posicion(ruta[0]));
+            assertEquals(destino, mapa.posicion(ruta[ruta.length - 1]));
+            for (int i = 1; i < ruta.length; i++) {
+                assertTrue(mapa.esTransitable(ruta[i]));
+                Posicion a = mapa.posicion(ruta[i - 1]);
+                Posicion b = mapa.posicion(ruta[i]);
+                assertEquals(1, Math.abs(a.getFila() - b.getFila()) + Math.abs(a.getColumna() - b.getColumna()));
+            }
+        }
+    }
+
+    /**
+     * Verifica los casos sin camino y con origen igual al destino.
+     */
+    @Test
+    public void casos_limite() {
+        MapaCompacto mapa = new MapaCompacto(1, 5);
+        mapa.rellenar(Celda.LIBRE);
+        mapa.establecer(0, 2, Celda.PARED);
+        assertEquals(0, ServicioRutas.buscar(mapa, new Posicion(0, 0), new Posicion(0, 4)).length);
+        assertEquals(-1, ServicioRutas.buscar(mapa, 0, 2, null));
+        assertArrayEquals(new int[] {1}, ServicioRutas.buscar(mapa, new Posicion(0, 1), new Posicion(0, 1)));
+    }
+
+    /**
+     * Verifica que la variante sin reservas solo escribe si el camino cabe.
+     */
+    @Test
+    public void arreglo_del_llamador() {
+        MapaCompacto mapa = new MapaCompacto(1, 6);
+        mapa.rellenar(Celda.LIBRE);
+        int[] corta = {-7, -7};
+        assertEquals(6, ServicioRutas.buscar(mapa, 0, 5, corta));
+        assertArrayEquals(new int[] {-7, -7}, corta);
+        int[] larga = new int[8];
+        assertEquals(6, ServicioRutas.buscar(mapa, 0, 5, larga));
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 0, 0}, larga);
+    }
+
+    /**
+     * Verifica que la búsqueda funciona sobre tableros que no son compactos.
+     */
+    @Test
+    public void tablero_generico() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(21, 0, 0, 3L, new AlgoritmoPrim());
+        Tablero envoltorio = generico(mapa);
+        Posicion destino = new Posicion(20, 20);
+        assertEquals(ServicioRutas.buscar(mapa, new Posicion(0, 0), destino).length,
+                     ServicioRutas.buscar(envoltorio, new Posicion(0, 0), destino).length);
+    }
+
+    /**
+     * Verifica que una posición fuera del tablero se rechaza.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void fuera_del_tablero_falla() {
+        ServicioRutas.buscar(new MapaCompacto(3, 3), new Posicion(0, 0), new Posicion(3, 0));
+    }
+
+    /**
+     * Verifica los caminos por saltos frente a una búsqueda en anchura, con
+     * columnas que no llenan la última palabra de la capa y sobre un tablero
+     * genérico que recorre celda a celda.
+     */
+    @Test
+    public void saltos_caminos_minimos() {
+        SplittableRandom random = new SplittableRandom(11L);
+        MapaCompacto mapa = new MapaCompacto(90, 150);
+        mapa.rellenar(Celda.LIBRE);
+        for (int k = 0; k < 400; k++) mapa.establecer(random.nextInt(90), random.nextInt(150), Celda.PARED);
+        for (int f = 10; f < 70; f++) mapa.establecer(f, 64, Celda.PARED);
+        for (int c = 20; c < 130; c++) mapa.establecer(45, c, Celda.PARED);
+        Tablero envoltorio = generico(mapa);
+        int[] ruta = new int[mapa.tamaño()];
+        for (int k = 0; k < 40; k++) {
+            int origen = random.nextInt(mapa.tamaño());
+            int destino = random.nextInt(mapa.tamaño());
+            if (!mapa.esTransitable(origen) || !mapa.esTransitable(destino)) continue;
+            CampoDistancias campo = CampoDistancias.calcular(mapa, origen / 150, origen % 150);
+            int esperado = campo.distancia(destino / 150, destino % 150) + 1;
+            for (Tablero tablero : new Tablero[] {mapa, envoltorio}) {
+                int longitud = ServicioRutas.buscar(tablero, origen, destino, ruta, ServicioRutas.Modo.SALTOS);
+                assertEquals(esperado == 0 ? -1 : esperado, longitud);
+                if (longitud < 0) continue;
+                assertEquals(origen, ruta[0]);
+                assertEquals(destino, ruta[longitud - 1]);
+                for (int i = 1; i < longitud; i++) {
+                    assertTrue(mapa.esTransitable(ruta[i]));
+                    int paso = Math.abs(ruta[i] - ruta[i - 1]);
+                    assertTrue(paso == 1 || paso == 150);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica que en campo abierto los saltos expanden menos de una décima
+     * parte de los nodos de A* y que el modo automático los elige.
+     */
+    @Test
+    public void saltos_expanden_menos() {
+        MapaCompacto mapa = new MapaCompacto(200, 200);
+        mapa.rellenar(Celda.LIBRE);
+        for (int f = 30; f < 170; f++) mapa.establecer(f, 100, Celda.PARED);
+        int origen = mapa.indice(100, 10);
+        int destino = mapa.indice(120, 190);
+        int[] ruta = new int[mapa.tamaño()];
+
+        int longitudA = ServicioRutas.buscar(mapa, origen, destino, ruta, ServicioRutas.Modo.A_ESTRELLA);
+        int expansionesA = ServicioRutas.getExpansiones();
+        int longitudSaltos = ServicioRutas.buscar(mapa, origen, destino, ruta, ServicioRutas.Modo.SALTOS);
+        int expansionesSaltos = ServicioRutas.getExpansiones();
+        assertEquals(longitudA, longitudSaltos);
+        assertTrue(expansionesSaltos * 10 < expansionesA);
+
+        ServicioRutas.buscar(mapa, origen, destino, ruta);
+        assertEquals(expansionesSaltos, ServicioRutas.getExpansiones());
+    }
+
+    /**
+     * Envuelve un mapa compacto en un {@link Tablero} que no es
+     * {@link MapaCompacto}, para ejercitar los recorridos celda a celda.
+     */
+    private static Tablero generico(MapaCompacto mapa) {
+        return new Tablero() {
+            public int getFilas() { return mapa.getFilas(); }
+            public int getColumnas() { return mapa.getColumnas(); }
+            public boolean contiene(int f, int c) { return mapa.contiene(f, c); }
+            public Celda obtener(int f, int c) { return mapa.obtener(f, c); }
+            public boolean esTransitable(int f, int c) { return mapa.esTransitable(f, c); }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package modelos;
+
+/**
+ * Superficie de juego sobre la que se mueve el jugador.
+ *
+ * Abstrae el origen de las celdas: un {@link MapaCompacto} finito generado
+ * de una vez o un {@link MundoInfinito} que genera trozos bajo demanda. El
+ * motor, el validador de movimientos y el panel de juego solo consultan
+ * celdas por coordenadas, de modo que funcionan igual con ambos.
+ */
+public interface Tablero {
+
+    /** Valor de {@link #getFilas()} y {@link #getColumnas()} en tableros sin límite. */
+    int SIN_LIMITE = -1;
+
+    /**
+     * Número de filas del tablero.
+     *
+     * @return filas, o {@link #SIN_LIMITE} si el tablero es infinito
+     */
+    int getFilas();
+
+    /**
+     * Número de columnas del tablero.
+     *
+     * @return columnas, o {@link #SIN_LIMITE} si el tablero es infinito
+     */
+    int getColumnas();
+
+    /**
+     * Indica si unas coordenadas pertenecen al tablero.
+     *
+     * @param fila    fila a comprobar
+     * @param columna columna a comprobar
+     * @return {@code true} si la celda existe
+     */
+    boolean contiene(int fila, int columna);
+
+    /**
+     * Obtiene la celda en unas coordenadas contenidas en el tablero.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return tipo de celda
+     */
+    Celda obtener(int fila, int columna);
+
+    /**
+     * Indica si unas coordenadas están en el tablero y no son pared.
+     *
+     * @param fila    fila de la celda
+     * @param columna columna de la celda
+     * @return {@code true} si la celda existe y es transitable
+     */
+    boolean esTransitable(int fila, int columna);
+
+    /**
+     * Indica si el tablero no tiene límites.
+     *
+     * @return {@code true} si no tiene un número fijo de filas
+     */
+    default boolean esInfinito() {
+        return getFilas() == SIN_LIMITE;
+    }
+
+    /**
+     * Avisa de que el jugador está junto a unas coordenadas.
+     *
+     * Los tableros generados bajo demanda pueden preparar aquí las zonas
+     * vecinas antes de que se pidan; los tableros finitos no hacen nada.
+     *
+     * @param fila    fila del jugador
+     * @param columna columna del jugador
+     */
+    default void prepararAlrededor(int fila, int columna) {
+    }
+}
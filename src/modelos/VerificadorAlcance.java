@@ -0,0 +1,142 @@
+package modelos;
+
+/**
+ * Verificación de alcance de los mapas generados.
+ *
+ * Calcula con un relleno por inundación sobre la {@link CapaTransitable}
+ * qué celdas son alcanzables desde un origen y comprueba que la meta y todas
+ * las preguntas lo sean. El relleno trabaja por palabras de 64 celdas: dentro
+ * de una palabra propaga los tramos horizontales con un relleno ocluido de
+ * Kogge-Stone (seis desplazamientos por sentido) y solo vuelve a encolar las
+ * palabras vecinas que reciben bits nuevos. El coste es lineal en el tamaño
+ * del mapa y solo reserva tres arreglos de {@code filas * columnas / 64}
+ * elementos.
+ */
+public class VerificadorAlcance {
+
+    /**
+     * Calcula las celdas alcanzables desde una celda de origen.
+     *
+     * @param mapa    mapa a recorrer
+     * @param fila    fila del origen
+     * @param columna columna del origen
+     * @return conjunto de celdas alcanzables con el formato de la capa del
+     *         mapa; vacío si el origen no es transitable
+     */
+    public static long[] alcanzables(MapaCompacto mapa, int fila, int columna) {
+        CapaTransitable capa = mapa.getCapaTransitable();
+        int palabrasPorFila = capa.getPalabrasPorFila();
+        int palabras = capa.getPalabras();
+        long[] visitado = new long[palabras];
+        if (!capa.esTransitable(fila, columna)) return visitado;
+
+        // Bits recibidos por cada palabra y aún no propagados; una palabra
+        // está en la pila exactamente cuando su entrada es distinta de cero
+        long[] pendiente = new long[palabras];
+        int[] pila = new int[palabras];
+        int cima = 0;
+
+        int inicio = fila * palabrasPorFila + (columna >>> 6);
+        pendiente[inicio] = 1L << columna;
+        pila[cima++] = inicio;
+
+        while (cima > 0) {
+            int w = pila[--cima];
+            long libres = capa.palabra(w);
+            long nuevos = rellenarTramos(pendiente[w], libres) & ~visitado[w];
+            pendiente[w] = 0;
+            if (nuevos == 0) continue;
+            visitado[w] |= nuevos;
+
+            int columnaPalabra = w % palabrasPorFila;
+            if (w >= palabrasPorFila) {
+                cima = sembrar(capa, visitado, pendiente, pila, cima, w - palabrasPorFila, nuevos);
+            }
+            if (w + palabrasPorFila < palabras) {
+                cima = sembrar(capa, visitado, pendiente, pila, cima, w + palabrasPorFila, nuevos);
+            }
+            if (columnaPalabra > 0 && (nuevos & 1L) != 0) {
+                cima = sembrar(capa, visitado, pendiente, pila, cima, w - 1, 1L << 63);
+            }
+            if (columnaPalabra + 1 < palabrasPorFila && nuevos < 0) {
+                cima = sembrar(capa, visitado, pendiente, pila, cima, w + 1, 1L);
+            }
+        }
+        return visitado;
+    }
+
+    /**
+     * Comprueba que la meta y todas las preguntas son alcanzables desde (0, 0).
+     *
+     * @param mapa mapa a verificar
+     * @return true si existe una meta y tanto ella como cada pregunta son
+     *         alcanzables desde el inicio
+     */
+    public static boolean esCompletable(MapaCompacto mapa) {
+        if (mapa.tamaño() == 0) return false;
+        long[] alcance = alcanzables(mapa, 0, 0);
+        int palabrasPorFila = mapa.getCapaTransitable().getPalabrasPorFila();
+        int columnas = mapa.getColumnas();
+        boolean hayMeta = false;
+        int i = 0;
+        for (int r = 0; r < mapa.getFilas(); r++) {
+            int base = r * palabrasPorFila;
+            for (int c = 0; c < columnas; c++, i++) {
+                Celda celda = mapa.obtener(i);
+                if (celda != Celda.META && celda != Celda.PREGUNTA) continue;
+                if ((alcance[base + (c >>> 6)] & (1L << c)) == 0) return false;
+                if (celda == Celda.META) hayMeta = true;
+            }
+        }
+        return hayMeta;
+    }
+
+    /**
+     * Comprueba que la meta y todas las preguntas de una matriz de celdas son
+     * alcanzables desde (0, 0).
+     *
+     * @param mapa matriz rectangular de celdas
+     * @return true si el mapa puede completarse
+     */
+    public static boolean esCompletable(Celda[][] mapa) {
+        return esCompletable(MapaCompacto.desdeMatriz(mapa));
+    }
+
+    /**
+     * Añade bits a la palabra indicada y la encola si no estaba pendiente.
+     *
+     * @return nueva cima de la pila
+     */
+    private static int sembrar(CapaTransitable capa, long[] visitado, long[] pendiente,
+                               int[] pila, int cima, int w, long bits) {
+        bits &= capa.palabra(w) & ~visitado[w];
+        if (bits == 0) return cima;
+        if (pendiente[w] == 0) pila[cima++] = w;
+        pendiente[w] |= bits;
+        return cima;
+    }
+
+    /**
+     * Extiende cada bit semilla a todo su tramo contiguo de bits transitables.
+     */
+    private static long rellenarTramos(long semillas, long libres) {
+        long alto = semillas & libres;
+        long p = libres;
+        alto |= p & (alto << 1);  p &= p << 1;
+        alto |= p & (alto << 2);  p &= p << 2;
+        alto |= p & (alto << 4);  p &= p << 4;
+        alto |= p & (alto << 8);  p &= p << 8;
+        alto |= p & (alto << 16); p &= p << 16;
+        alto |= p & (alto << 32);
+
+        long bajo = semillas & libres;
+        p = libres;
+        bajo |= p & (bajo >>> 1);  p &= p >>> 1;
+        bajo |= p & (bajo >>> 2);  p &= p >>> 2;
+        bajo |= p & (bajo >>> 4);  p &= p >>> 4;
+        bajo |= p & (bajo >>> 8);  p &= p >>> 8;
+        bajo |= p & (bajo >>> 16); p &= p >>> 16;
+        bajo |= p & (bajo >>> 32);
+        return alto | bajo;
+    }
+}
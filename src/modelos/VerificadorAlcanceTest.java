@@ -0,0 +1,161 @@
+package modelos;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Pruebas unitarias para la clase {@link VerificadorAlcance}.
+ *
+ * Verifica:
+ * - El relleno por palabras coincide con un BFS celda a celda
+ * - Detección de metas y preguntas inalcanzables
+ * - La colocación de GeneradorMapas evita zonas aisladas
+ */
+public class VerificadorAlcanceTest {
+
+    /**
+     * Verifica que el conjunto alcanzable coincide con un BFS en mapas con
+     * paredes aleatorias y anchos que cruzan límites de palabra.
+     */
+    @Test
+    public void alcanzables_coincide_con_bfs() {
+        SplittableRandom random = new SplittableRandom(11L);
+        for (int columnas : new int[]{5, 64, 65, 130}) {
+            for (int densidad = 20; densidad <= 45; densidad += 5) {
+                MapaCompacto mapa = mapaConParedes(37, columnas, densidad, random);
+                long[] alcance = VerificadorAlcance.alcanzables(mapa, 0, 0);
+                boolean[] esperado = bfs(mapa);
+                CapaTransitable capa = mapa.getCapaTransitable();
+                for (int i = 0; i < mapa.tamaño(); i++) {
+                    int r = i / columnas;
+                    int c = i % columnas;
+                    assertEquals("Celda (" + r + "," + c + ") con " + columnas + " columnas",
+                                 esperado[i], capa.contiene(alcance, r, c));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica que un origen de pared produce un conjunto vacío.
+     */
+    @Test
+    public void alcanzables_desde_pared_vacio() {
+        MapaCompacto mapa = new MapaCompacto(4, 4);
+        long[] alcance = VerificadorAlcance.alcanzables(mapa, 0, 0);
+        for (long palabra : alcance) assertEquals(0L, palabra);
+    }
+
+    /**
+     * Verifica que los laberintos generados son completables.
+     */
+    @Test
+    public void laberinto_generado_es_completable() {
+        MapaCompacto mapa = GeneradorLaberinto.generarMapaCompacto(
+            64, 819, 409, 3L, new AlgoritmoKruskal());
+        assertTrue(VerificadorAlcance.esCompletable(mapa));
+    }
+
+    /**
+     * Verifica que una meta aislada por paredes se detecta.
+     */
+    @Test
+    public void meta_aislada_no_es_completable() {
+        Celda[][] mapa = GeneradorMapas.crearMapaBase(5, 5, muroVertical(5, 2));
+        mapa[0][4] = Celda.META;
+        assertFalse(VerificadorAlcance.esCompletable(mapa));
+        mapa[0][4] = Celda.LIBRE;
+        mapa[4][1] = Celda.META;
+        assertTrue(VerificadorAlcance.esCompletable(mapa));
+    }
+
+    /**
+     * Verifica que una pregunta aislada también hace el mapa incompletable.
+     */
+    @Test
+    public void pregunta_aislada_no_es_completable() {
+        Celda[][] mapa = GeneradorMapas.crearMapaBase(5, 5, muroVertical(5, 2));
+        mapa[4][1] = Celda.META;
+        mapa[3][3] = Celda.PREGUNTA;
+        assertFalse(VerificadorAlcance.esCompletable(mapa));
+    }
+
+    /**
+     * Verifica que un mapa sin meta no se considera completable.
+     */
+    @Test
+    public void mapa_sin_meta_no_es_completable() {
+        assertFalse(VerificadorAlcance.esCompletable(GeneradorMapas.crearMapaBase(4, 4)));
+    }
+
+    /**
+     * Verifica que GeneradorMapas nunca coloca elementos detrás de un muro.
+     */
+    @Test
+    public void generador_mapas_solo_usa_celdas_alcanzables() {
+        for (long semilla = 0; semilla < 50; semilla++) {
+            Celda[][] mapa = GeneradorMapas.crearMapaBase(8, 8, muroVertical(8, 3));
+            GeneradorMapas.colocarPreguntasYSalida(mapa, 10, semilla);
+            assertTrue(VerificadorAlcance.esCompletable(mapa));
+            for (int r = 0; r < 8; r++) {
+                for (int c = 4; c < 8; c++) {
+                    assertEquals(Celda.LIBRE, mapa[r][c]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica que las celdas aisladas no cuentan como disponibles.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void generador_mapas_sin_celdas_alcanzables_falla() {
+        // Zona alcanzable: 3 columnas x 8 filas - INICIO = 23 celdas
+        Celda[][] mapa = GeneradorMapas.crearMapaBase(8, 8, muroVertical(8, 3));
+        GeneradorMapas.colocarPreguntasYSalida(mapa, 23, 1L);
+    }
+
+    private static List<int[]> muroVertical(int filas, int columna) {
+        List<int[]> paredes = new ArrayList<>();
+        for (int r = 0; r < filas; r++) paredes.add(new int[]{r, columna});
+        return paredes;
+    }
+
+    private static MapaCompacto mapaConParedes(int filas, int columnas, int densidad,
+                                               SplittableRandom random) {
+        MapaCompacto mapa = new MapaCompacto(filas, columnas);
+        mapa.rellenar(Celda.LIBRE);
+        for (int i = 1; i < mapa.tamaño(); i++) {
+            if (random.nextInt(100) < densidad) mapa.establecer(i, Celda.PARED);
+        }
+        return mapa;
+    }
+
+    private static boolean[] bfs(MapaCompacto mapa) {
+        int filas = mapa.getFilas();
+        int columnas = mapa.getColumnas();
+        boolean[] visitado = new boolean[mapa.tamaño()];
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        visitado[0] = true;
+        cola.add(0);
+        int[][] dirs = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        while (!cola.isEmpty()) {
+            int actual = cola.poll();
+            for (int[] d : dirs) {
+                int nr = actual / columnas + d[0];
+                int nc = actual % columnas + d[1];
+                if (nr >= 0 && nr < filas && nc >= 0 && nc < columnas
+                        && mapa.esTransitable(nr, nc) && !visitado[nr * columnas + nc]) {
+                    visitado[nr * columnas + nc] = true;
+                    cola.add(nr * columnas + nc);
+                }
+            }
+        }
+        return visitado;
+    }
+}
@@ -9,6 +9,11 @@ import modelos.*;
  * Incluye un banco de 15+ preguntas de vocabulario avanzado.
  */
 public class Avanzado implements Nivel {
+    // Wilson: laberinto uniforme sin sesgo; asequible a 32x32.
+    private static final AlgoritmoLaberinto ALGORITMO = new AlgoritmoWilson();
+    // Solución relativamente corta entre muchos callejones.
+    private static final ObjetivoDificultad OBJETIVO = new ObjetivoDificultad(0.20, 0.30, 0.13, 0.17);
+
     private BancoPreguntas banco;
     private Pregunta[] preguntasActuales;
     private String[] respuestasActuales;
@@ -94,14 +99,25 @@ public class Avanzado implements Nivel {
      * Crea el mapa del nivel Avanzado (32x32 laberinto).
      * 20% preguntas, 10% datos curiosos.
      *
-     * @return matriz de {@link modelos.Celda} representando el laberinto
+     * @param semilla semilla de 64 bits que determina el laberinto generado
+     * @return mapa compacto con el laberinto del nivel
      */
     @Override
-    public Celda[][] crearMapa() {
+    public MapaCompacto crearMapaCompacto(long semilla) {
         // Mapa 32x32 = 1024 celdas
         // 20% preguntas = 204.8 → 204 preguntas
         // 10% datos = 102.4 → 102 datos
-        return GeneradorLaberinto.generarLaberintoAleatorio(32, 204, 102);
+        return GeneradorLaberinto.generarMapaCompacto(32, 204, 102, semilla, ALGORITMO);
+    }
+
+    /**
+     * Banda de dificultad de los mapas del nivel Avanzado.
+     *
+     * @return objetivo de dificultad del nivel
+     */
+    @Override
+    public ObjetivoDificultad objetivoDificultad() {
+        return OBJETIVO;
     }
 
     /**
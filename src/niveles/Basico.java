@@ -9,6 +9,11 @@ import modelos.*;
  * Incluye un banco de 19 preguntas variadas de vocabulario básico en inglés.
  */
 public class Basico implements Nivel {
+    // Backtracking: pocos pasillos largos, fáciles de seguir en un mapa pequeño.
+    private static final AlgoritmoLaberinto ALGORITMO = new AlgoritmoBacktracking();
+    // Pocos callejones y una solución que recorre buena parte del mapa.
+    private static final ObjetivoDificultad OBJETIVO = new ObjetivoDificultad(0.55, 0.80, 0.05, 0.12);
+
     private BancoPreguntas banco;
     private Pregunta[] preguntasActuales;
     private String[] respuestasActuales;
@@ -102,15 +107,28 @@ public class Basico implements Nivel {
      * Crea el mapa del nivel Basico (8x8 laberinto).
      * 20% preguntas, 10% datos curiosos.
      *
-     * @return matriz de {@link modelos.Celda} representando el laberinto
+     * @param semilla semilla de 64 bits que determina el laberinto generado
+     * @return mapa compacto con el laberinto del nivel
      */
     @Override
-    public Celda[][] crearMapa() {
+    public MapaCompacto crearMapaCompacto(long semilla) {
         // Mapa 8x8 = 64 celdas
         // 20% preguntas = 12.8 → 12 preguntas
         // 10% datos = 6.4 → 6 datos
-        return GeneradorLaberinto.generarLaberintoAleatorio(8, 12, 6);
-    }    /**
+        return GeneradorLaberinto.generarMapaCompacto(8, 12, 6, semilla, ALGORITMO);
+    }
+
+    /**
+     * Banda de dificultad de los mapas del nivel Basico.
+     *
+     * @return objetivo de dificultad del nivel
+     */
+    @Override
+    public ObjetivoDificultad objetivoDificultad() {
+        return OBJETIVO;
+    }
+
+    /**
      * Provee las preguntas del nivel (aleatorias).
      *
      * @return arreglo de {@link modelos.Pregunta}
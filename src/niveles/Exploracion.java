@@ -0,0 +1,112 @@
+package niveles;
+
+import modelos.*;
+
+/**
+ * Implementación del nivel Exploracion.
+ *
+ * Se juega sobre un {@link MundoInfinito}: no tiene tamaño fijo ni meta, el
+ * laberinto se genera por trozos a medida que el jugador avanza y cada trozo
+ * contiene algunas preguntas y datos curiosos.
+ * Incluye un banco de preguntas de geografía y exploración.
+ */
+public class Exploracion implements Nivel {
+    // Lado de la región que se entrega cuando se pide un mapa finito
+    private static final int TAMAÑO_RECORTE = 64;
+
+    private BancoPreguntas banco;
+    private Pregunta[] preguntasActuales;
+    private String[] respuestasActuales;
+
+    public Exploracion() {
+        inicializarBanco();
+        seleccionarPreguntasAleatorias();
+    }
+
+    /**
+     * Inicializa el banco de preguntas del nivel de exploración.
+     * Incluye geografía, vocabulario de viaje y grandes exploradores.
+     */
+    private void inicializarBanco() {
+        banco = new BancoPreguntas();
+
+        // === INGLÉS - Viajes ===
+        banco.agregarPregunta("Traduce 'mapa' al inglés:", null, 0, 15, "map");
+        banco.agregarPregunta("Traduce 'camino' al inglés:", null, 0, 15, "road");
+        banco.agregarPregunta("Traduce 'montaña' al inglés:", null, 0, 15, "mountain");
+        banco.agregarPregunta("Traduce 'río' al inglés:", null, 0, 15, "river");
+        banco.agregarPregunta("Traduce 'bosque' al inglés:", null, 0, 15, "forest");
+        banco.agregarPregunta("Traduce 'isla' al inglés:", null, 0, 15, "island");
+
+        // === CURIOSIDADES - Geografía ===
+        banco.agregarPregunta("¿Cuál es el río más largo de Sudamérica?:", null, 0, 20, "amazonas");
+        banco.agregarPregunta("¿Cuál es el océano más grande?:", null, 0, 20, "pacifico");
+        banco.agregarPregunta("¿Cuál es la montaña más alta del mundo?:", null, 0, 20, "everest");
+        banco.agregarPregunta("¿Cuál es el desierto cálido más grande?:", null, 0, 20, "sahara");
+        banco.agregarPregunta("¿Cuál es la capital de Italia?:", null, 0, 20, "roma");
+        banco.agregarPregunta("¿Cuál es la capital de Japón?:", null, 0, 20, "tokio");
+
+        // === CURIOSIDADES - Exploradores ===
+        banco.agregarPregunta("¿En qué año llegó Colón a América?:", null, 0, 25, "1492");
+        banco.agregarPregunta("¿Qué explorador dio nombre al estrecho del sur de Chile?:", null, 0, 25, "magallanes");
+        banco.agregarPregunta("¿Qué punto cardinal señala la brújula?:", null, 0, 25, "norte");
+    }
+
+    /**
+     * Selecciona 10 preguntas aleatorias para esta instancia del juego.
+     */
+    private void seleccionarPreguntasAleatorias() {
+        preguntasActuales = banco.obtenerPreguntasAleatorias(10);
+        respuestasActuales = banco.obtenerRespuestasAleatorias(10);
+    }
+
+    @Override
+    public String nombreNivel() {
+        return "Exploracion";
+    }
+
+    /**
+     * Crea el mundo infinito del nivel.
+     *
+     * @param semilla semilla de 64 bits del mundo
+     * @return {@link MundoInfinito} que se genera a medida que se explora
+     */
+    @Override
+    public Tablero crearTablero(long semilla) {
+        return new MundoInfinito(semilla);
+    }
+
+    /**
+     * Crea una región finita del mundo del nivel (64x64 desde el inicio).
+     *
+     * Sirve a los consumidores que necesitan un mapa completo; la partida se
+     * juega sobre {@link #crearTablero(long)}.
+     *
+     * @param semilla semilla de 64 bits del mundo
+     * @return mapa compacto con la región inicial del mundo
+     */
+    @Override
+    public MapaCompacto crearMapaCompacto(long semilla) {
+        return new MundoInfinito(semilla).recortar(0, 0, TAMAÑO_RECORTE, TAMAÑO_RECORTE);
+    }
+
+    /**
+     * Provee las preguntas del nivel Exploracion (aleatorias).
+     *
+     * @return arreglo de {@link modelos.Pregunta}
+     */
+    @Override
+    public Pregunta[] obtenerPreguntas() {
+        return preguntasActuales;
+    }
+
+    /**
+     * Respuestas esperadas para las preguntas del nivel Exploracion (en el mismo orden).
+     *
+     * @return arreglo de respuestas esperadas en minúsculas
+     */
+    @Override
+    public String[] obtenerRespuestasEsperadas() {
+        return respuestasActuales;
+    }
+}
@@ -9,6 +9,11 @@ import modelos.*;
  * Incluye un banco de 15+ preguntas de vocabulario intermedio.
  */
 public class Intermedio implements Nivel {
+    // Prim: laberinto muy ramificado con callejones cortos.
+    private static final AlgoritmoLaberinto ALGORITMO = new AlgoritmoPrim();
+    // Solución de longitud media y callejones moderados.
+    private static final ObjetivoDificultad OBJETIVO = new ObjetivoDificultad(0.25, 0.40, 0.12, 0.18);
+
     private BancoPreguntas banco;
     private Pregunta[] preguntasActuales;
     private String[] respuestasActuales;
@@ -98,14 +103,25 @@ public class Intermedio implements Nivel {
      * Crea el mapa del nivel Intermedio (16x16 laberinto).
      * 20% preguntas, 10% datos curiosos.
      *
-     * @return matriz de {@link modelos.Celda} representando el laberinto
+     * @param semilla semilla de 64 bits que determina el laberinto generado
+     * @return mapa compacto con el laberinto del nivel
      */
     @Override
-    public Celda[][] crearMapa() {
+    public MapaCompacto crearMapaCompacto(long semilla) {
         // Mapa 16x16 = 256 celdas
         // 20% preguntas = 51.2 → 51 preguntas
         // 10% datos = 25.6 → 25 datos
-        return GeneradorLaberinto.generarLaberintoAleatorio(16, 51, 25);
+        return GeneradorLaberinto.generarMapaCompacto(16, 51, 25, semilla, ALGORITMO);
+    }
+
+    /**
+     * Banda de dificultad de los mapas del nivel Intermedio.
+     *
+     * @return objetivo de dificultad del nivel
+     */
+    @Override
+    public ObjetivoDificultad objetivoDificultad() {
+        return OBJETIVO;
     }
 
     /**
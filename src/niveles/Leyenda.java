@@ -9,6 +9,11 @@ import modelos.*;
  * Incluye un banco de 25+ preguntas de vocabulario experto.
  */
 public class Leyenda implements Nivel {
+    // Kruskal: coste casi lineal y textura uniforme para el mapa más grande.
+    private static final AlgoritmoLaberinto ALGORITMO = new AlgoritmoKruskal();
+    // Mapa grande: la solución es una fracción pequeña y el resto, callejones.
+    private static final ObjetivoDificultad OBJETIVO = new ObjetivoDificultad(0.10, 0.18, 0.14, 0.17);
+
     private BancoPreguntas banco;
     private Pregunta[] preguntasActuales;
     private String[] respuestasActuales;
@@ -94,14 +99,25 @@ public class Leyenda implements Nivel {
      * Crea el mapa del nivel Leyenda (64x64 laberinto épico).
      * 20% preguntas, 10% datos curiosos.
      *
-     * @return matriz de {@link modelos.Celda} representando el laberinto
+     * @param semilla semilla de 64 bits que determina el laberinto generado
+     * @return mapa compacto con el laberinto del nivel
      */
     @Override
-    public Celda[][] crearMapa() {
+    public MapaCompacto crearMapaCompacto(long semilla) {
         // Mapa 64x64 = 4096 celdas
         // 20% preguntas = 819.2 → 819 preguntas
         // 10% datos = 409.6 → 409 datos
-        return GeneradorLaberinto.generarLaberintoAleatorio(64, 819, 409);
+        return GeneradorLaberinto.generarMapaCompacto(64, 819, 409, semilla, ALGORITMO);
+    }
+
+    /**
+     * Banda de dificultad de los mapas del nivel Leyenda.
+     *
+     * @return objetivo de dificultad del nivel
+     */
+    @Override
+    public ObjetivoDificultad objetivoDificultad() {
+        return OBJETIVO;
     }
 
     /**
@@ -1,7 +1,12 @@
 package niveles;
 
 import modelos.Celda;
+import modelos.MapaCompacto;
+import modelos.ObjetivoDificultad;
 import modelos.Pregunta;
+import modelos.Tablero;
+
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Interfaz que define el contrato para implementaciones de niveles.
@@ -20,9 +25,63 @@ public interface Nivel {
     /**
      * Crea y retorna el mapa del nivel.
      *
+     * Equivale a {@link #crearMapa(long)} con una semilla aleatoria.
+     *
+     * @return matriz de {@link modelos.Celda} representando el mapa del nivel
+     */
+    default Celda[][] crearMapa() {
+        return crearMapa(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Crea el mapa del nivel a partir de una semilla.
+     *
+     * Un mismo nivel y una misma semilla producen siempre el mismo mapa, lo que
+     * permite reproducir, cachear o generar mapas en paralelo.
+     *
+     * @param semilla semilla de 64 bits del generador
      * @return matriz de {@link modelos.Celda} representando el mapa del nivel
      */
-    Celda[][] crearMapa();
+    default Celda[][] crearMapa(long semilla) {
+        return crearMapaCompacto(semilla).aMatriz();
+    }
+
+    /**
+     * Crea el mapa del nivel en su representación compacta.
+     *
+     * Es la forma preferida por el motor; {@link #crearMapa(long)} se obtiene a
+     * partir de ella. Una misma semilla produce siempre el mismo mapa.
+     *
+     * @param semilla semilla de 64 bits del generador
+     * @return {@link modelos.MapaCompacto} con el mapa del nivel
+     */
+    MapaCompacto crearMapaCompacto(long semilla);
+
+    /**
+     * Crea el tablero sobre el que se juega el nivel.
+     *
+     * Por defecto es el mapa compacto del nivel; los niveles sin tamaño fijo
+     * devuelven un tablero infinito que se genera a medida que se explora.
+     *
+     * @param semilla semilla de 64 bits del generador
+     * @return {@link modelos.Tablero} de la partida
+     */
+    default Tablero crearTablero(long semilla) {
+        return crearMapaCompacto(semilla);
+    }
+
+    /**
+     * Banda de dificultad que deberían cumplir los mapas del nivel.
+     *
+     * La usa {@link modelos.SelectorMapas} para elegir, entre varios mapas
+     * candidatos, los más cercanos a la banda. Por defecto no hay objetivo y
+     * cualquier mapa generado es válido.
+     *
+     * @return objetivo de dificultad, o {@code null} si no hay ninguno
+     */
+    default ObjetivoDificultad objetivoDificultad() {
+        return null;
+    }
 
     /**
      * Proporciona las preguntas del nivel.
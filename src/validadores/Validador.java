@@ -7,6 +7,7 @@ import modelos.Jugador;
 import modelos.Posicion;
 import modelos.Direccion;
 import modelos.Celda;
+import modelos.Tablero;
 
 /**
  * Validador contiene métodos estáticos para verificar reglas de entrada y
@@ -77,6 +78,33 @@ public class Validador {
         return mapa[fr][col] != Celda.PARED;
     }
 
+    /**
+     * Valida si es posible mover desde una posición dada en una dirección
+     * determinada sobre un {@link modelos.Tablero}.
+     *
+     * Misma regla que {@link #puedeMover(Celda[][], Posicion, Direccion)}, sin
+     * crear la posición de destino. Sirve tanto para mapas finitos como para
+     * mundos infinitos generados por trozos.
+     *
+     * @param mapa  Tablero de la partida.
+     * @param desde Posición actual del jugador.
+     * @param d     Dirección del movimiento.
+     * @return {@code true} si la posición de destino existe dentro del mapa y no es una pared.
+     */
+    public static boolean puedeMoverEn(Tablero mapa, Posicion desde, Direccion d) {
+        if (mapa == null || desde == null || d == null) return false;
+        int fr = desde.getFila();
+        int col = desde.getColumna();
+        switch (d) {
+            case ARRIBA: fr--; break;
+            case ABAJO: fr++; break;
+            case IZQUIERDA: col--; break;
+            case DERECHA: col++; break;
+            default: return false;
+        }
+        return mapa.esTransitable(fr, col);
+    }
+
     /**
      * Verifica si se cumplen las condiciones mínimas para iniciar una partida:
      * - El objeto {@link modelos.Jugador} no es {@code null}.